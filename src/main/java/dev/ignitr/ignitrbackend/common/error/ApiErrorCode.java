@@ -8,7 +8,10 @@ public enum ApiErrorCode {
 
     SPARK_ALREADY_EXISTS(HttpStatus.CONFLICT, "SPARK_ALREADY_EXISTS", "A spark with this title already exists."),
     SPARK_NOT_FOUND(HttpStatus.NOT_FOUND, "SPARK_NOT_FOUND", "Spark not found"),
+    SPARK_MOVE_CYCLE(HttpStatus.CONFLICT, "SPARK_MOVE_CYCLE", "A spark cannot be moved under one of its descendants."),
+    SPARK_PURGE_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "SPARK_PURGE_JOB_NOT_FOUND", "Spark purge job not found"),
     REASON_ALREADY_EXISTS(HttpStatus.CONFLICT, "REASON_ALREADY_EXISTS", "A reason with this content already exists."),
+    REASON_CONCURRENT_MODIFICATION(HttpStatus.CONFLICT, "REASON_CONCURRENT_MODIFICATION", "The spark kept changing while reasons were added; retry the request."),
     REASON_NOT_FOUND(HttpStatus.NOT_FOUND, "REASON_NOT_FOUND", "Reason not found"),
     DUPLICATE_KEY(HttpStatus.CONFLICT, "DUPLICATE_KEY", "A resource with the same unique field already exists."),
     VALIDATION_ERROR(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "Request validation failed."),
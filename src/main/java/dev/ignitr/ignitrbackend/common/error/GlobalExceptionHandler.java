@@ -1,9 +1,12 @@
 package dev.ignitr.ignitrbackend.common.error;
 
 import dev.ignitr.ignitrbackend.reason.exception.ReasonAlreadyExistsException;
+import dev.ignitr.ignitrbackend.reason.exception.ReasonConcurrentModificationException;
 import dev.ignitr.ignitrbackend.reason.exception.ReasonNotFoundException;
 import dev.ignitr.ignitrbackend.spark.exception.SparkAlreadyExistsException;
+import dev.ignitr.ignitrbackend.spark.exception.SparkMoveCycleException;
 import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
+import dev.ignitr.ignitrbackend.spark.exception.SparkPurgeJobNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DuplicateKeyException;
@@ -47,6 +50,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorBody);
     }
 
+    @ExceptionHandler(ReasonConcurrentModificationException.class)
+    public ResponseEntity<ApiError> handleReasonConcurrentModification(ReasonConcurrentModificationException ex, WebRequest request) {
+        warn(logger, "handleReasonConcurrentModification", ex.getSparkId(), "Reason append gave up: {}", ex.getMessage());
+        ApiError errorBody = ApiError.fromCode(REASON_CONCURRENT_MODIFICATION, ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorBody);
+    }
+
     @ExceptionHandler(SparkNotFoundException.class)
     public ResponseEntity<ApiError> handleSparkNotFound(SparkNotFoundException ex, WebRequest request) {
         warn(logger, "handleSparkNotFound", null, "Spark not found: {}", ex.getMessage());
@@ -54,6 +64,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorBody);
     }
 
+    @ExceptionHandler(SparkMoveCycleException.class)
+    public ResponseEntity<ApiError> handleSparkMoveCycle(SparkMoveCycleException ex, WebRequest request) {
+        warn(logger, "handleSparkMoveCycle", null, "Spark move rejected: {}", ex.getMessage());
+        ApiError errorBody = ApiError.fromCode(SPARK_MOVE_CYCLE, ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorBody);
+    }
+
+    @ExceptionHandler(SparkPurgeJobNotFoundException.class)
+    public ResponseEntity<ApiError> handleSparkPurgeJobNotFound(SparkPurgeJobNotFoundException ex, WebRequest request) {
+        warn(logger, "handleSparkPurgeJobNotFound", null, "Spark purge job not found: {}", ex.getMessage());
+        ApiError errorBody = ApiError.fromCode(SPARK_PURGE_JOB_NOT_FOUND, ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorBody);
+    }
+
     @ExceptionHandler(ReasonNotFoundException.class)
     public ResponseEntity<ApiError> handleReasonNotFound(ReasonNotFoundException ex, WebRequest request) {
         warn(logger, "handleReasonNotFound", null, "Reason not found: {}", ex.getMessage());
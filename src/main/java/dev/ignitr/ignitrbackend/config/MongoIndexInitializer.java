@@ -0,0 +1,135 @@
+package dev.ignitr.ignitrbackend.config;
+
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.spark.index.SparkTitleBloomFilter;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.model.SparkDeletion;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the documents instead of enabling Spring Data's index
+ * auto-creation for every entity.
+ * <p>
+ * Unique indexes are the last guard against duplicate titles for the Bloom filter fast path,
+ * batch create, clone and import, so they are created before the application serves requests
+ * and startup fails if existing duplicates prevent that. All other indexes are built in the
+ * background once the application is up, so large collections do not block startup.
+ * <p>
+ * {@code ignitr.mongo.indexes.unique-title.enabled=false} skips the unique build for the duration
+ * of a title cleanup; the title filter then never skips the database existence check.
+ */
+@Component
+public class MongoIndexInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(Spark.class, SparkPurgeJob.class, SparkDeletion.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final SparkTitleBloomFilter titleBloomFilter;
+    private final boolean uniqueTitleEnabled;
+
+    public MongoIndexInitializer(
+            MongoTemplate mongoTemplate,
+            MongoMappingContext mappingContext,
+            SparkTitleBloomFilter titleBloomFilter,
+            @Value("${ignitr.mongo.indexes.unique-title.enabled:true}") boolean uniqueTitleEnabled
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.titleBloomFilter = titleBloomFilter;
+        this.uniqueTitleEnabled = uniqueTitleEnabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (uniqueTitleEnabled) {
+            createIndexes(true);
+        } else {
+            LoggingUtils.warn(logger, "createIndexes", null,
+                    "Unique title index creation is disabled; duplicate titles are only caught by the existence check.");
+        }
+        if (hasUniqueTitleIndex()) {
+            titleBloomFilter.markUniqueIndexPresent();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexesOnStartup() {
+        Thread.ofPlatform()
+                .daemon()
+                .name("mongo-index-initializer")
+                .start(() -> createIndexes(false));
+    }
+
+    private void createIndexes(boolean unique) {
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        for (Class<?> type : INDEXED_DOCUMENTS) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(type);
+            for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                if (Boolean.TRUE.equals(index.getIndexOptions().get("unique")) != unique) {
+                    continue;
+                }
+                if (unique) {
+                    createUniqueIndex(indexOperations, index, type);
+                    continue;
+                }
+                try {
+                    indexOperations.createIndex(index);
+                } catch (RuntimeException e) {
+                    LoggingUtils.warn(logger, "createIndexes", null,
+                            "Could not create index " + index.getIndexKeys() + " on " + type.getSimpleName() + ".", e);
+                }
+            }
+        }
+        LoggingUtils.info(logger, "createIndexes", null, "{} Mongo indexes ensured.", unique ? "Unique" : "Secondary");
+    }
+
+    private void createUniqueIndex(IndexOperations indexOperations, IndexDefinition index, Class<?> type) {
+        try {
+            indexOperations.createIndex(index);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("Cannot create unique index " + index.getIndexKeys() + " on "
+                    + type.getSimpleName() + " because existing documents contain duplicates. Resolve them first "
+                    + "(see README, unique title migration) or set ignitr.mongo.indexes.unique-title.enabled=false "
+                    + "while cleaning up.", e);
+        } catch (RuntimeException e) {
+            LoggingUtils.warn(logger, "createIndexes", null,
+                    "Could not create unique index " + index.getIndexKeys() + " on " + type.getSimpleName()
+                            + "; the title filter stays conservative.", e);
+        }
+    }
+
+    private boolean hasUniqueTitleIndex() {
+        try {
+            return mongoTemplate.indexOps(Spark.class).getIndexInfo().stream().anyMatch(this::isUniqueTitleIndex);
+        } catch (RuntimeException e) {
+            LoggingUtils.warn(logger, "createIndexes", null,
+                    "Could not list Spark indexes; the title filter stays conservative.", e);
+            return false;
+        }
+    }
+
+    private boolean isUniqueTitleIndex(IndexInfo index) {
+        return index.isUnique()
+                && index.getIndexFields().size() == 1
+                && "title".equals(index.getIndexFields().getFirst().getKey());
+    }
+}
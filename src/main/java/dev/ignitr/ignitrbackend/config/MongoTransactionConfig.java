@@ -0,0 +1,23 @@
+package dev.ignitr.ignitrbackend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * Multi-document transactions need a replica set or sharded cluster, so they are opt-in.
+ * Without this configuration {@code @Transactional} service methods run without a transaction.
+ */
+@Configuration
+@EnableTransactionManagement
+@ConditionalOnProperty(name = "ignitr.mongo.transactions.enabled", havingValue = "true")
+public class MongoTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
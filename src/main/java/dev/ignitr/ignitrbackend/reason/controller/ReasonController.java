@@ -1,12 +1,16 @@
 package dev.ignitr.ignitrbackend.reason.controller;
 
 import dev.ignitr.ignitrbackend.common.dto.PagedResponse;
+import dev.ignitr.ignitrbackend.reason.dto.BatchCreateReasonsRequestDTO;
+import dev.ignitr.ignitrbackend.reason.dto.BatchCreateReasonsResponseDTO;
 import dev.ignitr.ignitrbackend.reason.dto.CreateReasonRequestDTO;
 import dev.ignitr.ignitrbackend.reason.dto.ReasonDTO;
 import dev.ignitr.ignitrbackend.reason.dto.UpdateReasonRequestDTO;
 import dev.ignitr.ignitrbackend.reason.mapper.ReasonMapper;
 import dev.ignitr.ignitrbackend.reason.model.Reason;
 import dev.ignitr.ignitrbackend.reason.model.ReasonType;
+import dev.ignitr.ignitrbackend.reason.service.ReasonBatchItem;
+import dev.ignitr.ignitrbackend.reason.service.ReasonBatchResult;
 import dev.ignitr.ignitrbackend.reason.service.ReasonService;
 import jakarta.validation.Valid;
 import org.bson.types.ObjectId;
@@ -16,6 +20,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 import static dev.ignitr.ignitrbackend.common.utils.StringUtils.isInvalidObjectId;
 
 @RestController
@@ -42,6 +48,26 @@ public class ReasonController {
         return ResponseEntity.status(201).body(response);
     }
 
+    @PostMapping(
+            path = "/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<BatchCreateReasonsResponseDTO> createReasons(
+            @PathVariable String sparkId,
+            @Valid @RequestBody BatchCreateReasonsRequestDTO dto
+    ) {
+        if(isInvalidObjectId(sparkId)) {
+            throw new IllegalArgumentException("Invalid spark ID format.");
+        }
+        List<ReasonBatchItem> items = dto.reasons().stream()
+                .map(reason -> new ReasonBatchItem(reason.content(), reason.type()))
+                .toList();
+        List<ReasonBatchResult> results = reasonService.createReasons(new ObjectId(sparkId), items);
+        BatchCreateReasonsResponseDTO response = ReasonMapper.toBatchResponseDto(results);
+        return ResponseEntity.status(response.created() > 0 ? 201 : 200).body(response);
+    }
+
     @GetMapping(
             path = "/{reasonId}",
             produces = MediaType.APPLICATION_JSON_VALUE
@@ -0,0 +1,13 @@
+package dev.ignitr.ignitrbackend.reason.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchCreateReasonsRequestDTO(
+        @NotEmpty(message = "reasons must not be empty")
+        @Size(max = 1000, message = "reasons must contain at most 1000 entries")
+        List<@Valid CreateReasonRequestDTO> reasons
+) {}
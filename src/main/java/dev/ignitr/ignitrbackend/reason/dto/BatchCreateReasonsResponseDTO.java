@@ -0,0 +1,9 @@
+package dev.ignitr.ignitrbackend.reason.dto;
+
+import java.util.List;
+
+public record BatchCreateReasonsResponseDTO(
+        int created,
+        int duplicates,
+        List<BatchReasonResultDTO> results
+) {}
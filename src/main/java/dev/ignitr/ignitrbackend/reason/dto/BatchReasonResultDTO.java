@@ -0,0 +1,7 @@
+package dev.ignitr.ignitrbackend.reason.dto;
+
+public record BatchReasonResultDTO(
+        String content,
+        String status,
+        ReasonDTO reason
+) {}
@@ -0,0 +1,17 @@
+package dev.ignitr.ignitrbackend.reason.exception;
+
+import lombok.Getter;
+import org.bson.types.ObjectId;
+
+@Getter
+public class ReasonConcurrentModificationException extends RuntimeException {
+
+    private final ObjectId sparkId;
+    private final int attempts;
+
+    public ReasonConcurrentModificationException(ObjectId sparkId, int attempts) {
+        super("Spark '%s' kept changing while Reasons were appended (%d attempts)".formatted(sparkId.toHexString(), attempts));
+        this.sparkId = sparkId;
+        this.attempts = attempts;
+    }
+}
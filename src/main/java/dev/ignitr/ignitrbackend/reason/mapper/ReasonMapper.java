@@ -1,13 +1,18 @@
 package dev.ignitr.ignitrbackend.reason.mapper;
 
+import dev.ignitr.ignitrbackend.reason.dto.BatchCreateReasonsResponseDTO;
+import dev.ignitr.ignitrbackend.reason.dto.BatchReasonResultDTO;
 import dev.ignitr.ignitrbackend.reason.dto.ReasonDTO;
 import dev.ignitr.ignitrbackend.reason.model.Reason;
 import dev.ignitr.ignitrbackend.reason.model.ReasonType;
+import dev.ignitr.ignitrbackend.reason.service.ReasonBatchResult;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 public class ReasonMapper {
@@ -22,6 +27,20 @@ public class ReasonMapper {
         );
     }
 
+    public static BatchCreateReasonsResponseDTO toBatchResponseDto(List<ReasonBatchResult> results) {
+        List<BatchReasonResultDTO> items = new ArrayList<>(results.size());
+        int created = 0;
+        for (ReasonBatchResult result : results) {
+            if (result.created()) {
+                created++;
+                items.add(new BatchReasonResultDTO(result.content(), "CREATED", toDto(result.reason())));
+            } else {
+                items.add(new BatchReasonResultDTO(result.content(), "DUPLICATE", null));
+            }
+        }
+        return new BatchCreateReasonsResponseDTO(created, results.size() - created, items);
+    }
+
     public static Reason toNewEntity(String content, ReasonType type, Instant now) {
         return new Reason(
                 type,
@@ -31,6 +50,17 @@ public class ReasonMapper {
         );
     }
 
+    public static Reason toImportedEntity(ReasonDTO dto, Instant now) {
+        Instant createdAt = dto.createdAt() != null ? Instant.parse(dto.createdAt()) : now;
+        return new Reason(
+                dto.id() != null && ObjectId.isValid(dto.id()) ? new ObjectId(dto.id()) : null,
+                ReasonType.fromValue(dto.type()),
+                dto.content(),
+                createdAt,
+                dto.updatedAt() != null ? Instant.parse(dto.updatedAt()) : createdAt
+        );
+    }
+
     public static void updateEntity(String content, ReasonType type, Reason entity, Instant now) {
         entity.setContent(content);
         entity.setType(type);
@@ -0,0 +1,8 @@
+package dev.ignitr.ignitrbackend.reason.service;
+
+import dev.ignitr.ignitrbackend.reason.model.ReasonType;
+
+public record ReasonBatchItem(
+        String content,
+        ReasonType type
+) {}
@@ -0,0 +1,9 @@
+package dev.ignitr.ignitrbackend.reason.service;
+
+import dev.ignitr.ignitrbackend.reason.model.Reason;
+
+public record ReasonBatchResult(
+        String content,
+        Reason reason,
+        boolean created
+) {}
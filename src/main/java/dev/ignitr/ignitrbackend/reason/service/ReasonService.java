@@ -6,11 +6,15 @@ import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public interface ReasonService {
 
     Reason createReason(ObjectId sparkId, String content, ReasonType type);
 
+    List<ReasonBatchResult> createReasons(ObjectId sparkId, List<ReasonBatchItem> items);
+
     Reason getReasonById(ObjectId sparkId, ObjectId reasonId);
 
     Page<Reason> getReasonsBySparkId(ObjectId sparkId, ReasonType type, int page, int size);
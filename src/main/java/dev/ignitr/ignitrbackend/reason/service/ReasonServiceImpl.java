@@ -1,6 +1,7 @@
 package dev.ignitr.ignitrbackend.reason.service;
 
 import dev.ignitr.ignitrbackend.reason.exception.ReasonAlreadyExistsException;
+import dev.ignitr.ignitrbackend.reason.exception.ReasonConcurrentModificationException;
 import dev.ignitr.ignitrbackend.reason.exception.ReasonNotFoundException;
 import dev.ignitr.ignitrbackend.reason.mapper.ReasonMapper;
 import dev.ignitr.ignitrbackend.reason.model.Reason;
@@ -14,6 +15,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 import static dev.ignitr.ignitrbackend.common.utils.LoggingUtils.debug;
 import static dev.ignitr.ignitrbackend.common.utils.LoggingUtils.info;
@@ -24,6 +30,8 @@ public class ReasonServiceImpl implements ReasonService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReasonServiceImpl.class);
 
+    private static final int MAX_APPEND_ATTEMPTS = 3;
+
     private final SparkService sparkService;
 
     public ReasonServiceImpl(SparkService sparkService) {
@@ -76,6 +84,45 @@ public class ReasonServiceImpl implements ReasonService {
         return savedReason;
     }
 
+    @Override
+    public List<ReasonBatchResult> createReasons(ObjectId sparkId, List<ReasonBatchItem> items) {
+
+        debug(logger, "createReasons", sparkId, "Creating batch of {} Reasons...", items.size());
+
+        for (int attempt = 1; ; attempt++) {
+            Spark existingSpark = sparkService.getSparkById(sparkId);
+
+            Set<String> knownContents = new HashSet<>();
+            for (Reason reason : existingSpark.getReasons()) {
+                knownContents.add(reason.getContent().toLowerCase(Locale.ROOT));
+            }
+
+            Instant now = Instant.now();
+            List<Reason> newReasons = new ArrayList<>();
+            List<ReasonBatchResult> results = new ArrayList<>(items.size());
+            for (ReasonBatchItem item : items) {
+                if (knownContents.add(item.content().toLowerCase(Locale.ROOT))) {
+                    Reason newReason = ReasonMapper.toNewEntity(item.content(), item.type(), now);
+                    newReasons.add(newReason);
+                    results.add(new ReasonBatchResult(item.content(), newReason, true));
+                } else {
+                    results.add(new ReasonBatchResult(item.content(), null, false));
+                }
+            }
+
+            if (newReasons.isEmpty() || sparkService.appendReasons(existingSpark, newReasons)) {
+                info(logger, "createReasons", sparkId,
+                        "Appended {} Reasons, skipped {} duplicates.", newReasons.size(), items.size() - newReasons.size());
+                return results;
+            }
+            if (attempt == MAX_APPEND_ATTEMPTS) {
+                ReasonConcurrentModificationException exception = new ReasonConcurrentModificationException(sparkId, attempt);
+                warn(logger, "createReasons", sparkId, "Giving up after {} attempts.", attempt, exception);
+                throw exception;
+            }
+        }
+    }
+
     @Override
     public Reason getReasonById(ObjectId sparkId, ObjectId reasonId) {
         debug(logger, "getReasonById", reasonId, "Fetching Reason by ID...");
@@ -1,42 +1,251 @@
 package dev.ignitr.ignitrbackend.score.client;
 
-import dev.ignitr.ignitrbackend.score.dto.SparkScoreRequestDTO;
-import dev.ignitr.ignitrbackend.score.dto.SparkTreeScoreResponseDTO;
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.score.dto.SparkForestScoreRequestDTO;
 import dev.ignitr.ignitrbackend.score.exception.ScoringException;
 import dev.ignitr.ignitrbackend.score.mapper.SparkScoreMapper;
-import dev.ignitr.ignitrbackend.score.tree.ScoredSparkTree;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Calls the scoring service.
+ * <p>
+ * Request bodies are gzip-compressed once the scorer advertises support the way RFC 7694
+ * describes: an {@code Accept-Encoding} header listing {@code gzip} on its responses. Until then,
+ * and whenever it answers a compressed request with 415, requests are sent as plain JSON.
+ * <p>
+ * Several trees can be scored in one {@code POST /score} call. That endpoint is an assumption of
+ * this client, not part of a published scorer contract: it expects a body of
+ * {@code {"rootIds": [...], "sparks": {id: spark}}} holding disjoint trees, and a response in
+ * any shape the single-tree reader understands, with one score per Spark id. Scorers that answer
+ * it with 404, 405 or 501 are remembered as not supporting it and callers fall back to one
+ * {@code /score/{rootId}} call per tree.
+ * <p>
+ * With {@code ignitr.scorer.recording.dir} set, every successful single-tree call is saved there
+ * as {@code <rootId>-<millis>.request.json} and {@code .response.json}, so real scorer traffic can
+ * be replayed when debugging or when validating another engine.
+ */
 @Component
 public class ScoringServiceClient {
 
+    private static final Logger logger = LoggerFactory.getLogger(ScoringServiceClient.class);
+
+    private static final String GZIP = "gzip";
+    private static final String IDENTITY = "identity";
+
     private final RestClient scoringRestClient;
+    private final ObjectMapper objectMapper;
+    private final boolean compressionEnabled;
+    private final int compressionMinBytes;
+    private final Path recordingDir;
+
+    private final Timer identityEncodeTimer;
+    private final Timer gzipEncodeTimer;
+    private final DistributionSummary identityPayloadSize;
+    private final DistributionSummary gzipPayloadSize;
 
-    public ScoringServiceClient(@Qualifier("scoringRestClient") RestClient scoringRestClient) {
+    // Learned from the Accept-Encoding header of the latest scorer response.
+    private volatile boolean gzipAccepted;
+    private volatile boolean forestScoringSupported = true;
+
+    public ScoringServiceClient(
+            @Qualifier("scoringRestClient") RestClient scoringRestClient,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${ignitr.scorer.compression.enabled:true}") boolean compressionEnabled,
+            @Value("${ignitr.scorer.compression.min-bytes:8192}") int compressionMinBytes,
+            @Value("${ignitr.scorer.recording.dir:}") String recordingDir
+    ) {
         this.scoringRestClient = scoringRestClient;
+        this.objectMapper = objectMapper;
+        this.compressionEnabled = compressionEnabled;
+        this.compressionMinBytes = compressionMinBytes;
+        this.recordingDir = recordingDir == null || recordingDir.isBlank() ? null : Path.of(recordingDir);
+        this.identityEncodeTimer = encodeTimer(meterRegistry, IDENTITY);
+        this.gzipEncodeTimer = encodeTimer(meterRegistry, GZIP);
+        this.identityPayloadSize = payloadSize(meterRegistry, IDENTITY);
+        this.gzipPayloadSize = payloadSize(meterRegistry, GZIP);
+    }
+
+    private static Timer encodeTimer(MeterRegistry meterRegistry, String encoding) {
+        return Timer.builder("ignitr.scorer.request.encode")
+                .description("Time spent serializing (and compressing) scorer requests")
+                .tag("encoding", encoding)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary payloadSize(MeterRegistry meterRegistry, String encoding) {
+        return DistributionSummary.builder("ignitr.scorer.request.size")
+                .description("Size of scorer request bodies accepted by the scorer, as sent")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .register(meterRegistry);
     }
 
-    public ScoredSparkTree postSparkTreeScore(
+    private record ScoreRequestBody(byte[] json, byte[] content, boolean gzip) {}
+
+    public Map<ObjectId, Integer> postSparkScores(
             Map<ObjectId, Spark> sparkMap,
             ObjectId rootId
     ) {
         try {
-            Map<String, SparkScoreRequestDTO> request = SparkScoreMapper.toDtoMap(sparkMap);
-            SparkTreeScoreResponseDTO response = scoringRestClient
-                    .post()
-                    .uri("/score/{rootId}", rootId.toHexString())
-                    .body(request)
-                    .retrieve()
-                    .body(SparkTreeScoreResponseDTO.class);
-            return SparkScoreMapper.toScoredSparkTree(sparkMap, response);
+            ScoreRequestBody body = encode(SparkScoreMapper.toDtoMap(sparkMap), compressionEnabled && gzipAccepted);
+            Map<ObjectId, Integer> scores = post(rootId, "/score/" + rootId.toHexString(), body, sparkMap.size());
+            if (scores == null) {
+                scores = postUncompressed(rootId, "/score/" + rootId.toHexString(), body, sparkMap.size());
+            }
+            return scores;
         } catch (Exception e) {
             throw new ScoringException(rootId);
         }
     }
+
+    /**
+     * Scores several disjoint trees in one request. Returns {@code null} when the scorer does not
+     * support multi-tree requests; callers should then score each tree on its own.
+     */
+    public Map<ObjectId, Integer> postForestScores(
+            Map<ObjectId, Spark> sparkMap,
+            Collection<ObjectId> rootIds
+    ) {
+        if (!forestScoringSupported) {
+            return null;
+        }
+        ObjectId firstRootId = rootIds.iterator().next();
+        try {
+            SparkForestScoreRequestDTO request = new SparkForestScoreRequestDTO(
+                    rootIds.stream().map(ObjectId::toHexString).toList(),
+                    SparkScoreMapper.toDtoMap(sparkMap)
+            );
+            ScoreRequestBody body = encode(request, compressionEnabled && gzipAccepted);
+            Map<ObjectId, Integer> scores = post(firstRootId, "/score", body, sparkMap.size());
+            if (scores == null && forestScoringSupported) {
+                scores = postUncompressed(firstRootId, "/score", body, sparkMap.size());
+            }
+            return scores;
+        } catch (Exception e) {
+            throw new ScoringException(firstRootId);
+        }
+    }
+
+    private Map<ObjectId, Integer> postUncompressed(ObjectId rootId, String uri, ScoreRequestBody body, int expectedSize) {
+        LoggingUtils.warn(logger, "postUncompressed", rootId,
+                "Scorer rejected gzip request body, retrying uncompressed.");
+        return post(rootId, uri, new ScoreRequestBody(body.json(), body.json(), false), expectedSize);
+    }
+
+    private ScoreRequestBody encode(Object request, boolean compress) {
+        long start = System.nanoTime();
+        byte[] json = objectMapper.writeValueAsBytes(request);
+        if (!compress || json.length < compressionMinBytes) {
+            identityEncodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return new ScoreRequestBody(json, json, false);
+        }
+        byte[] gzipped = gzip(json);
+        gzipEncodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new ScoreRequestBody(json, gzipped, true);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns {@code null} when a gzip body was rejected with 415 and should be resent plainly,
+     * or when the scorer has no multi-tree endpoint.
+     */
+    private Map<ObjectId, Integer> post(ObjectId rootId, String uri, ScoreRequestBody body, int expectedSize) {
+        return scoringRestClient
+                .post()
+                .uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (body.gzip()) {
+                        headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+                    }
+                })
+                .body(body.content())
+                .exchange((clientRequest, clientResponse) -> {
+                    gzipAccepted = acceptsGzip(clientResponse.getHeaders());
+                    HttpStatusCode status = clientResponse.getStatusCode();
+                    if (body.gzip() && status.isSameCodeAs(HttpStatus.UNSUPPORTED_MEDIA_TYPE)) {
+                        gzipAccepted = false;
+                        return null;
+                    }
+                    if ("/score".equals(uri) && (status.isSameCodeAs(HttpStatus.NOT_FOUND)
+                            || status.isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED)
+                            || status.isSameCodeAs(HttpStatus.NOT_IMPLEMENTED))) {
+                        LoggingUtils.info(logger, "post", rootId,
+                                "Scorer does not support multi-tree requests, scoring trees one by one.");
+                        forestScoringSupported = false;
+                        return null;
+                    }
+                    if (status.isError()) {
+                        throw new ScoringException(rootId);
+                    }
+                    // Recorded once per exchange, for the body the scorer took, so a 415 retry is not counted twice.
+                    (body.gzip() ? gzipPayloadSize : identityPayloadSize).record(body.content().length);
+                    try (InputStream responseBody = clientResponse.getBody()) {
+                        if (recordingDir != null && !"/score".equals(uri)) {
+                            byte[] response = responseBody.readAllBytes();
+                            record(rootId, body.json(), response);
+                            return SparkScoreResponseReader.read(new ByteArrayInputStream(response), expectedSize);
+                        }
+                        return SparkScoreResponseReader.read(responseBody, expectedSize);
+                    }
+                });
+    }
+
+    private void record(ObjectId rootId, byte[] request, byte[] response) {
+        String name = rootId.toHexString() + "-" + System.currentTimeMillis();
+        try {
+            Files.createDirectories(recordingDir);
+            Files.write(recordingDir.resolve(name + ".request.json"), request);
+            Files.write(recordingDir.resolve(name + ".response.json"), response);
+        } catch (IOException e) {
+            LoggingUtils.warn(logger, "record", rootId, "Could not record scorer exchange.", e);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpHeaders headers) {
+        for (String value : headers.getValuesAsList(HttpHeaders.ACCEPT_ENCODING)) {
+            String coding = value.split(";", 2)[0].trim();
+            if (coding.equalsIgnoreCase(GZIP)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
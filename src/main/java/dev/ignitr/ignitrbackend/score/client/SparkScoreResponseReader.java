@@ -0,0 +1,81 @@
+package dev.ignitr.ignitrbackend.score.client;
+
+import org.bson.types.ObjectId;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.StreamReadConstraints;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads a scorer response ({@code {"id", "score", "children": [...]}}, nested to any depth) token
+ * by token into a flat {@code id -> score} map. The nesting itself is ignored; callers rebuild the
+ * tree shape from their own parent links.
+ * <p>
+ * Only one small frame per open object is kept, so a deep chain costs one frame per level and
+ * no intermediate DTO tree is ever built.
+ */
+public final class SparkScoreResponseReader {
+
+    // Every tree level opens an object and an array.
+    private static final JsonFactory SCORE_JSON_FACTORY = JsonFactory.builder()
+            .streamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(Integer.MAX_VALUE).build())
+            .build();
+
+    private SparkScoreResponseReader() {}
+
+    private static final class Frame {
+        private ObjectId id;
+        private int score;
+        private boolean scored;
+    }
+
+    public static Map<ObjectId, Integer> read(InputStream body, int expectedSize) {
+        Map<ObjectId, Integer> scores = HashMap.newHashMap(expectedSize);
+        Deque<Frame> frames = new ArrayDeque<>();
+
+        try (JsonParser parser = SCORE_JSON_FACTORY.createParser(ObjectReadContext.empty(), body)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case START_OBJECT -> frames.push(new Frame());
+                    case END_OBJECT -> {
+                        Frame frame = frames.pop();
+                        if (frame.id != null && frame.scored) {
+                            scores.put(frame.id, frame.score);
+                        }
+                    }
+                    case PROPERTY_NAME -> readProperty(parser, frames.peek());
+                    default -> {
+                        // Array boundaries and stray values carry no scores.
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void readProperty(JsonParser parser, Frame frame) {
+        String name = parser.currentName();
+        JsonToken value = parser.nextToken();
+        switch (name) {
+            case "id" -> frame.id = value == JsonToken.VALUE_NULL ? null : new ObjectId(parser.getValueAsString());
+            case "score" -> {
+                // Fractional scores are truncated toward zero, as an int cast would.
+                frame.scored = value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT;
+                if (frame.scored) {
+                    frame.score = parser.getValueAsInt();
+                }
+            }
+            // Descend into children so their objects are visited by the main loop.
+            case "children" -> {}
+            default -> parser.skipChildren();
+        }
+    }
+}
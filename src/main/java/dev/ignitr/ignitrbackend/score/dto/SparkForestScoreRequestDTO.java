@@ -0,0 +1,9 @@
+package dev.ignitr.ignitrbackend.score.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record SparkForestScoreRequestDTO(
+    List<String> rootIds,
+    Map<String, SparkScoreRequestDTO> sparks
+) {}
@@ -0,0 +1,37 @@
+package dev.ignitr.ignitrbackend.score.engine;
+
+import dev.ignitr.ignitrbackend.score.exception.ScoringException;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Scores trees through {@link SparkScoreBatcher}, so tree reads from concurrent requests share
+ * scorer calls. A failure only reaches the caller whose own tree could not be scored.
+ */
+@Component
+@ConditionalOnProperty(name = "ignitr.scorer.engine", havingValue = "http", matchIfMissing = true)
+public class HttpSparkScoringEngine implements SparkScoringEngine {
+
+    private final SparkScoreBatcher sparkScoreBatcher;
+
+    public HttpSparkScoringEngine(SparkScoreBatcher sparkScoreBatcher) {
+        this.sparkScoreBatcher = sparkScoreBatcher;
+    }
+
+    @Override
+    public Map<ObjectId, Integer> score(ObjectId rootId, Map<ObjectId, Spark> sparkMap) {
+        try {
+            return sparkScoreBatcher.submit(rootId, sparkMap).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ScoringException scoringException) {
+                throw scoringException;
+            }
+            throw new ScoringException(rootId);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package dev.ignitr.ignitrbackend.score.engine;
+
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.score.client.ScoringServiceClient;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects trees submitted for scoring within a short window and sends them to the scorer
+ * together, in as few requests as {@code max-sparks-per-request} allows. Each submitter gets back
+ * only the scores of its own tree. Every tree read goes through here, via
+ * {@link HttpSparkScoringEngine}.
+ * <p>
+ * At most {@code max-concurrent-requests} batches are in flight at once. When the scorer has no
+ * multi-tree endpoint, or a multi-tree request fails, the trees of a batch are scored one request
+ * at a time instead, so a failure only reaches the callers whose own tree cannot be scored.
+ */
+@Component
+@ConditionalOnProperty(name = "ignitr.scorer.engine", havingValue = "http", matchIfMissing = true)
+public class SparkScoreBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkScoreBatcher.class);
+
+    private final ScoringServiceClient scoringServiceClient;
+    private final ScheduledExecutorService executor;
+    private final long windowNanos;
+    private final int maxSparksPerRequest;
+
+    private final Object lock = new Object();
+    private List<PendingTree> pending = new ArrayList<>();
+    private int pendingSparks;
+
+    private record PendingTree(ObjectId rootId, Map<ObjectId, Spark> sparks,
+                               CompletableFuture<Map<ObjectId, Integer>> result) {}
+
+    @Autowired
+    public SparkScoreBatcher(
+            ScoringServiceClient scoringServiceClient,
+            @Value("${ignitr.scorer.batch.window:PT0.005S}") Duration window,
+            @Value("${ignitr.scorer.batch.max-sparks-per-request:50000}") int maxSparksPerRequest,
+            @Value("${ignitr.scorer.batch.max-concurrent-requests:4}") int maxConcurrentRequests
+    ) {
+        this(scoringServiceClient,
+                Executors.newScheduledThreadPool(maxConcurrentRequests,
+                        Thread.ofPlatform().daemon().name("spark-score-batch-", 0).factory()),
+                window, maxSparksPerRequest);
+    }
+
+    SparkScoreBatcher(
+            ScoringServiceClient scoringServiceClient,
+            ScheduledExecutorService executor,
+            Duration window,
+            int maxSparksPerRequest
+    ) {
+        if (window.isNegative() || maxSparksPerRequest <= 0) {
+            throw new IllegalArgumentException("Score batch window must not be negative and batch size must be positive.");
+        }
+        this.scoringServiceClient = scoringServiceClient;
+        this.executor = executor;
+        this.windowNanos = window.toNanos();
+        this.maxSparksPerRequest = maxSparksPerRequest;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public CompletableFuture<Map<ObjectId, Integer>> submit(ObjectId rootId, Map<ObjectId, Spark> sparks) {
+        PendingTree tree = new PendingTree(rootId, sparks, new CompletableFuture<>());
+        List<PendingTree> full = null;
+        boolean opensWindow;
+        synchronized (lock) {
+            opensWindow = pending.isEmpty();
+            pending.add(tree);
+            pendingSparks += sparks.size();
+            if (pendingSparks >= maxSparksPerRequest) {
+                full = drain();
+            }
+        }
+        if (full != null) {
+            List<PendingTree> batch = full;
+            executor.execute(() -> send(batch));
+        } else if (opensWindow) {
+            executor.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+        }
+        return tree.result();
+    }
+
+    private List<PendingTree> drain() {
+        List<PendingTree> batch = pending;
+        pending = new ArrayList<>();
+        pendingSparks = 0;
+        return batch;
+    }
+
+    private void flush() {
+        List<PendingTree> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void send(List<PendingTree> batch) {
+        // Scores come back keyed by Spark id only, so trees sharing Sparks (a root nested in
+        // another caller's tree) never share a request; each keeps its whole subtree.
+        List<PendingTree> overlapping = new ArrayList<>();
+        List<PendingTree> request = new ArrayList<>();
+        Set<ObjectId> requestIds = new HashSet<>();
+        for (PendingTree tree : batch) {
+            if (!Collections.disjoint(requestIds, tree.sparks().keySet())) {
+                overlapping.add(tree);
+                continue;
+            }
+            if (!request.isEmpty() && requestIds.size() + tree.sparks().size() > maxSparksPerRequest) {
+                sendRequest(request);
+                request = new ArrayList<>();
+                requestIds = new HashSet<>();
+            }
+            request.add(tree);
+            requestIds.addAll(tree.sparks().keySet());
+        }
+        if (!request.isEmpty()) {
+            sendRequest(request);
+        }
+        if (!overlapping.isEmpty()) {
+            send(overlapping);
+        }
+    }
+
+    private void sendRequest(List<PendingTree> trees) {
+        Map<ObjectId, Integer> scores = null;
+        if (trees.size() > 1) {
+            try {
+                scores = postForestScores(trees);
+            } catch (RuntimeException e) {
+                // One bad tree must not fail every caller in the batch; each is retried on its own.
+                LoggingUtils.warn(logger, "sendRequest", null,
+                        "Scoring " + trees.size() + " trees in one request failed, scoring them one by one.", e);
+            }
+        }
+
+        if (scores == null) {
+            for (PendingTree tree : trees) {
+                try {
+                    tree.result().complete(scoringServiceClient.postSparkScores(tree.sparks(), tree.rootId()));
+                } catch (RuntimeException e) {
+                    tree.result().completeExceptionally(e);
+                }
+            }
+            return;
+        }
+
+        for (PendingTree tree : trees) {
+            Map<ObjectId, Integer> treeScores = HashMap.newHashMap(tree.sparks().size());
+            for (ObjectId id : tree.sparks().keySet()) {
+                Integer score = scores.get(id);
+                if (score != null) {
+                    treeScores.put(id, score);
+                }
+            }
+            tree.result().complete(treeScores);
+        }
+    }
+
+    private Map<ObjectId, Integer> postForestScores(List<PendingTree> trees) {
+        Map<ObjectId, Spark> sparks = new HashMap<>();
+        Set<ObjectId> rootIds = new LinkedHashSet<>();
+        for (PendingTree tree : trees) {
+            sparks.putAll(tree.sparks());
+            rootIds.add(tree.rootId());
+        }
+        LoggingUtils.debug(logger, "postForestScores", null,
+                "Scoring {} trees with {} Sparks in one request...", rootIds.size(), sparks.size());
+        return scoringServiceClient.postForestScores(sparks, rootIds);
+    }
+}
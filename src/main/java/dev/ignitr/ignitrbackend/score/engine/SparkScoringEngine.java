@@ -0,0 +1,18 @@
+package dev.ignitr.ignitrbackend.score.engine;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+
+import java.util.Map;
+
+/**
+ * Computes scores for the Sparks of one tree. Selected with {@code ignitr.scorer.engine}; the only
+ * engine is {@code http}, which calls the external scoring service.
+ * <p>
+ * Implementations return a score for every Spark they could score; Sparks without one are
+ * rendered unscored. Failures are reported as {@link dev.ignitr.ignitrbackend.score.exception.ScoringException}.
+ */
+public interface SparkScoringEngine {
+
+    Map<ObjectId, Integer> score(ObjectId rootId, Map<ObjectId, Spark> sparkMap);
+}
@@ -1,9 +1,6 @@
 package dev.ignitr.ignitrbackend.score.mapper;
 
-import dev.ignitr.ignitrbackend.reason.model.ReasonType;
 import dev.ignitr.ignitrbackend.score.dto.SparkScoreRequestDTO;
-import dev.ignitr.ignitrbackend.score.dto.SparkTreeScoreResponseDTO;
-import dev.ignitr.ignitrbackend.score.tree.ScoredSparkTree;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
 import org.bson.types.ObjectId;
 
@@ -34,45 +31,4 @@ public class SparkScoreMapper {
                         }
                 ));
     }
-
-    public static ScoredSparkTree toScoredSparkTree(Map<ObjectId, Spark> sparkMap, SparkTreeScoreResponseDTO dto) {
-        return mapNode(sparkMap, dto);
-    }
-
-    private static ScoredSparkTree mapNode(Map<ObjectId, Spark> sparkMap, SparkTreeScoreResponseDTO dto) {
-
-        Spark spark = sparkMap.get(new ObjectId(dto.id()));
-
-        if(spark == null) {
-            throw new IllegalArgumentException("Spark not found for id: " + dto.id());
-        }
-
-        int goodReasonsCount = 0;
-        int badReasonsCount = 0;
-
-        for(var reason : spark.getReasons()) {
-            if(reason.getType() == ReasonType.GOOD){
-                goodReasonsCount++;
-            } else if (reason.getType() == ReasonType.BAD){
-                badReasonsCount++;
-            }
-        }
-
-        ScoredSparkTree node = ScoredSparkTree.fromSpark(
-                spark,
-                goodReasonsCount,
-                badReasonsCount,
-                new ArrayList<>(),
-                dto.score()
-        );
-
-        if (dto.children() != null && !dto.children().isEmpty()) {
-            List<ScoredSparkTree> children = dto.children().stream()
-                    .map(childDto -> mapNode(sparkMap, childDto))
-                    .toList();
-            node.getChildren().addAll(children);
-        }
-
-        return node;
-    }
 }
@@ -1,11 +1,13 @@
 package dev.ignitr.ignitrbackend.score.service;
 
-import dev.ignitr.ignitrbackend.score.tree.ScoredSparkTree;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
 import org.bson.types.ObjectId;
 
 import java.util.Map;
 
 public interface SparkScoreService {
-    ScoredSparkTree scoreTree(ObjectId rootId, Map<ObjectId, Spark> sparkMap);
+    SparkTree scoreTree(ObjectId rootId, Map<ObjectId, Spark> sparkMap);
+
+    Map<ObjectId, Integer> scoreSparks(ObjectId rootId, Map<ObjectId, Spark> sparkMap);
 }
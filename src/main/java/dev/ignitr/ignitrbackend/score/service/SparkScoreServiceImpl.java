@@ -1,9 +1,10 @@
 package dev.ignitr.ignitrbackend.score.service;
 
 import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
-import dev.ignitr.ignitrbackend.score.client.ScoringServiceClient;
-import dev.ignitr.ignitrbackend.score.tree.ScoredSparkTree;
+import dev.ignitr.ignitrbackend.score.engine.SparkScoringEngine;
+import dev.ignitr.ignitrbackend.spark.mapper.SparkMapper;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,18 +17,28 @@ public class SparkScoreServiceImpl implements SparkScoreService {
 
     private final Logger logger = LoggerFactory.getLogger(SparkScoreServiceImpl.class);
 
-    private final ScoringServiceClient scoringServiceClient;
+    private final SparkScoringEngine sparkScoringEngine;
 
-    public SparkScoreServiceImpl(ScoringServiceClient scoringServiceClient) {
-        this.scoringServiceClient = scoringServiceClient;
+    public SparkScoreServiceImpl(SparkScoringEngine sparkScoringEngine) {
+        this.sparkScoringEngine = sparkScoringEngine;
     }
 
     @Override
-    public ScoredSparkTree scoreTree(ObjectId rootId,
-                                      Map<ObjectId, Spark> sparkMap) {
+    public SparkTree scoreTree(ObjectId rootId,
+                               Map<ObjectId, Spark> sparkMap) {
         LoggingUtils.debug(logger, "scoreTree", rootId, "Scoring Spark tree...");
-        ScoredSparkTree scoredTree = scoringServiceClient.postSparkTreeScore(sparkMap, rootId);
+        Map<ObjectId, Integer> scores = sparkScoringEngine.score(rootId, sparkMap);
+        SparkTree scoredTree = SparkMapper.toSparkTree(sparkMap, rootId, scores);
         LoggingUtils.info(logger, "scoreTree", rootId, "Spark tree scored.");
         return scoredTree;
     }
+
+    @Override
+    public Map<ObjectId, Integer> scoreSparks(ObjectId rootId,
+                                             Map<ObjectId, Spark> sparkMap) {
+        LoggingUtils.debug(logger, "scoreSparks", rootId, "Scoring {} Sparks...", sparkMap.size());
+        Map<ObjectId, Integer> scores = sparkScoringEngine.score(rootId, sparkMap);
+        LoggingUtils.info(logger, "scoreSparks", rootId, "Scored {} Sparks.", scores.size());
+        return scores;
+    }
 }
@@ -3,23 +3,62 @@ package dev.ignitr.ignitrbackend.spark.controller;
 import dev.ignitr.ignitrbackend.common.dto.PagedResponse;
 import dev.ignitr.ignitrbackend.spark.dto.*;
 import dev.ignitr.ignitrbackend.spark.mapper.SparkMapper;
+import dev.ignitr.ignitrbackend.spark.mapper.SparkTreeJsonWriter;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJob;
 import dev.ignitr.ignitrbackend.spark.service.ParentSearchScope;
+import dev.ignitr.ignitrbackend.spark.service.SparkBatchResult;
+import dev.ignitr.ignitrbackend.spark.service.SparkChildCursor;
+import dev.ignitr.ignitrbackend.spark.service.SparkChildrenPage;
 import dev.ignitr.ignitrbackend.spark.service.SparkDeleteMode;
+import dev.ignitr.ignitrbackend.spark.service.SparkExportScope;
+import dev.ignitr.ignitrbackend.spark.service.SparkExportService;
+import dev.ignitr.ignitrbackend.spark.service.SparkImportRecord;
+import dev.ignitr.ignitrbackend.spark.service.SparkImportReport;
+import dev.ignitr.ignitrbackend.spark.service.SparkImportService;
+import dev.ignitr.ignitrbackend.spark.service.SparkPurgeService;
+import dev.ignitr.ignitrbackend.spark.service.SparkSearchMode;
 import dev.ignitr.ignitrbackend.spark.service.SparkService;
+import dev.ignitr.ignitrbackend.spark.service.SparkTreeLimits;
 
+import dev.ignitr.ignitrbackend.spark.tree.FlatSparkTree;
 import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static dev.ignitr.ignitrbackend.common.utils.StringUtils.isInvalidObjectId;
 
@@ -29,10 +68,28 @@ import static dev.ignitr.ignitrbackend.common.utils.StringUtils.isInvalidObjectI
 @Validated
 public class SparkController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_CHILDREN_PAGE_SIZE = 100;
+
     private final SparkService sparkService;
+    private final SparkPurgeService sparkPurgeService;
+    private final SparkExportService sparkExportService;
+    private final SparkImportService sparkImportService;
+    private final ObjectWriter exportWriter;
+    private final ObjectReader importReader;
+    private final Duration exportTimeout;
 
-    public SparkController(SparkService sparkService) {
+    public SparkController(SparkService sparkService, SparkPurgeService sparkPurgeService,
+                           SparkExportService sparkExportService, SparkImportService sparkImportService,
+                           ObjectMapper objectMapper,
+                           @Value("${ignitr.spark.export.timeout:PT0S}") Duration exportTimeout) {
         this.sparkService = sparkService;
+        this.sparkPurgeService = sparkPurgeService;
+        this.sparkExportService = sparkExportService;
+        this.sparkImportService = sparkImportService;
+        this.exportWriter = objectMapper.writerFor(SparkExportRecordDTO.class);
+        this.importReader = objectMapper.readerFor(SparkExportRecordDTO.class);
+        this.exportTimeout = exportTimeout;
     }
 
     @PostMapping(
@@ -45,6 +102,19 @@ public class SparkController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(
+            path = "/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<BatchCreateSparksResponseDTO> createBatch(@Valid @RequestBody BatchCreateSparksRequestDTO request) {
+        List<SparkBatchResult> results = sparkService.createSparks(
+                request.items().stream().map(SparkMapper::toBatchItem).toList());
+        BatchCreateSparksResponseDTO response = SparkMapper.toBatchResponseDto(results);
+        HttpStatus status = response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @PostMapping(
             path = "/{parentId}/children",
             consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -84,29 +154,83 @@ public class SparkController {
     )
     public ResponseEntity<List<SparkDTO>> getChildren(
             @PathVariable String id,
-            @RequestParam (name = "includeReasons", defaultValue = "false") boolean includeReasons
+            @RequestParam (name = "includeReasons", defaultValue = "false") boolean includeReasons,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
         if(isInvalidObjectId(id)) {
             throw new IllegalArgumentException("Invalid spark ID format.");
         }
-        List<Spark> children = sparkService.getChildren(new ObjectId(id));
-        List<SparkDTO> response = children.stream()
+        if (limit == null && cursor == null) {
+            List<Spark> children = sparkService.getChildren(new ObjectId(id));
+            List<SparkDTO> response = children.stream()
+                    .map((s) -> SparkMapper.toSparkDto(s, includeReasons))
+                    .toList();
+            return ResponseEntity.ok(response);
+        }
+        SparkChildCursor after = cursor != null ? SparkChildCursor.decode(cursor) : null;
+        SparkChildrenPage page = sparkService.getChildrenPage(
+                new ObjectId(id), after, limit != null ? limit : DEFAULT_CHILDREN_PAGE_SIZE);
+        List<SparkDTO> response = page.children().stream()
                 .map((s) -> SparkMapper.toSparkDto(s, includeReasons))
                 .toList();
-        return ResponseEntity.ok(response);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor().encode());
+        }
+        return builder.body(response);
     }
 
     @GetMapping(
             path = "/{id}/tree",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<SparkTreeDTO> getSparkTree(@PathVariable String id) {
+    public ResponseEntity<StreamingResponseBody> getSparkTree(
+            @PathVariable String id,
+            @RequestParam(name = "maxDepth", required = false) Integer maxDepth,
+            @RequestParam(name = "maxChildrenPerNode", required = false) Integer maxChildrenPerNode
+    ) {
         if(isInvalidObjectId(id)) {
             throw new IllegalArgumentException("Invalid spark ID format.");
         }
-        SparkTree sparkTree = sparkService.getSparkTree(new ObjectId(id));
+        SparkTreeLimits limits = SparkTreeLimits.of(maxDepth, maxChildrenPerNode);
+        SparkTree sparkTree = sparkService.getSparkTree(new ObjectId(id), limits);
         SparkTreeDTO response = SparkMapper.toSparkTreeDto(sparkTree);
-        return ResponseEntity.ok(response);
+        // Written by hand: Jackson recurses per nesting level and caps it at 1000.
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = SparkTreeJsonWriter.createGenerator(outputStream)) {
+                SparkTreeJsonWriter.write(response, generator);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping(
+            path = "/{id}/tree",
+            params = "stream=true",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> streamSparkTree(
+            @PathVariable String id,
+            @RequestParam(name = "maxDepth", required = false) Integer maxDepth,
+            @RequestParam(name = "maxChildrenPerNode", required = false) Integer maxChildrenPerNode
+    ) {
+        if(isInvalidObjectId(id)) {
+            throw new IllegalArgumentException("Invalid spark ID format.");
+        }
+        SparkTreeLimits limits = SparkTreeLimits.of(maxDepth, maxChildrenPerNode);
+        // Loaded before the response is committed, so a missing root is still a 404.
+        FlatSparkTree sparkTree = sparkService.getFlatSparkTree(new ObjectId(id), limits);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = SparkTreeJsonWriter.createGenerator(outputStream)) {
+                SparkTreeJsonWriter.write(sparkTree, generator);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @PutMapping(
@@ -143,22 +267,175 @@ public class SparkController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(
+            path = "/{id}/move",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<SparkDTO> moveSpark(
+            @PathVariable String id,
+            @RequestBody MoveSparkRequestDTO request
+    ) {
+        if(isInvalidObjectId(id)) {
+            throw new IllegalArgumentException("Invalid spark ID format.");
+        }
+        ObjectId newParentId = null;
+        String parentId = request.parentId();
+        if (parentId != null && !parentId.isBlank() && !"root".equalsIgnoreCase(parentId)) {
+            if (isInvalidObjectId(parentId)) {
+                throw new IllegalArgumentException("Invalid parentId. Must be 'root', null or a valid ObjectId.");
+            }
+            newParentId = new ObjectId(parentId);
+        }
+        Spark movedSpark = sparkService.moveSpark(new ObjectId(id), newParentId);
+        SparkDTO response = SparkMapper.toSparkDto(movedSpark, false);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(
+            path = "/{id}/clone",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<SparkDTO> cloneSpark(
+            @PathVariable String id,
+            @RequestBody(required = false) CloneSparkRequestDTO request
+    ) {
+        if(isInvalidObjectId(id)) {
+            throw new IllegalArgumentException("Invalid spark ID format.");
+        }
+        ObjectId targetParentId = null;
+        String parentId = request == null ? null : request.parentId();
+        if (parentId != null && !parentId.isBlank() && !"root".equalsIgnoreCase(parentId)) {
+            if (isInvalidObjectId(parentId)) {
+                throw new IllegalArgumentException("Invalid parentId. Must be 'root', null or a valid ObjectId.");
+            }
+            targetParentId = new ObjectId(parentId);
+        }
+        Spark clonedRoot = sparkService.cloneSpark(new ObjectId(id), targetParentId);
+        SparkDTO response = SparkMapper.toSparkDto(clonedRoot, false);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteSpark(
+    public ResponseEntity<SparkPurgeJobDTO> deleteSpark(
             @PathVariable String id,
-            @RequestParam(name = "mode")String mode
+            @RequestParam(name = "mode")String mode,
+            @RequestParam(name = "async", defaultValue = "false") boolean async
             ) {
         if(isInvalidObjectId(id)) {
             throw new IllegalArgumentException("Invalid spark ID format.");
         }
         SparkDeleteMode deleteMode = SparkDeleteMode.fromValue(mode);
+        if (async) {
+            if (deleteMode != SparkDeleteMode.CASCADE) {
+                throw new IllegalArgumentException("Asynchronous delete is only supported in cascade mode.");
+            }
+            SparkPurgeJob job = sparkPurgeService.startCascadePurge(new ObjectId(id));
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, "/sparks/purge-jobs/" + job.getId().toHexString())
+                    .body(SparkMapper.toPurgeJobDto(job));
+        }
         sparkService.deleteSpark(new ObjectId(id), deleteMode);
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping(
+            path = "/export",
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public WebAsyncTask<Void> exportSparks(
+            @RequestParam(name = "scope", defaultValue = "all") String scope,
+            @RequestParam(name = "rootId", required = false) String rootId,
+            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response
+    ) {
+        SparkExportScope exportScope = SparkExportScope.fromValue(scope);
+        ObjectId rootObjectId = null;
+        if (exportScope == SparkExportScope.SUBTREE) {
+            if (rootId == null || isInvalidObjectId(rootId)) {
+                throw new IllegalArgumentException("Invalid rootId. Subtree exports require a valid ObjectId.");
+            }
+            rootObjectId = new ObjectId(rootId);
+            // Fail with 404 before the response is committed.
+            sparkService.getSparkById(rootObjectId);
+        }
+        String fileName = gzip ? "sparks.ndjson.gz" : "sparks.ndjson";
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        ObjectId exportRootId = rootObjectId;
+        // Full exports outlive the default async timeout, so this handler carries its own.
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+            sparkExportService.exportSparks(exportScope, exportRootId, spark -> {
+                try {
+                    out.write(exportWriter.writeValueAsBytes(SparkMapper.toExportRecordDto(spark)));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            out.flush();
+            return null;
+        });
+    }
+
+    @PostMapping(
+            path = "/import",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<SparkImportReportDTO> importSparks(
+            @RequestHeader(name = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body
+    ) throws IOException {
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        AtomicLong lineNumber = new AtomicLong();
+        Instant now = Instant.now();
+        Stream<SparkImportRecord> records = reader.lines()
+                .map(line -> parseImportLine(lineNumber.incrementAndGet(), line, now))
+                .filter(Objects::nonNull);
+        SparkImportReport report = sparkImportService.importSparks(records);
+        SparkImportReportDTO response = SparkMapper.toImportReportDto(report);
+        HttpStatus status = response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    private SparkImportRecord parseImportLine(long line, String json, Instant now) {
+        if (json.isBlank()) {
+            return null;
+        }
+        try {
+            return SparkMapper.toImportRecord(line, importReader.readValue(json), now);
+        } catch (JacksonException | IllegalArgumentException | DateTimeException e) {
+            return SparkImportRecord.invalid(line, e.getMessage());
+        }
+    }
+
+    @GetMapping(
+            path = "/purge-jobs/{jobId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<SparkPurgeJobDTO> getPurgeJob(@PathVariable String jobId) {
+        if(isInvalidObjectId(jobId)) {
+            throw new IllegalArgumentException("Invalid purge job ID format.");
+        }
+        SparkPurgeJob job = sparkPurgeService.getPurgeJob(new ObjectId(jobId));
+        return ResponseEntity.ok(SparkMapper.toPurgeJobDto(job));
+    }
+
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<PagedResponse<SparkDTO>> searchSparks(
             @RequestParam(name = "title", required = false) String title,
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(name = "mode", defaultValue = "contains") String mode,
+            @RequestParam(name = "distance", defaultValue = "2") int distance,
             @RequestParam(name = "parentId", required = false) String parentId,
             @RequestParam(name = "includeReasons", defaultValue = "false") boolean includeReasons,
             @RequestParam(name = "page", defaultValue = "0") int page,
@@ -178,7 +455,12 @@ public class SparkController {
             scope = ParentSearchScope.ID;
             parentObjectId = new ObjectId(parentId);
         }
-        Page<Spark> sparksPage = sparkService.searchSparks(title, scope, parentObjectId , page, size);
+        SparkSearchMode searchMode = SparkSearchMode.fromValue(mode);
+        Page<Spark> sparksPage = switch (searchMode) {
+            case CONTAINS -> sparkService.searchSparks(title, scope, parentObjectId , page, size);
+            case TEXT     -> sparkService.searchSparksByText(query, scope, parentObjectId, page, size);
+            case FUZZY    -> sparkService.searchSparksByFuzzyTitle(title, distance, scope, parentObjectId, page, size);
+        };
         Page<SparkDTO> response = sparksPage.map((s) -> SparkMapper.toSparkDto(s, includeReasons));
         PagedResponse<SparkDTO> pagedResponse = new PagedResponse<>(
                 response.getContent(),
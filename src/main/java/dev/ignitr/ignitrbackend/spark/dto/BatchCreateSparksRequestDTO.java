@@ -0,0 +1,13 @@
+package dev.ignitr.ignitrbackend.spark.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchCreateSparksRequestDTO(
+        @NotEmpty(message = "items must not be empty")
+        @Size(max = 1000, message = "items must contain at most 1000 entries")
+        List<@Valid BatchSparkItemDTO> items
+) {}
@@ -0,0 +1,9 @@
+package dev.ignitr.ignitrbackend.spark.dto;
+
+import java.util.List;
+
+public record BatchCreateSparksResponseDTO(
+        int created,
+        int failed,
+        List<BatchSparkResultDTO> results
+) {}
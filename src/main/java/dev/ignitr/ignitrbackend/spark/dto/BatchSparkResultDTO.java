@@ -0,0 +1,9 @@
+package dev.ignitr.ignitrbackend.spark.dto;
+
+public record BatchSparkResultDTO(
+        String tempId,
+        String status,
+        SparkDTO spark,
+        String errorCode,
+        String message
+) {}
@@ -0,0 +1,5 @@
+package dev.ignitr.ignitrbackend.spark.dto;
+
+public record CloneSparkRequestDTO(
+        String parentId
+) {}
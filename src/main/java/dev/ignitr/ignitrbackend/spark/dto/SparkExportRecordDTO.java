@@ -0,0 +1,16 @@
+package dev.ignitr.ignitrbackend.spark.dto;
+
+import dev.ignitr.ignitrbackend.reason.dto.ReasonDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+public record SparkExportRecordDTO(
+        String id,
+        String parentId,
+        String title,
+        String description,
+        List<ReasonDTO> reasons,
+        Instant createdAt,
+        Instant updatedAt
+) {}
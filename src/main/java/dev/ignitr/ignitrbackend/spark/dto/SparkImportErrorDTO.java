@@ -0,0 +1,8 @@
+package dev.ignitr.ignitrbackend.spark.dto;
+
+public record SparkImportErrorDTO(
+        long line,
+        String id,
+        String errorCode,
+        String message
+) {}
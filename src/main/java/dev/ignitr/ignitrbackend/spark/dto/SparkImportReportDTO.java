@@ -0,0 +1,13 @@
+package dev.ignitr.ignitrbackend.spark.dto;
+
+import java.util.List;
+
+public record SparkImportReportDTO(
+        long received,
+        long imported,
+        long failed,
+        long promotedToRoot,
+        long durationMillis,
+        double sparksPerSecond,
+        List<SparkImportErrorDTO> errors
+) {}
@@ -0,0 +1,15 @@
+package dev.ignitr.ignitrbackend.spark.dto;
+
+import java.time.Instant;
+
+public record SparkPurgeJobDTO(
+        String id,
+        String rootId,
+        String status,
+        long markedCount,
+        long purgedCount,
+        String failureReason,
+        Instant createdAt,
+        Instant updatedAt,
+        Instant completedAt
+) {}
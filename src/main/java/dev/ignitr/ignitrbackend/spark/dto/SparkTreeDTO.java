@@ -12,5 +12,8 @@ public record SparkTreeDTO(
         Integer score,
         Instant createdAt,
         Instant updatedAt,
+        int childCount,
+        boolean hasMoreChildren,
+        String nextChildrenCursor,
         List<SparkTreeDTO> children
 ) {}
\ No newline at end of file
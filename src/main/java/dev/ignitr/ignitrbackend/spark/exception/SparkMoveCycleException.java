@@ -0,0 +1,17 @@
+package dev.ignitr.ignitrbackend.spark.exception;
+
+import lombok.Getter;
+import org.bson.types.ObjectId;
+
+@Getter
+public class SparkMoveCycleException extends RuntimeException {
+
+    private final ObjectId id;
+    private final ObjectId parentId;
+
+    public SparkMoveCycleException(ObjectId id, ObjectId parentId) {
+        super("Spark '%s' cannot be moved under its own descendant '%s'".formatted(id.toHexString(), parentId.toHexString()));
+        this.id = id;
+        this.parentId = parentId;
+    }
+}
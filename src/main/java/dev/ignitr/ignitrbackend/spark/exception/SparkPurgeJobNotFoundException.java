@@ -0,0 +1,15 @@
+package dev.ignitr.ignitrbackend.spark.exception;
+
+import lombok.Getter;
+import org.bson.types.ObjectId;
+
+@Getter
+public class SparkPurgeJobNotFoundException extends RuntimeException {
+
+    private final ObjectId id;
+
+    public SparkPurgeJobNotFoundException(ObjectId id) {
+        super("Spark purge job with id '%s' was not found".formatted(id.toHexString()));
+        this.id = id;
+    }
+}
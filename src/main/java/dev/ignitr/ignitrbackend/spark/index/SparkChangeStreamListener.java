@@ -0,0 +1,98 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies writes made by other application instances to the in-memory Spark indexes.
+ * <p>
+ * Local writes update the indexes directly and arrive here again as events; applying them a
+ * second time is harmless. Change streams need a replica set, so this is off by default.
+ */
+@Component
+@ConditionalOnProperty(name = "ignitr.spark.index.change-stream.enabled", havingValue = "true")
+public class SparkChangeStreamListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkChangeStreamListener.class);
+
+    private final List<SparkIndex> sparkIndexes;
+    private final MessageListenerContainer container;
+
+    public SparkChangeStreamListener(MongoTemplate mongoTemplate, List<SparkIndex> sparkIndexes) {
+        this.sparkIndexes = sparkIndexes;
+        this.container = new DefaultMessageListenerContainer(mongoTemplate);
+        String collection = mongoTemplate.getCollectionName(Spark.class);
+        ChangeStreamRequest<Spark> request = ChangeStreamRequest.builder(this::onChange)
+                .collection(collection)
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build();
+        container.register(request, Spark.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        container.start();
+        LoggingUtils.info(logger, "start", null, "Listening for Spark changes.");
+    }
+
+    @PreDestroy
+    public void stop() {
+        container.stop();
+    }
+
+    void onChange(Message<ChangeStreamDocument<Document>, Spark> message) {
+        ChangeStreamDocument<Document> event = message.getRaw();
+        if (event == null) {
+            return;
+        }
+        OperationType operation = event.getOperationType();
+        Spark spark = message.getBody();
+
+        if (operation == OperationType.DELETE) {
+            ObjectId id = documentId(event);
+            if (id != null) {
+                removeAll(id);
+            }
+        } else if (spark != null && spark.getDeletedAt() != null) {
+            removeAll(spark.getId());
+        } else if (spark != null) {
+            for (SparkIndex index : sparkIndexes) {
+                index.put(spark);
+            }
+        }
+    }
+
+    private void removeAll(ObjectId id) {
+        for (SparkIndex index : sparkIndexes) {
+            index.removeAll(List.of(id));
+        }
+    }
+
+    private static ObjectId documentId(ChangeStreamDocument<Document> event) {
+        if (event.getDocumentKey() == null) {
+            return null;
+        }
+        BsonValue id = event.getDocumentKey().get("_id");
+        return id != null && id.isObjectId() ? id.asObjectId().getValue() : null;
+    }
+}
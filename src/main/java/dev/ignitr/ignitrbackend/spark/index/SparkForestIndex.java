@@ -0,0 +1,515 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Parent/child structure of all live Sparks, held in primitive arrays.
+ * <p>
+ * Every ObjectId is interned to an int node in an open-addressing table. Each node stores its
+ * parent and is linked into its parent's child list through {@code firstChild},
+ * {@code nextSibling} and {@code prevSibling}, so inserts, removals and moves are O(1) and
+ * walks never box. A parent referenced before its own record is seen, or removed while it still
+ * has children, stays as a placeholder node that is not reported as a Spark.
+ * <p>
+ * Each node also keeps its {@code createdAt} in epoch millis, so capped child lists are picked in
+ * the same {@code (createdAt, _id)} order the database queries use. Imported Sparks keep their
+ * source {@code createdAt} but get fresh ids, so the two orders cannot be assumed to agree.
+ * <p>
+ * Writes from other instances only reach the index through the change stream, so reads are
+ * answered from it ({@link #servesReads()}) only when the change stream is enabled.
+ */
+@Component
+public class SparkForestIndex implements SparkIndex {
+
+    private static final int NONE = -1;
+    // Sorts first, like a missing createdAt does in Mongo.
+    private static final long NO_CREATED_AT = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final boolean changeStreamEnabled;
+    private volatile boolean ready;
+
+    private ObjectId[] ids;
+    private boolean[] present;
+    private int[] parent;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] prevSibling;
+    private long[] createdAtMillis;
+    private int nodeCount;
+    private int freeHead;
+    private int liveCount;
+
+    private ObjectId[] tableKeys;
+    private int[] tableNodes;
+    private int tableSize;
+
+    public SparkForestIndex(@Value("${ignitr.spark.index.change-stream.enabled:false}") boolean changeStreamEnabled) {
+        this.changeStreamEnabled = changeStreamEnabled;
+        clearTables();
+    }
+
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            clearTables();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Spark spark) {
+        if (spark.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int node = intern(spark.getId());
+            if (!present[node]) {
+                present[node] = true;
+                liveCount++;
+            }
+            if (spark.getCreatedAt() != null) {
+                createdAtMillis[node] = spark.getCreatedAt().toEpochMilli();
+            }
+            int newParent = spark.getParentId() == null ? NONE : intern(spark.getParentId());
+            if (newParent == node) {
+                newParent = NONE;
+            }
+            if (parent[node] != newParent) {
+                int oldParent = parent[node];
+                unlink(node);
+                link(node, newParent);
+                releaseIfUnused(oldParent);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<ObjectId> removedIds) {
+        lock.writeLock().lock();
+        try {
+            for (ObjectId id : removedIds) {
+                int node = find(id);
+                if (node == NONE || !present[node]) {
+                    continue;
+                }
+                present[node] = false;
+                liveCount--;
+                int oldParent = parent[node];
+                if (firstChild[node] == NONE) {
+                    unlink(node);
+                    release(node);
+                }
+                releaseIfUnused(oldParent);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void moveChildren(ObjectId fromParentId, ObjectId toParentId) {
+        lock.writeLock().lock();
+        try {
+            int from = find(fromParentId);
+            if (from == NONE) {
+                return;
+            }
+            int to = toParentId == null ? NONE : intern(toParentId);
+            for (int child = firstChild[from]; child != NONE; ) {
+                int next = nextSibling[child];
+                unlink(child);
+                link(child, to);
+                child = next;
+            }
+            releaseIfUnused(from);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether children and subtrees may be resolved from this index instead of the database.
+     */
+    public boolean servesReads() {
+        return ready && changeStreamEnabled;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(ObjectId id) {
+        lock.readLock().lock();
+        try {
+            int node = find(id);
+            return node != NONE && present[node];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ObjectId> getChildIds(ObjectId parentId) {
+        lock.readLock().lock();
+        try {
+            int node = find(parentId);
+            if (node == NONE) {
+                return List.of();
+            }
+            List<ObjectId> children = new ArrayList<>();
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (present[child]) {
+                    children.add(ids[child]);
+                }
+            }
+            return children;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Emits a skeleton (id, parentId, createdAt) of every live Spark. The read lock is held for
+     * the whole walk, so the skeletons describe one consistent state of the forest.
+     */
+    public void forEachLive(Consumer<Spark> consumer) {
+        lock.readLock().lock();
+        try {
+            for (int node = 0; node < nodeCount; node++) {
+                if (ids[node] == null || !present[node]) {
+                    continue;
+                }
+                Spark spark = new Spark();
+                spark.setId(ids[node]);
+                spark.setParentId(parent[node] == NONE ? null : ids[parent[node]]);
+                spark.setCreatedAt(createdAtMillis[node] == NO_CREATED_AT
+                        ? null : Instant.ofEpochMilli(createdAtMillis[node]));
+                consumer.accept(spark);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of {@code rootId} and all its live descendants in breadth-first order, or an empty
+     * list if the root is unknown. Descendants below a placeholder node are skipped.
+     */
+    public List<ObjectId> getSubtreeIds(ObjectId rootId) {
+        return getSubtree(rootId, Integer.MAX_VALUE, Integer.MAX_VALUE).ids();
+    }
+
+    /**
+     * Like {@link #getSubtreeIds(ObjectId)}, but stops below {@code maxDepth} and keeps at most
+     * {@code maxChildrenPerNode} children per node, oldest first by {@code (createdAt, _id)}. Nodes that lose children
+     * to either limit are reported with their full live child count.
+     */
+    public Subtree getSubtree(ObjectId rootId, int maxDepth, int maxChildrenPerNode) {
+        lock.readLock().lock();
+        try {
+            int root = find(rootId);
+            if (root == NONE || !present[root]) {
+                return new Subtree(List.of(), Map.of());
+            }
+            int[] queue = new int[16];
+            int[] depths = new int[16];
+            int tail = 0;
+            queue[tail] = root;
+            depths[tail++] = 0;
+            Map<ObjectId, Integer> truncatedChildCounts = new HashMap<>();
+            // A stale cycle must not loop forever; a forest never has more nodes than live Sparks.
+            for (int head = 0; head < tail && tail <= liveCount; head++) {
+                int node = queue[head];
+                int childCount = liveChildCount(node);
+                if (childCount == 0) {
+                    continue;
+                }
+                if (depths[head] >= maxDepth) {
+                    truncatedChildCounts.put(ids[node], childCount);
+                    continue;
+                }
+                if (tail + childCount > queue.length) {
+                    int capacity = Math.max(queue.length * 2, tail + childCount);
+                    queue = Arrays.copyOf(queue, capacity);
+                    depths = Arrays.copyOf(depths, capacity);
+                }
+                if (childCount > maxChildrenPerNode) {
+                    truncatedChildCounts.put(ids[node], childCount);
+                    for (ObjectId childId : oldestChildIds(node, childCount, maxChildrenPerNode)) {
+                        queue[tail] = find(childId);
+                        depths[tail++] = depths[head] + 1;
+                    }
+                    continue;
+                }
+                for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                    if (present[child]) {
+                        queue[tail] = child;
+                        depths[tail++] = depths[head] + 1;
+                    }
+                }
+            }
+            List<ObjectId> subtree = new ArrayList<>(tail);
+            for (int i = 0; i < tail; i++) {
+                subtree.add(ids[queue[i]]);
+            }
+            return new Subtree(subtree, truncatedChildCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int liveChildCount(int node) {
+        int count = 0;
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (present[child]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private ObjectId[] oldestChildIds(int node, int childCount, int limit) {
+        // Both sort keys are reduced to ranks and packed into one long (createdAt rank in the
+        // high half, id rank in the low half), so the (createdAt, _id) order is a primitive sort.
+        long[] createdAt = new long[childCount];
+        ObjectId[] byId = new ObjectId[childCount];
+        int i = 0;
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (present[child]) {
+                createdAt[i] = createdAtMillis[child];
+                byId[i++] = ids[child];
+            }
+        }
+        Arrays.sort(createdAt);
+        Arrays.sort(byId);
+
+        long[] keys = new long[childCount];
+        i = 0;
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (present[child]) {
+                long createdAtRank = Arrays.binarySearch(createdAt, createdAtMillis[child]);
+                keys[i++] = createdAtRank << 32 | Arrays.binarySearch(byId, ids[child]);
+            }
+        }
+        Arrays.sort(keys);
+
+        ObjectId[] childIds = new ObjectId[limit];
+        for (int j = 0; j < limit; j++) {
+            childIds[j] = byId[(int) keys[j]];
+        }
+        return childIds;
+    }
+
+    private void link(int node, int newParent) {
+        parent[node] = newParent;
+        prevSibling[node] = NONE;
+        if (newParent == NONE) {
+            nextSibling[node] = NONE;
+            return;
+        }
+        int head = firstChild[newParent];
+        nextSibling[node] = head;
+        if (head != NONE) {
+            prevSibling[head] = node;
+        }
+        firstChild[newParent] = node;
+    }
+
+    private void unlink(int node) {
+        int p = parent[node];
+        if (p == NONE) {
+            return;
+        }
+        int prev = prevSibling[node];
+        int next = nextSibling[node];
+        if (prev != NONE) {
+            nextSibling[prev] = next;
+        } else {
+            firstChild[p] = next;
+        }
+        if (next != NONE) {
+            prevSibling[next] = prev;
+        }
+        parent[node] = NONE;
+        prevSibling[node] = NONE;
+        nextSibling[node] = NONE;
+    }
+
+    private void releaseIfUnused(int node) {
+        while (node != NONE && !present[node] && firstChild[node] == NONE) {
+            int oldParent = parent[node];
+            unlink(node);
+            release(node);
+            node = oldParent;
+        }
+    }
+
+    private int intern(ObjectId id) {
+        int slot = slotOf(id);
+        if (tableKeys[slot] != null) {
+            return tableNodes[slot];
+        }
+        int node = allocate(id);
+        tableKeys[slot] = id;
+        tableNodes[slot] = node;
+        tableSize++;
+        if (tableSize * 2 > tableKeys.length) {
+            rehash(tableKeys.length * 2);
+        }
+        return node;
+    }
+
+    private int find(ObjectId id) {
+        if (id == null) {
+            return NONE;
+        }
+        int slot = slotOf(id);
+        return tableKeys[slot] != null ? tableNodes[slot] : NONE;
+    }
+
+    private int slotOf(ObjectId id) {
+        int mask = tableKeys.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+        while (tableKeys[slot] != null && !tableKeys[slot].equals(id)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int allocate(ObjectId id) {
+        int node;
+        if (freeHead != NONE) {
+            node = freeHead;
+            freeHead = nextSibling[node];
+        } else {
+            if (nodeCount == ids.length) {
+                growNodes(ids.length * 2);
+            }
+            node = nodeCount++;
+        }
+        ids[node] = id;
+        present[node] = false;
+        parent[node] = NONE;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        prevSibling[node] = NONE;
+        createdAtMillis[node] = NO_CREATED_AT;
+        return node;
+    }
+
+    private void release(int node) {
+        removeKey(ids[node]);
+        ids[node] = null;
+        nextSibling[node] = freeHead;
+        freeHead = node;
+    }
+
+    private void removeKey(ObjectId id) {
+        int mask = tableKeys.length - 1;
+        int slot = slotOf(id);
+        if (tableKeys[slot] == null) {
+            return;
+        }
+        tableKeys[slot] = null;
+        tableSize--;
+        // Backward-shift deletion keeps linear probe chains intact without tombstones.
+        int next = (slot + 1) & mask;
+        while (tableKeys[next] != null) {
+            int home = mix(tableKeys[next].hashCode()) & mask;
+            boolean movable = slot <= next ? (home <= slot || home > next) : (home <= slot && home > next);
+            if (movable) {
+                tableKeys[slot] = tableKeys[next];
+                tableNodes[slot] = tableNodes[next];
+                tableKeys[next] = null;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        ObjectId[] oldKeys = tableKeys;
+        int[] oldNodes = tableNodes;
+        tableKeys = new ObjectId[capacity];
+        tableNodes = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slotOf(oldKeys[i]);
+                tableKeys[slot] = oldKeys[i];
+                tableNodes[slot] = oldNodes[i];
+            }
+        }
+    }
+
+    private void growNodes(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        present = Arrays.copyOf(present, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        prevSibling = Arrays.copyOf(prevSibling, capacity);
+        createdAtMillis = Arrays.copyOf(createdAtMillis, capacity);
+    }
+
+    private void clearTables() {
+        ids = new ObjectId[INITIAL_CAPACITY];
+        present = new boolean[INITIAL_CAPACITY];
+        parent = new int[INITIAL_CAPACITY];
+        firstChild = new int[INITIAL_CAPACITY];
+        nextSibling = new int[INITIAL_CAPACITY];
+        prevSibling = new int[INITIAL_CAPACITY];
+        createdAtMillis = new long[INITIAL_CAPACITY];
+        nodeCount = 0;
+        freeHead = NONE;
+        liveCount = 0;
+        tableKeys = new ObjectId[INITIAL_CAPACITY * 2];
+        tableNodes = new int[INITIAL_CAPACITY * 2];
+        tableSize = 0;
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Breadth-first ids of a possibly truncated subtree, plus the live child count of every
+     * node whose children were not all included.
+     */
+    public record Subtree(List<ObjectId> ids, Map<ObjectId, Integer> truncatedChildCounts) {}
+}
@@ -0,0 +1,28 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+
+/**
+ * In-memory structure derived from the {@code sparks} collection.
+ * <p>
+ * Indexes are rebuilt by {@link SparkIndexLoader} and kept current by the service write paths.
+ * Mongo stays the source of truth: an index that is not {@link #isReady() ready} must not be
+ * used to skip a database lookup.
+ */
+public interface SparkIndex {
+
+    void reset();
+
+    void put(Spark spark);
+
+    void removeAll(Collection<ObjectId> ids);
+
+    default void moveChildren(ObjectId fromParentId, ObjectId toParentId) {}
+
+    void markReady();
+
+    boolean isReady();
+}
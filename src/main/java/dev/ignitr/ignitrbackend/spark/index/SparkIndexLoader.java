@@ -0,0 +1,131 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.model.SparkDeletion;
+import dev.ignitr.ignitrbackend.spark.repository.SparkDeletionRepository;
+import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Component
+public class SparkIndexLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkIndexLoader.class);
+
+    private final SparkRepository sparkRepository;
+    private final SparkDeletionRepository deletionRepository;
+    private final List<SparkIndex> sparkIndexes;
+    private final SparkIndexSnapshotStore snapshotStore;
+
+    public SparkIndexLoader(SparkRepository sparkRepository, SparkDeletionRepository deletionRepository,
+                            List<SparkIndex> sparkIndexes, SparkIndexSnapshotStore snapshotStore) {
+        this.sparkRepository = sparkRepository;
+        this.deletionRepository = deletionRepository;
+        this.sparkIndexes = sparkIndexes;
+        this.snapshotStore = snapshotStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread.ofPlatform()
+                .daemon()
+                .name("spark-index-loader")
+                .start(this::rebuild);
+    }
+
+    public void rebuild() {
+
+        LoggingUtils.debug(logger, "rebuild", null,
+                "Rebuilding {} Spark indexes...", sparkIndexes.size());
+
+        long start = System.nanoTime();
+
+        sparkIndexes.forEach(SparkIndex::reset);
+
+        Optional<SparkIndexSnapshot> snapshot = snapshotStore.load();
+        if (snapshot.isPresent()) {
+            try {
+                long[] counts = warmStart(snapshot.get());
+                sparkIndexes.forEach(SparkIndex::markReady);
+                LoggingUtils.info(logger, "rebuild", null,
+                        "Loaded Spark indexes from snapshot of {} ({} Sparks, {} changes replayed) in {} ms.",
+                        snapshot.get().getSnapshotAt(), counts[0], counts[1], (System.nanoTime() - start) / 1_000_000);
+                return;
+            } catch (RuntimeException e) {
+                LoggingUtils.warn(logger, "rebuild", null,
+                        "Warm start from snapshot failed, falling back to a full rebuild.", e);
+                sparkIndexes.forEach(SparkIndex::reset);
+            }
+        }
+
+        Instant snapshotAt = Instant.now();
+        SparkIndexSnapshot.Builder builder = snapshotStore.isEnabled() ? SparkIndexSnapshot.builder() : null;
+        long count = 0;
+
+        try (Stream<Spark> sparks = sparkRepository.streamAllSkeletons()) {
+            for (Spark spark : (Iterable<Spark>) sparks::iterator) {
+                put(spark);
+                if (builder != null) {
+                    builder.add(spark);
+                }
+                count++;
+            }
+        } catch (RuntimeException e) {
+            LoggingUtils.warn(logger, "rebuild", null,
+                    "Spark index rebuild failed, indexes stay disabled.", e);
+            return;
+        }
+
+        sparkIndexes.forEach(SparkIndex::markReady);
+
+        LoggingUtils.info(logger, "rebuild", null,
+                "Rebuilt Spark indexes from {} Sparks in {} ms.", count, (System.nanoTime() - start) / 1_000_000);
+
+        if (builder != null) {
+            snapshotStore.write(builder, snapshotAt);
+        }
+    }
+
+    private long[] warmStart(SparkIndexSnapshot snapshot) {
+        snapshot.forEach(this::put);
+
+        long replayed = 0;
+        try (Stream<Spark> changes = sparkRepository.streamSkeletonsUpdatedSince(snapshot.getSnapshotAt())) {
+            for (Spark spark : (Iterable<Spark>) changes::iterator) {
+                if (spark.getDeletedAt() != null) {
+                    for (SparkIndex index : sparkIndexes) {
+                        index.removeAll(List.of(spark.getId()));
+                    }
+                } else {
+                    put(spark);
+                }
+                replayed++;
+            }
+        }
+        // Hard-deleted Sparks leave no document to replay, only their deletion log entry.
+        try (Stream<SparkDeletion> deletions = deletionRepository.streamDeletedSince(snapshot.getSnapshotAt())) {
+            for (SparkDeletion deletion : (Iterable<SparkDeletion>) deletions::iterator) {
+                for (SparkIndex index : sparkIndexes) {
+                    index.removeAll(List.of(deletion.getSparkId()));
+                }
+                replayed++;
+            }
+        }
+        return new long[] { snapshot.size(), replayed };
+    }
+
+    private void put(Spark spark) {
+        for (SparkIndex index : sparkIndexes) {
+            index.put(spark);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Read-only view over a binary snapshot of Spark skeletons (id, parent, createdAt, title).
+ * <p>
+ * Layout, big-endian, version 2:
+ * <pre>
+ * int    magic 'IGSS'
+ * int    version
+ * long   snapshotAt (epoch millis)
+ * int    count
+ * int    poolSize
+ * byte[] ids           count x 12 bytes
+ * int[]  parents       count, offset of the parent record or -1 for top-level Sparks
+ * long[] createdAt     count, epoch millis or Long.MIN_VALUE when unknown
+ * int[]  titleOffsets  count + 1, start of each title in the pool
+ * byte[] pool          UTF-8 titles
+ * long   CRC32 of everything above
+ * </pre>
+ * The file is memory-mapped and records are decoded on access, so opening a snapshot does not
+ * copy it onto the heap. Snapshots of an older version are rejected and rebuilt from the database.
+ */
+public final class SparkIndexSnapshot {
+
+    static final int MAGIC = 0x49475353;
+    static final int VERSION = 2;
+
+    private static final int ID_BYTES = 12;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+    private static final int NO_PARENT = -1;
+    private static final long NO_CREATED_AT = Long.MIN_VALUE;
+
+    private final ByteBuffer buffer;
+    private final Instant snapshotAt;
+    private final int count;
+    private final int idsOffset;
+    private final int parentsOffset;
+    private final int createdAtOffset;
+    private final int titleOffsetsOffset;
+    private final int poolOffset;
+
+    private SparkIndexSnapshot(ByteBuffer buffer, Instant snapshotAt, int count) {
+        this.buffer = buffer;
+        this.snapshotAt = snapshotAt;
+        this.count = count;
+        this.idsOffset = HEADER_BYTES;
+        this.parentsOffset = idsOffset + count * ID_BYTES;
+        this.createdAtOffset = parentsOffset + count * Integer.BYTES;
+        this.titleOffsetsOffset = createdAtOffset + count * Long.BYTES;
+        this.poolOffset = titleOffsetsOffset + (count + 1) * Integer.BYTES;
+    }
+
+    public static SparkIndexSnapshot open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Long.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + file + " has an invalid size of " + size + " bytes.");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.BIG_ENDIAN);
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Snapshot " + file + " is not a Spark index snapshot.");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Snapshot " + file + " has unsupported version " + version + ".");
+        }
+        Instant snapshotAt = Instant.ofEpochMilli(buffer.getLong(8));
+        int count = buffer.getInt(16);
+        int poolSize = buffer.getInt(20);
+        long expectedSize = HEADER_BYTES
+                + (long) count * (ID_BYTES + Integer.BYTES + Long.BYTES)
+                + (long) (count + 1) * Integer.BYTES
+                + poolSize
+                + Long.BYTES;
+        if (count < 0 || poolSize < 0 || expectedSize != buffer.capacity()) {
+            throw new IOException("Snapshot " + file + " is truncated or corrupt.");
+        }
+
+        int bodySize = buffer.capacity() - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(bodySize));
+        if (crc.getValue() != buffer.getLong(bodySize)) {
+            throw new IOException("Snapshot " + file + " failed its checksum.");
+        }
+
+        return new SparkIndexSnapshot(buffer, snapshotAt, count);
+    }
+
+    public Instant getSnapshotAt() {
+        return snapshotAt;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public ObjectId id(int record) {
+        byte[] bytes = new byte[ID_BYTES];
+        buffer.get(idsOffset + record * ID_BYTES, bytes);
+        return new ObjectId(bytes);
+    }
+
+    public int parent(int record) {
+        return buffer.getInt(parentsOffset + record * Integer.BYTES);
+    }
+
+    public Instant createdAt(int record) {
+        long millis = buffer.getLong(createdAtOffset + record * Long.BYTES);
+        return millis == NO_CREATED_AT ? null : Instant.ofEpochMilli(millis);
+    }
+
+    public String title(int record) {
+        int start = buffer.getInt(titleOffsetsOffset + record * Integer.BYTES);
+        int end = buffer.getInt(titleOffsetsOffset + (record + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(poolOffset + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Emits every record as a skeleton Spark with id, title, parentId and createdAt set.
+     */
+    public void forEach(Consumer<Spark> consumer) {
+        ObjectId[] ids = new ObjectId[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = id(i);
+        }
+        for (int i = 0; i < count; i++) {
+            Spark spark = new Spark();
+            spark.setId(ids[i]);
+            spark.setTitle(title(i));
+            int parent = parent(i);
+            spark.setParentId(parent == NO_PARENT ? null : ids[parent]);
+            spark.setCreatedAt(createdAt(i));
+            consumer.accept(spark);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects skeletons in compact form and writes them as a snapshot. Parent pointers are
+     * resolved when the snapshot is written, so records may be added in any order.
+     */
+    public static final class Builder {
+
+        private final ByteArrayOutputStream ids = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private final Map<ObjectId, Integer> records = new HashMap<>();
+        private ObjectId[] parentIds = new ObjectId[1024];
+        private long[] createdAtMillis = new long[1024];
+        private int[] titleOffsets = new int[1025];
+        private int count;
+
+        private Builder() {}
+
+        public Builder add(Spark spark) {
+            if (spark.getId() == null || spark.getTitle() == null || records.containsKey(spark.getId())) {
+                return this;
+            }
+            if (count == parentIds.length) {
+                parentIds = Arrays.copyOf(parentIds, count * 2);
+                createdAtMillis = Arrays.copyOf(createdAtMillis, count * 2);
+                titleOffsets = Arrays.copyOf(titleOffsets, count * 2 + 1);
+            }
+            records.put(spark.getId(), count);
+            ids.writeBytes(spark.getId().toByteArray());
+            parentIds[count] = spark.getParentId();
+            createdAtMillis[count] = spark.getCreatedAt() == null ? NO_CREATED_AT : spark.getCreatedAt().toEpochMilli();
+            titleOffsets[count] = pool.size();
+            pool.writeBytes(spark.getTitle().getBytes(StandardCharsets.UTF_8));
+            count++;
+            return this;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Writes to a temporary file next to {@code file} and moves it into place, so readers
+         * never see a partially written snapshot.
+         */
+        public void writeTo(Path file, Instant snapshotAt) throws IOException {
+            titleOffsets[count] = pool.size();
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                CRC32 crc = new CRC32();
+                try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+                    DataOutputStream out = new DataOutputStream(new CheckedOutputStream(fileOut, crc));
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeLong(snapshotAt.toEpochMilli());
+                    out.writeInt(count);
+                    out.writeInt(pool.size());
+                    ids.writeTo(out);
+                    for (int i = 0; i < count; i++) {
+                        ObjectId parentId = parentIds[i];
+                        out.writeInt(parentId == null ? NO_PARENT : records.getOrDefault(parentId, NO_PARENT));
+                    }
+                    for (int i = 0; i < count; i++) {
+                        out.writeLong(createdAtMillis[i]);
+                    }
+                    for (int i = 0; i <= count; i++) {
+                        out.writeInt(titleOffsets[i]);
+                    }
+                    pool.writeTo(out);
+                    out.flush();
+                    new DataOutputStream(fileOut).writeLong(crc.getValue());
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
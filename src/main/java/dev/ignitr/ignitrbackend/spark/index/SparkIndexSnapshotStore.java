@@ -0,0 +1,122 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.spark.model.SparkDeletion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps a {@link SparkIndexSnapshot} on local disk so that {@link SparkIndexLoader} can warm
+ * start from it instead of scanning the whole collection.
+ * <p>
+ * Snapshots older than {@code max-age} are ignored, since replaying a long change window costs
+ * about as much as a full scan. Hard deletes are replayed from the {@link SparkDeletion} log,
+ * so {@code max-age} may not exceed its retention.
+ * <p>
+ * The full rebuild writes a snapshot as a by-product of its scan. Scheduled snapshots are
+ * serialized from the in-memory indexes instead of scanning the collection again, which is only
+ * correct when the change stream keeps them current with writes from other instances; without
+ * it, the startup snapshot is kept until it ages out.
+ */
+@Component
+public class SparkIndexSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkIndexSnapshotStore.class);
+
+    // Index updates trail their database writes, most of all when they arrive through the change
+    // stream, so scheduled snapshots claim a slightly earlier time and replay the difference.
+    private static final Duration INDEX_LAG_MARGIN = Duration.ofMinutes(1);
+
+    private final SparkForestIndex forestIndex;
+    private final SparkTitleFuzzyIndex titleIndex;
+    private final boolean enabled;
+    private final Path file;
+    private final Duration maxAge;
+    private final boolean changeStreamEnabled;
+
+    public SparkIndexSnapshotStore(
+            SparkForestIndex forestIndex,
+            SparkTitleFuzzyIndex titleIndex,
+            @Value("${ignitr.spark.index.snapshot.enabled:true}") boolean enabled,
+            @Value("${ignitr.spark.index.snapshot.path:${java.io.tmpdir}/ignitr/spark-index.snapshot}") Path file,
+            @Value("${ignitr.spark.index.snapshot.max-age:P1D}") Duration maxAge,
+            @Value("${ignitr.spark.index.change-stream.enabled:false}") boolean changeStreamEnabled
+    ) {
+        if (maxAge.compareTo(SparkDeletion.RETENTION) > 0) {
+            throw new IllegalArgumentException(
+                    "Snapshot max age must not exceed the deletion log retention of " + SparkDeletion.RETENTION + ".");
+        }
+        this.forestIndex = forestIndex;
+        this.titleIndex = titleIndex;
+        this.enabled = enabled;
+        this.file = file;
+        this.maxAge = maxAge;
+        this.changeStreamEnabled = changeStreamEnabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<SparkIndexSnapshot> load() {
+        if (!enabled || !Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            SparkIndexSnapshot snapshot = SparkIndexSnapshot.open(file);
+            if (snapshot.getSnapshotAt().isBefore(Instant.now().minus(maxAge))) {
+                LoggingUtils.info(logger, "load", null,
+                        "Ignoring Spark index snapshot from {}, it is older than {}.", snapshot.getSnapshotAt(), maxAge);
+                return Optional.empty();
+            }
+            return Optional.of(snapshot);
+        } catch (IOException e) {
+            LoggingUtils.warn(logger, "load", null,
+                    "Could not read Spark index snapshot " + file + ", falling back to a full rebuild.", e);
+            return Optional.empty();
+        }
+    }
+
+    public void write(SparkIndexSnapshot.Builder builder, Instant snapshotAt) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            builder.writeTo(file, snapshotAt);
+            LoggingUtils.info(logger, "write", null,
+                    "Wrote Spark index snapshot with {} Sparks to {} in {} ms.",
+                    builder.size(), file, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            LoggingUtils.warn(logger, "write", null,
+                    "Could not write Spark index snapshot " + file + ".", e);
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${ignitr.spark.index.snapshot.interval:PT15M}",
+            initialDelayString = "${ignitr.spark.index.snapshot.interval:PT15M}"
+    )
+    public void writeOnSchedule() {
+        if (!enabled || !changeStreamEnabled || !forestIndex.isReady() || !titleIndex.isReady()) {
+            return;
+        }
+        Instant snapshotAt = Instant.now().minus(INDEX_LAG_MARGIN);
+        SparkIndexSnapshot.Builder builder = SparkIndexSnapshot.builder();
+        forestIndex.forEachLive(skeleton -> {
+            skeleton.setTitle(titleIndex.getTitle(skeleton.getId()));
+            builder.add(skeleton);
+        });
+        write(builder, snapshotAt);
+    }
+}
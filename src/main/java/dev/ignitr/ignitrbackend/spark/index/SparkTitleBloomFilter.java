@@ -0,0 +1,143 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over every Spark title, used to skip the {@code existsByTitle} round trip
+ * when a title is definitely new.
+ * <p>
+ * Titles cannot be removed from a Bloom filter, so renamed and deleted titles only add
+ * false positives, which fall through to the database check. A "definitely absent" answer can
+ * still be wrong: titles written by other instances are missing unless the change stream is on.
+ * Such a miss is only harmless while the unique index on {@code title} rejects the duplicate, so
+ * the filter answers conservatively until {@link #markUniqueIndexPresent()} confirms the index.
+ */
+@Component
+public class SparkTitleBloomFilter implements SparkIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkTitleBloomFilter.class);
+
+    private final long expectedInsertions;
+    private final int bitCount;
+    private final int hashCount;
+
+    private volatile AtomicLongArray bits;
+    private final AtomicLong insertions = new AtomicLong();
+    private volatile boolean ready;
+    private volatile boolean uniqueIndexPresent;
+
+    public SparkTitleBloomFilter(
+            @Value("${ignitr.spark.title-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${ignitr.spark.title-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid title filter sizing.");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.expectedInsertions = expectedInsertions;
+        this.bitCount = (int) Math.min(Math.max(optimalBits, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        this.bits = new AtomicLongArray((bitCount + 63) >>> 6);
+    }
+
+    @Override
+    public void reset() {
+        ready = false;
+        insertions.set(0);
+        bits = new AtomicLongArray((bitCount + 63) >>> 6);
+    }
+
+    @Override
+    public void put(Spark spark) {
+        if (spark.getTitle() == null) {
+            return;
+        }
+        long h1 = hash(spark.getTitle());
+        long h2 = mix(h1);
+        AtomicLongArray current = bits;
+        // A reset that swaps the array mid-put would drop this title, so repeat on the new one.
+        while (true) {
+            for (int i = 0; i < hashCount; i++) {
+                int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                current.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+            }
+            AtomicLongArray latest = bits;
+            if (latest == current) {
+                break;
+            }
+            current = latest;
+        }
+        insertions.incrementAndGet();
+    }
+
+    @Override
+    public void removeAll(Collection<ObjectId> ids) {
+        // Bloom filters cannot forget entries; stale titles only cost a database check.
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+        if (insertions.get() > expectedInsertions) {
+            LoggingUtils.warn(logger, "markReady", null,
+                    "Title filter holds {} titles but was sized for {}, false positive rate will degrade.",
+                    insertions.get(), expectedInsertions);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Called once the unique index on {@code title} is known to exist, which makes a wrong
+     * "definitely absent" answer end in a rejected insert rather than a duplicate title.
+     */
+    public void markUniqueIndexPresent() {
+        uniqueIndexPresent = true;
+    }
+
+    public boolean mightContain(String title) {
+        if (!ready || !uniqueIndexPresent || title == null) {
+            return true;
+        }
+        AtomicLongArray current = bits;
+        long h1 = hash(title);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((current.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1L;
+    }
+}
@@ -0,0 +1,390 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Symmetric-delete (SymSpell style) index over Spark titles.
+ * <p>
+ * Every title is registered under the hashes of all strings obtained by deleting up to
+ * {@code maxDistance} characters from its first {@code prefixLength} characters. A query
+ * generates the same deletes for itself, so only titles sharing at least one delete hash
+ * are compared with a bounded Levenshtein distance. Lookup cost depends on the number of
+ * candidates, not on the number of titles.
+ * <p>
+ * Removed titles leave stale postings behind; they are skipped at lookup time and dropped
+ * by a compaction once they outnumber live titles.
+ */
+@Component
+public class SparkTitleFuzzyIndex implements SparkIndex {
+
+    public record Match(ObjectId id, String title, int distance) {}
+
+    private static final int EMPTY = -1;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int maxDistance;
+    private final int prefixLength;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private ObjectId[] ids;
+    private String[] titles;
+    private String[] normalizedTitles;
+    private int slotCount;
+    private int deadSlots;
+    private final Map<ObjectId, Integer> slotsById = new HashMap<>();
+
+    private long[] keys;
+    private int[] heads;
+    private int keyCount;
+
+    private int[] postingSlots;
+    private int[] postingNext;
+    private int postingCount;
+
+    public SparkTitleFuzzyIndex(
+            @Value("${ignitr.search.fuzzy.max-distance:2}") int maxDistance,
+            @Value("${ignitr.search.fuzzy.prefix-length:7}") int prefixLength
+    ) {
+        if (maxDistance < 1 || maxDistance > prefixLength) {
+            throw new IllegalArgumentException("Fuzzy max distance must be between 1 and the prefix length.");
+        }
+        this.maxDistance = maxDistance;
+        this.prefixLength = prefixLength;
+        clearTables();
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            slotsById.clear();
+            clearTables();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Spark spark) {
+        if (spark.getId() == null || spark.getTitle() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotsById.get(spark.getId());
+            if (existing != null) {
+                if (spark.getTitle().equals(titles[existing])) {
+                    return;
+                }
+                freeSlot(existing);
+            }
+            int slot = addSlot(spark.getId(), spark.getTitle());
+            slotsById.put(spark.getId(), slot);
+            for (long hash : deleteHashes(normalizedTitles[slot], maxDistance)) {
+                addPosting(hash, slot);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<ObjectId> removedIds) {
+        lock.writeLock().lock();
+        try {
+            for (ObjectId id : removedIds) {
+                Integer slot = slotsById.remove(id);
+                if (slot != null) {
+                    freeSlot(slot);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getTitle(ObjectId id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            return slot == null ? null : titles[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Match> search(String query, int distance, int limit) {
+        if (distance < 0 || distance > maxDistance) {
+            throw new IllegalArgumentException("Fuzzy distance must be between 0 and " + maxDistance + ".");
+        }
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = new int[16];
+            int candidateCount = 0;
+            for (long hash : deleteHashes(normalizedQuery, distance)) {
+                int keySlot = findKey(hash);
+                if (keySlot == EMPTY) {
+                    continue;
+                }
+                for (int p = heads[keySlot]; p != EMPTY; p = postingNext[p]) {
+                    if (candidateCount == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                    }
+                    candidates[candidateCount++] = postingSlots[p];
+                }
+            }
+            Arrays.sort(candidates, 0, candidateCount);
+
+            List<Match> matches = new ArrayList<>();
+            int previous = EMPTY;
+            for (int i = 0; i < candidateCount; i++) {
+                int slot = candidates[i];
+                if (slot == previous) {
+                    continue;
+                }
+                previous = slot;
+                String candidate = normalizedTitles[slot];
+                if (candidate == null) {
+                    continue;
+                }
+                int d = boundedLevenshtein(normalizedQuery, candidate, distance);
+                if (d <= distance) {
+                    matches.add(new Match(ids[slot], titles[slot], d));
+                }
+            }
+            matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::title));
+            return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String title) {
+        return title == null ? "" : title.strip().toLowerCase(Locale.ROOT);
+    }
+
+    static int boundedLevenshtein(String a, String b, int bound) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > bound) {
+            return bound + 1;
+        }
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m];
+    }
+
+    private long[] deleteHashes(String normalized, int deletes) {
+        int length = Math.min(normalized.length(), prefixLength);
+        char[] prefix = normalized.substring(0, length).toCharArray();
+        long[] hashes = new long[16];
+        int[] count = {0};
+        boolean[] deleted = new boolean[length];
+        hashes = collectDeletes(prefix, deleted, 0, deletes, hashes, count);
+        long[] result = Arrays.copyOf(hashes, count[0]);
+        Arrays.sort(result);
+        int unique = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (i == 0 || result[i] != result[i - 1]) {
+                result[unique++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, unique);
+    }
+
+    private long[] collectDeletes(char[] prefix, boolean[] deleted, int from, int remaining, long[] hashes, int[] count) {
+        if (count[0] == hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+        }
+        hashes[count[0]++] = hash(prefix, deleted);
+        if (remaining == 0) {
+            return hashes;
+        }
+        for (int i = from; i < prefix.length; i++) {
+            deleted[i] = true;
+            hashes = collectDeletes(prefix, deleted, i + 1, remaining - 1, hashes, count);
+            deleted[i] = false;
+        }
+        return hashes;
+    }
+
+    private static long hash(char[] prefix, boolean[] deleted) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < prefix.length; i++) {
+            if (!deleted[i]) {
+                h ^= prefix[i];
+                h *= FNV_PRIME;
+            }
+        }
+        return h;
+    }
+
+    private void clearTables() {
+        ids = new ObjectId[1024];
+        titles = new String[1024];
+        normalizedTitles = new String[1024];
+        slotCount = 0;
+        deadSlots = 0;
+        keys = new long[4096];
+        heads = new int[4096];
+        Arrays.fill(heads, EMPTY);
+        keyCount = 0;
+        postingSlots = new int[4096];
+        postingNext = new int[4096];
+        postingCount = 0;
+    }
+
+    private int addSlot(ObjectId id, String title) {
+        if (slotCount == ids.length) {
+            int capacity = slotCount * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            normalizedTitles = Arrays.copyOf(normalizedTitles, capacity);
+        }
+        ids[slotCount] = id;
+        titles[slotCount] = title;
+        normalizedTitles[slotCount] = normalize(title);
+        return slotCount++;
+    }
+
+    private void freeSlot(int slot) {
+        ids[slot] = null;
+        titles[slot] = null;
+        normalizedTitles[slot] = null;
+        deadSlots++;
+    }
+
+    private int findKey(long hash) {
+        int mask = keys.length - 1;
+        int i = Long.hashCode(hash * FNV_PRIME) & mask;
+        while (heads[i] != EMPTY) {
+            if (keys[i] == hash) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    private void addPosting(long hash, int slot) {
+        if ((keyCount + 1) * 4 > keys.length * 3) {
+            growKeys();
+        }
+        int mask = keys.length - 1;
+        int i = Long.hashCode(hash * FNV_PRIME) & mask;
+        while (heads[i] != EMPTY && keys[i] != hash) {
+            i = (i + 1) & mask;
+        }
+        if (heads[i] == EMPTY) {
+            keys[i] = hash;
+            keyCount++;
+        }
+        if (postingCount == postingSlots.length) {
+            postingSlots = Arrays.copyOf(postingSlots, postingCount * 2);
+            postingNext = Arrays.copyOf(postingNext, postingCount * 2);
+        }
+        postingSlots[postingCount] = slot;
+        postingNext[postingCount] = heads[i];
+        heads[i] = postingCount++;
+    }
+
+    private void growKeys() {
+        long[] oldKeys = keys;
+        int[] oldHeads = heads;
+        keys = new long[oldKeys.length * 2];
+        heads = new int[oldKeys.length * 2];
+        Arrays.fill(heads, EMPTY);
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldHeads[j] == EMPTY) {
+                continue;
+            }
+            int i = Long.hashCode(oldKeys[j] * FNV_PRIME) & mask;
+            while (heads[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            heads[i] = oldHeads[j];
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deadSlots < 1024 || deadSlots < slotCount - deadSlots) {
+            return;
+        }
+        ObjectId[] liveIds = ids;
+        String[] liveTitles = titles;
+        int liveCount = slotCount;
+        slotsById.clear();
+        clearTables();
+        for (int s = 0; s < liveCount; s++) {
+            if (liveIds[s] == null) {
+                continue;
+            }
+            int slot = addSlot(liveIds[s], liveTitles[s]);
+            slotsById.put(liveIds[s], slot);
+            for (long hash : deleteHashes(normalizedTitles[slot], maxDistance)) {
+                addPosting(hash, slot);
+            }
+        }
+    }
+}
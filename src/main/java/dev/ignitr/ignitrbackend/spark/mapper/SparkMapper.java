@@ -1,15 +1,25 @@
 package dev.ignitr.ignitrbackend.spark.mapper;
 
 import dev.ignitr.ignitrbackend.reason.mapper.ReasonMapper;
+import dev.ignitr.ignitrbackend.reason.model.Reason;
 import dev.ignitr.ignitrbackend.reason.model.ReasonType;
 import dev.ignitr.ignitrbackend.score.tree.ScoredSparkTree;
 import dev.ignitr.ignitrbackend.spark.dto.*;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJob;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJobStatus;
+import dev.ignitr.ignitrbackend.spark.service.SparkBatchItem;
+import dev.ignitr.ignitrbackend.spark.service.SparkBatchResult;
+import dev.ignitr.ignitrbackend.spark.service.SparkImportRecord;
+import dev.ignitr.ignitrbackend.spark.service.SparkImportReport;
 import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
 import org.bson.types.ObjectId;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -62,6 +72,24 @@ public class SparkMapper {
         );
     }
 
+    public static Spark toClonedEntity(Spark source, ObjectId id, ObjectId parentId, String title, Instant now) {
+        List<Reason> reasons = new ArrayList<>();
+        for (Reason reason : source.getReasons()) {
+            Reason copy = new Reason(reason.getType(), reason.getContent(), now, now);
+            copy.setVotes(reason.getVotes());
+            reasons.add(copy);
+        }
+        return new Spark(
+                id,
+                title,
+                source.getDescription(),
+                parentId,
+                reasons,
+                now,
+                now
+        );
+    }
+
     public static SparkDTO toSparkDto(Spark entity, boolean includeReasons) {
         return new SparkDTO(
                 entity.getId().toHexString(),
@@ -73,39 +101,173 @@ public class SparkMapper {
         );
     }
 
+    public static SparkExportRecordDTO toExportRecordDto(Spark entity) {
+        return new SparkExportRecordDTO(
+                entity.getId().toHexString(),
+                entity.getParentId() != null ? entity.getParentId().toHexString() : null,
+                entity.getTitle(),
+                entity.getDescription(),
+                entity.getReasons().stream().map(ReasonMapper::toDto).toList(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt()
+        );
+    }
+
+    public static SparkImportRecord toImportRecord(long line, SparkExportRecordDTO dto, Instant now) {
+        List<Reason> reasons = dto.reasons() == null
+                ? List.of()
+                : dto.reasons().stream().map(reason -> ReasonMapper.toImportedEntity(reason, now)).toList();
+        return new SparkImportRecord(
+                line,
+                dto.id(),
+                dto.parentId(),
+                dto.title(),
+                dto.description(),
+                reasons,
+                dto.createdAt(),
+                dto.updatedAt(),
+                null
+        );
+    }
+
+    public static SparkImportReportDTO toImportReportDto(SparkImportReport report) {
+        return new SparkImportReportDTO(
+                report.received(),
+                report.imported(),
+                report.failed(),
+                report.promotedToRoot(),
+                report.durationMillis(),
+                report.sparksPerSecond(),
+                report.errors().stream()
+                        .map(error -> new SparkImportErrorDTO(
+                                error.line(), error.sourceId(), error.errorCode().getCode(), error.message()))
+                        .toList()
+        );
+    }
+
+    public static SparkPurgeJob toNewPurgeJob(ObjectId rootId, Instant now) {
+        return new SparkPurgeJob(
+                null,
+                rootId,
+                SparkPurgeJobStatus.PENDING,
+                now,
+                now
+        );
+    }
+
+    public static SparkPurgeJobDTO toPurgeJobDto(SparkPurgeJob job) {
+        return new SparkPurgeJobDTO(
+                job.getId().toHexString(),
+                job.getRootId().toHexString(),
+                job.getStatus().name(),
+                job.getMarkedCount(),
+                job.getPurgedCount(),
+                job.getFailureReason(),
+                job.getCreatedAt(),
+                job.getUpdatedAt(),
+                job.getCompletedAt()
+        );
+    }
+
+    public static SparkBatchItem toBatchItem(BatchSparkItemDTO dto) {
+        return new SparkBatchItem(
+                dto.tempId(),
+                dto.parentTempId(),
+                dto.parentId(),
+                dto.title(),
+                dto.description()
+        );
+    }
+
+    public static BatchCreateSparksResponseDTO toBatchResponseDto(List<SparkBatchResult> results) {
+        List<BatchSparkResultDTO> items = new ArrayList<>(results.size());
+        int created = 0;
+        for (SparkBatchResult result : results) {
+            if (result.isCreated()) {
+                created++;
+                items.add(new BatchSparkResultDTO(result.tempId(), "CREATED", toSparkDto(result.spark(), false), null, null));
+            } else {
+                items.add(new BatchSparkResultDTO(result.tempId(), "FAILED", null, result.errorCode().getCode(), result.message()));
+            }
+        }
+        return new BatchCreateSparksResponseDTO(created, results.size() - created, items);
+    }
+
     public static SparkTree toSparkTree(Map<ObjectId, Spark> sparkMap, ObjectId rootId) {
+        return toSparkTree(sparkMap, rootId, Map.of());
+    }
+
+    /**
+     * Builds the tree from the parent links in {@code sparkMap}. Nodes with an entry in
+     * {@code scores} become {@link ScoredSparkTree}s; the rest stay unscored.
+     */
+    public static SparkTree toSparkTree(Map<ObjectId, Spark> sparkMap, ObjectId rootId, Map<ObjectId, Integer> scores) {
         Spark rootSpark = sparkMap.get(rootId);
         if (rootSpark == null) {
             return null;
         }
 
+        Map<ObjectId, List<Spark>> childrenByParent = new HashMap<>();
+        for (Spark spark : sparkMap.values()) {
+            ObjectId parentId = spark.getParentId();
+            if (parentId != null && !spark.getId().equals(rootId)) {
+                childrenByParent.computeIfAbsent(parentId, id -> new ArrayList<>()).add(spark);
+            }
+        }
+
+        SparkTree rootNode = toSparkTreeNode(rootSpark, scores.get(rootId));
+        Deque<SparkTree> stack = new ArrayDeque<>();
+        stack.push(rootNode);
+        while (!stack.isEmpty()) {
+            SparkTree node = stack.pop();
+            for (Spark child : childrenByParent.getOrDefault(node.getId(), List.of())) {
+                SparkTree childNode = toSparkTreeNode(child, scores.get(child.getId()));
+                node.getChildren().add(childNode);
+                stack.push(childNode);
+            }
+        }
+
+        return rootNode;
+    }
+
+    private static SparkTree toSparkTreeNode(Spark spark, Integer score) {
         int goodReasonsCount = 0;
         int badReasonsCount = 0;
-        for (var r : rootSpark.getReasons()) {
+        for (var r : spark.getReasons()) {
             if (r.getType() == ReasonType.GOOD) {
                 goodReasonsCount++;
             } else if (r.getType() == ReasonType.BAD) {
                 badReasonsCount++;
             }
         }
+        return score != null
+                ? ScoredSparkTree.fromSpark(spark, goodReasonsCount, badReasonsCount, new ArrayList<>(), score)
+                : SparkTree.fromSpark(spark, goodReasonsCount, badReasonsCount, new ArrayList<>());
+    }
 
-        SparkTree rootNode = SparkTree.fromSpark(rootSpark, goodReasonsCount, badReasonsCount, new ArrayList<>());
+    public static SparkTreeDTO toSparkTreeDto(SparkTree sparkTree)  {
 
-        for (Spark spark : sparkMap.values()) {
-            ObjectId parentId = spark.getParentId();
-            if (parentId != null && parentId.equals(rootId)) {
-                SparkTree childNode = toSparkTree(sparkMap, spark.getId());
-                if (childNode != null) {
-                    rootNode.getChildren().add(childNode);
-                }
+        SparkTreeDTO rootDto = toSparkTreeNodeDto(sparkTree);
+
+        Deque<SparkTree> nodes = new ArrayDeque<>();
+        Deque<SparkTreeDTO> dtos = new ArrayDeque<>();
+        nodes.push(sparkTree);
+        dtos.push(rootDto);
+        while (!nodes.isEmpty()) {
+            SparkTree node = nodes.pop();
+            SparkTreeDTO dto = dtos.pop();
+            for (SparkTree child : node.getChildren()) {
+                SparkTreeDTO childDto = toSparkTreeNodeDto(child);
+                dto.children().add(childDto);
+                nodes.push(child);
+                dtos.push(childDto);
             }
         }
 
-        return rootNode;
+        return rootDto;
     }
 
-
-    public static SparkTreeDTO toSparkTreeDto(SparkTree sparkTree)  {
+    private static SparkTreeDTO toSparkTreeNodeDto(SparkTree sparkTree) {
 
         Integer score = null;
 
@@ -113,7 +275,7 @@ public class SparkMapper {
             score = ((ScoredSparkTree) sparkTree).getScore();
         }
 
-        SparkTreeDTO dto = new SparkTreeDTO(
+        return new SparkTreeDTO(
                 sparkTree.getId().toHexString(),
                 sparkTree.getTitle(),
                 sparkTree.getDescription(),
@@ -122,13 +284,10 @@ public class SparkMapper {
                 score,
                 sparkTree.getCreatedAt(),
                 sparkTree.getUpdatedAt(),
-                new java.util.ArrayList<>()
+                sparkTree.getChildCount(),
+                sparkTree.isHasMoreChildren(),
+                sparkTree.getNextChildrenCursor(),
+                new ArrayList<>()
         );
-
-        for (SparkTree child : sparkTree.getChildren()) {
-            dto.children().add(toSparkTreeDto(child));
-        }
-
-        return dto;
     }
 }
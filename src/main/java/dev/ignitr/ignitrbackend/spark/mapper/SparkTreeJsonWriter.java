@@ -0,0 +1,186 @@
+package dev.ignitr.ignitrbackend.spark.mapper;
+
+import dev.ignitr.ignitrbackend.reason.model.Reason;
+import dev.ignitr.ignitrbackend.reason.model.ReasonType;
+import dev.ignitr.ignitrbackend.spark.dto.SparkTreeDTO;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.service.SparkChildCursor;
+import dev.ignitr.ignitrbackend.spark.tree.FlatSparkTree;
+import org.bson.types.ObjectId;
+import tools.jackson.core.JsonEncoding;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.StreamWriteConstraints;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes Spark trees as {@link SparkTreeDTO} JSON with explicit stacks instead of recursion, so
+ * arbitrarily deep chains neither overflow the request thread nor hit Jackson's default nesting
+ * limit.
+ * <p>
+ * For a {@link FlatSparkTree}, peak memory on top of the loaded Sparks is one child list per
+ * parent (one reference per Spark), one iterator per level of the current path, and the
+ * generator's fixed output buffer. No node objects or DTOs are created.
+ */
+public final class SparkTreeJsonWriter {
+
+    // Every tree level opens an object and an array.
+    private static final JsonFactory TREE_JSON_FACTORY = JsonFactory.builder()
+            .streamWriteConstraints(StreamWriteConstraints.builder().maxNestingDepth(Integer.MAX_VALUE).build())
+            .build();
+
+    private static final Comparator<Spark> CHILD_ORDER = Comparator
+            .comparing(Spark::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Spark::getId);
+
+    private SparkTreeJsonWriter() {}
+
+    public static JsonGenerator createGenerator(OutputStream out) {
+        return TREE_JSON_FACTORY.createGenerator(ObjectWriteContext.empty(), out, JsonEncoding.UTF8);
+    }
+
+    public static void write(SparkTreeDTO tree, JsonGenerator generator) {
+        Deque<Iterator<SparkTreeDTO>> path = new ArrayDeque<>();
+        openNode(tree, generator, path);
+        while (!path.isEmpty()) {
+            Iterator<SparkTreeDTO> siblings = path.peek();
+            if (siblings.hasNext()) {
+                openNode(siblings.next(), generator, path);
+            } else {
+                path.pop();
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        }
+    }
+
+    private static void openNode(SparkTreeDTO node, JsonGenerator generator, Deque<Iterator<SparkTreeDTO>> path) {
+        generator.writeStartObject();
+        generator.writeStringProperty("id", node.id());
+        generator.writeStringProperty("title", node.title());
+        generator.writeStringProperty("description", node.description());
+        generator.writeNumberProperty("goodReasonsCount", node.goodReasonsCount());
+        generator.writeNumberProperty("badReasonsCount", node.badReasonsCount());
+        writeScore(generator, node.score());
+        generator.writeStringProperty("createdAt", toIsoString(node.createdAt()));
+        generator.writeStringProperty("updatedAt", toIsoString(node.updatedAt()));
+        generator.writeNumberProperty("childCount", node.childCount());
+        generator.writeBooleanProperty("hasMoreChildren", node.hasMoreChildren());
+        generator.writeStringProperty("nextChildrenCursor", node.nextChildrenCursor());
+        generator.writeArrayPropertyStart("children");
+
+        if (node.children() == null || node.children().isEmpty()) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } else {
+            path.push(node.children().iterator());
+        }
+    }
+
+    public static void write(FlatSparkTree tree, JsonGenerator generator) {
+        Spark root = tree.sparks().get(tree.rootId());
+        if (root == null) {
+            generator.writeNull();
+            return;
+        }
+        Map<ObjectId, List<Spark>> childrenByParent = indexChildren(tree);
+
+        Deque<Iterator<Spark>> path = new ArrayDeque<>();
+        openNode(root, tree, childrenByParent, generator, path);
+        while (!path.isEmpty()) {
+            Iterator<Spark> siblings = path.peek();
+            if (siblings.hasNext()) {
+                openNode(siblings.next(), tree, childrenByParent, generator, path);
+            } else {
+                path.pop();
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        }
+    }
+
+    private static Map<ObjectId, List<Spark>> indexChildren(FlatSparkTree tree) {
+        Map<ObjectId, List<Spark>> childrenByParent = new HashMap<>();
+        for (Spark spark : tree.sparks().values()) {
+            ObjectId parentId = spark.getParentId();
+            if (parentId != null && !spark.getId().equals(tree.rootId()) && tree.sparks().containsKey(parentId)) {
+                childrenByParent.computeIfAbsent(parentId, id -> new ArrayList<>()).add(spark);
+            }
+        }
+        for (List<Spark> children : childrenByParent.values()) {
+            children.sort(CHILD_ORDER);
+        }
+        return childrenByParent;
+    }
+
+    /**
+     * Writes every property of {@code spark} and opens its {@code children} array. Leaves are
+     * closed right away; otherwise the children are pushed onto {@code path} and the caller
+     * closes the node once they are written.
+     */
+    private static void openNode(Spark spark, FlatSparkTree tree, Map<ObjectId, List<Spark>> childrenByParent,
+                                 JsonGenerator generator, Deque<Iterator<Spark>> path) {
+        List<Spark> children = childrenByParent.getOrDefault(spark.getId(), List.of());
+        int childCount = tree.truncatedChildCounts().getOrDefault(spark.getId(), children.size());
+        boolean hasMoreChildren = childCount > children.size();
+        Integer score = tree.scores().get(spark.getId());
+
+        int goodReasonsCount = 0;
+        int badReasonsCount = 0;
+        if (spark.getReasons() != null) {
+            for (Reason reason : spark.getReasons()) {
+                if (reason.getType() == ReasonType.GOOD) {
+                    goodReasonsCount++;
+                } else if (reason.getType() == ReasonType.BAD) {
+                    badReasonsCount++;
+                }
+            }
+        }
+
+        generator.writeStartObject();
+        generator.writeStringProperty("id", spark.getId().toHexString());
+        generator.writeStringProperty("title", spark.getTitle());
+        generator.writeStringProperty("description", spark.getDescription());
+        generator.writeNumberProperty("goodReasonsCount", goodReasonsCount);
+        generator.writeNumberProperty("badReasonsCount", badReasonsCount);
+        writeScore(generator, score);
+        generator.writeStringProperty("createdAt", toIsoString(spark.getCreatedAt()));
+        generator.writeStringProperty("updatedAt", toIsoString(spark.getUpdatedAt()));
+        generator.writeNumberProperty("childCount", childCount);
+        generator.writeBooleanProperty("hasMoreChildren", hasMoreChildren);
+        generator.writeStringProperty("nextChildrenCursor", hasMoreChildren && !children.isEmpty()
+                ? SparkChildCursor.after(children.get(children.size() - 1)).encode()
+                : null);
+        generator.writeArrayPropertyStart("children");
+
+        if (children.isEmpty()) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } else {
+            path.push(children.iterator());
+        }
+    }
+
+    private static void writeScore(JsonGenerator generator, Integer score) {
+        if (score != null) {
+            generator.writeNumberProperty("score", score);
+        } else {
+            generator.writeNullProperty("score");
+        }
+    }
+
+    private static String toIsoString(Instant instant) {
+        return instant != null ? instant.toString() : null;
+    }
+}
@@ -5,8 +5,12 @@ import lombok.Getter;
 import lombok.Setter;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -15,14 +19,20 @@ import java.util.List;
 @Getter
 @Setter
 @Document(collection = "sparks")
+@CompoundIndexes({
+        @CompoundIndex(name = "purge_job_depth", def = "{ 'purgeJobId' : 1, 'purgeDepth' : 1, '_id' : 1 }"),
+        @CompoundIndex(name = "parent_created", def = "{ 'parentId' : 1, 'createdAt' : 1, '_id' : 1 }")
+})
 public class Spark {
 
     @Id
     private ObjectId id;
 
     @Indexed(unique = true)
+    @TextIndexed(weight = 3)
     private String title;
 
+    @TextIndexed
     private String description;
 
     private ObjectId parentId;
@@ -31,8 +41,19 @@ public class Spark {
 
     private Instant createdAt;
 
+    @Indexed
     private Instant updatedAt;
 
+    @Indexed(name = "tombstones", partialFilter = "{ 'deletedAt' : { '$exists' : true } }")
+    private Instant deletedAt;
+
+    @TextScore
+    private Float textScore;
+
+    private ObjectId purgeJobId;
+
+    private Integer purgeDepth;
+
     public Spark() {}
 
     public Spark(ObjectId id, String title, String description, ObjectId parentId, List<Reason> reasons, Instant createdAt, Instant updatedAt) {
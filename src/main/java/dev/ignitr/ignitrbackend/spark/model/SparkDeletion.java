@@ -0,0 +1,38 @@
+package dev.ignitr.ignitrbackend.spark.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Record of a physically deleted Spark, kept so that an index warm start can drop entries that
+ * were hard-deleted after its snapshot. Entries expire after {@link #RETENTION}.
+ */
+@Getter
+@Setter
+@Document(collection = "spark_deletions")
+public class SparkDeletion {
+
+    public static final Duration RETENTION = Duration.ofDays(7);
+
+    @Id
+    private ObjectId id;
+
+    private ObjectId sparkId;
+
+    @Indexed(expireAfter = "7d")
+    private Instant deletedAt;
+
+    public SparkDeletion() {}
+
+    public SparkDeletion(ObjectId sparkId, Instant deletedAt) {
+        this.sparkId = sparkId;
+        this.deletedAt = deletedAt;
+    }
+}
@@ -0,0 +1,48 @@
+package dev.ignitr.ignitrbackend.spark.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Document(collection = "spark_purge_jobs")
+public class SparkPurgeJob {
+
+    @Id
+    private ObjectId id;
+
+    private ObjectId rootId;
+
+    @Indexed
+    private SparkPurgeJobStatus status;
+
+    private int depth;
+
+    private long markedCount;
+
+    private long purgedCount;
+
+    private String failureReason;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    private Instant completedAt;
+
+    public SparkPurgeJob() {}
+
+    public SparkPurgeJob(ObjectId id, ObjectId rootId, SparkPurgeJobStatus status, Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.rootId = rootId;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
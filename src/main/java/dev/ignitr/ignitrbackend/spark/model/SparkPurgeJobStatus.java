@@ -0,0 +1,9 @@
+package dev.ignitr.ignitrbackend.spark.model;
+
+public enum SparkPurgeJobStatus {
+    PENDING,
+    MARKING,
+    PURGING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,20 @@
+package dev.ignitr.ignitrbackend.spark.repository;
+
+import dev.ignitr.ignitrbackend.spark.model.SparkDeletion;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface SparkDeletionRepository extends MongoRepository<SparkDeletion, ObjectId> {
+
+    @Query(value = "{ 'deletedAt' : { '$gte' : ?0 } }", fields = "{ 'sparkId' : 1 }")
+    Stream<SparkDeletion> streamDeletedSince(Instant since);
+
+    default void recordAll(Collection<ObjectId> sparkIds, Instant deletedAt) {
+        insert(sparkIds.stream().map(sparkId -> new SparkDeletion(sparkId, deletedAt)).toList());
+    }
+}
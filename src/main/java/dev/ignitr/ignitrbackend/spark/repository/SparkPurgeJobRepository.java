@@ -0,0 +1,14 @@
+package dev.ignitr.ignitrbackend.spark.repository;
+
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJob;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJobStatus;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SparkPurgeJobRepository extends MongoRepository<SparkPurgeJob, ObjectId> {
+
+    List<SparkPurgeJob> findByStatusIn(Collection<SparkPurgeJobStatus> statuses);
+}
@@ -1,26 +1,103 @@
 package dev.ignitr.ignitrbackend.spark.repository;
 
+import dev.ignitr.ignitrbackend.reason.model.Reason;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
 import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface SparkRepository extends MongoRepository<Spark, ObjectId> {
+public interface SparkRepository extends MongoRepository<Spark, ObjectId>, SparkRepositoryCustom {
 
     boolean existsByTitle(String title);
 
-    List<Spark> findByParentId(ObjectId parentId);
+    Optional<Spark> findByIdAndDeletedAtIsNull(ObjectId id);
 
-    Page<Spark> findByParentId(ObjectId parentId, Pageable pageable);
+    List<Spark> findByParentIdAndDeletedAtIsNull(ObjectId parentId);
 
-    Page<Spark> findByParentIdIsNull(Pageable pageable);
+    long countByParentIdAndDeletedAtIsNull(ObjectId parentId);
 
-    Page<Spark> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    List<Spark> findByParentIdInAndDeletedAtIsNull(Collection<ObjectId> parentIds);
 
-    Page<Spark> findByParentIdAndTitleContainingIgnoreCase(ObjectId parentId, String title, Pageable pageable);
+    List<Spark> findByIdInAndDeletedAtIsNull(Collection<ObjectId> ids);
 
-    Page<Spark> findByParentIdIsNullAndTitleContainingIgnoreCase(String title, Pageable pageable);
-}
\ No newline at end of file
+    @Query(value = "{ '_id' : { '$in' : ?0 }, 'deletedAt' : null }", fields = "{ '_id' : 1 }")
+    List<Spark> findLiveIdsIn(Collection<ObjectId> ids);
+
+    @Query(value = "{ '_id' : { '$in' : ?0 }, 'deletedAt' : null }", fields = "{ 'parentId' : 1 }")
+    List<Spark> findLiveParentIdsIn(Collection<ObjectId> ids);
+
+    @Query(value = "{ 'title' : { '$in' : ?0 } }", fields = "{ 'title' : 1 }")
+    List<Spark> findTitlesIn(Collection<String> titles);
+
+    Page<Spark> findByDeletedAtIsNull(Pageable pageable);
+
+    Page<Spark> findByParentIdAndDeletedAtIsNull(ObjectId parentId, Pageable pageable);
+
+    Page<Spark> findByParentIdIsNullAndDeletedAtIsNull(Pageable pageable);
+
+    Page<Spark> findByTitleContainingIgnoreCaseAndDeletedAtIsNull(String title, Pageable pageable);
+
+    Page<Spark> findByParentIdAndTitleContainingIgnoreCaseAndDeletedAtIsNull(ObjectId parentId, String title, Pageable pageable);
+
+    Page<Spark> findByParentIdIsNullAndTitleContainingIgnoreCaseAndDeletedAtIsNull(String title, Pageable pageable);
+
+    Page<Spark> findByDeletedAtIsNull(TextCriteria criteria, Pageable pageable);
+
+    Page<Spark> findByParentIdAndDeletedAtIsNull(ObjectId parentId, TextCriteria criteria, Pageable pageable);
+
+    Page<Spark> findByParentIdIsNullAndDeletedAtIsNull(TextCriteria criteria, Pageable pageable);
+
+    @Query(value = "{ 'deletedAt' : null }", fields = "{ 'title' : 1, 'parentId' : 1, 'createdAt' : 1 }")
+    Stream<Spark> streamAllSkeletons();
+
+    @Query(value = "{ 'updatedAt' : { '$gte' : ?0 } }", fields = "{ 'title' : 1, 'parentId' : 1, 'createdAt' : 1, 'deletedAt' : 1 }")
+    Stream<Spark> streamSkeletonsUpdatedSince(Instant since);
+
+    @Query("{ 'parentId' : ?0, 'deletedAt' : null }")
+    @Update("{ '$set' : { 'parentId' : ?1, 'updatedAt' : ?2 } }")
+    long updateParentIdByParentId(ObjectId parentId, ObjectId newParentId, Instant updatedAt);
+
+    @Query("{ 'parentId' : { '$in' : ?0 }, 'deletedAt' : null }")
+    @Update("{ '$set' : { 'parentId' : null, 'updatedAt' : ?1 } }")
+    long clearParentIdByParentIdIn(Collection<ObjectId> parentIds, Instant updatedAt);
+
+    @Query(value = "{ '_id' : ?0, 'deletedAt' : null }", fields = "{ 'parentId' : 1 }")
+    Optional<Spark> findParentRefById(ObjectId id);
+
+    @Query("{ '_id' : ?0, 'deletedAt' : null }")
+    @Update("{ '$set' : { 'parentId' : ?1, 'updatedAt' : ?2 } }")
+    long updateParentIdById(ObjectId id, ObjectId newParentId, Instant updatedAt);
+
+    @Query("{ '_id' : ?0, 'updatedAt' : ?1, 'deletedAt' : null }")
+    @Update("{ '$push' : { 'reasons' : { '$each' : ?2 } }, '$set' : { 'updatedAt' : ?3 } }")
+    long pushReasons(ObjectId id, Instant expectedUpdatedAt, List<Reason> reasons, Instant updatedAt);
+
+    @Query("{ '_id' : { '$in' : ?0 }, 'deletedAt' : null }")
+    @Update("{ '$set' : { 'deletedAt' : ?1, 'updatedAt' : ?1 } }")
+    long markDeletedByIdIn(Collection<ObjectId> ids, Instant deletedAt);
+
+    @Query(value = "{ 'deletedAt' : { '$lte' : ?0 } }", fields = "{ '_id' : 1 }")
+    List<Spark> findTombstoneIds(Instant deletedBefore, Pageable pageable);
+
+    @Query("{ 'parentId' : { '$in' : ?0 }, 'purgeJobId' : { '$ne' : ?1 } }")
+    @Update("{ '$set' : { 'purgeJobId' : ?1, 'purgeDepth' : ?2 } }")
+    long markForPurgeByParentIdIn(Collection<ObjectId> parentIds, ObjectId purgeJobId, int purgeDepth);
+
+    @Query(value = "{ 'purgeJobId' : ?0, 'purgeDepth' : ?1, '_id' : { '$gt' : ?2 } }", fields = "{ '_id' : 1 }", sort = "{ '_id' : 1 }")
+    List<Spark> findPurgeBatch(ObjectId purgeJobId, int purgeDepth, ObjectId afterId, Pageable pageable);
+
+    boolean existsByPurgeJobIdAndPurgeDepth(ObjectId purgeJobId, int purgeDepth);
+
+    @Query(value = "{ 'purgeJobId' : ?0 }", fields = "{ '_id' : 1 }")
+    List<Spark> findIdsByPurgeJobId(ObjectId purgeJobId, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package dev.ignitr.ignitrbackend.spark.repository;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface SparkRepositoryCustom {
+
+    int insertAllUnordered(List<Spark> sparks);
+
+    Stream<Spark> streamLive(int batchSize);
+
+    Stream<Spark> streamLiveRoots(int batchSize);
+
+    Stream<Spark> streamLiveByParentIdIn(Collection<ObjectId> parentIds, int batchSize);
+
+    List<Spark> findLiveChildrenAfter(ObjectId parentId, Instant afterCreatedAt, ObjectId afterId, int limit);
+}
@@ -0,0 +1,73 @@
+package dev.ignitr.ignitrbackend.spark.repository;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class SparkRepositoryCustomImpl implements SparkRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public SparkRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public int insertAllUnordered(List<Spark> sparks) {
+        if (sparks.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Spark.class)
+                .insert(sparks)
+                .execute()
+                .getInsertedCount();
+    }
+
+    @Override
+    public Stream<Spark> streamLive(int batchSize) {
+        Query query = Query.query(Criteria.where("deletedAt").is(null))
+                .with(Sort.by("_id"));
+        return stream(query, batchSize);
+    }
+
+    @Override
+    public Stream<Spark> streamLiveRoots(int batchSize) {
+        Query query = Query.query(Criteria.where("parentId").is(null).and("deletedAt").is(null));
+        return stream(query, batchSize);
+    }
+
+    @Override
+    public Stream<Spark> streamLiveByParentIdIn(Collection<ObjectId> parentIds, int batchSize) {
+        Query query = Query.query(Criteria.where("parentId").in(parentIds).and("deletedAt").is(null));
+        return stream(query, batchSize);
+    }
+
+    @Override
+    public List<Spark> findLiveChildrenAfter(ObjectId parentId, Instant afterCreatedAt, ObjectId afterId, int limit) {
+        Criteria criteria = Criteria.where("parentId").is(parentId).and("deletedAt").is(null);
+        if (afterCreatedAt != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").gt(afterCreatedAt),
+                    Criteria.where("createdAt").is(afterCreatedAt).and("_id").gt(afterId)
+            );
+        }
+        // Served by the { parentId, createdAt, _id } index without an in-memory sort.
+        Query query = Query.query(criteria)
+                .with(Sort.by("createdAt", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Spark.class);
+    }
+
+    private Stream<Spark> stream(Query query, int batchSize) {
+        return mongoTemplate.stream(query.cursorBatchSize(batchSize), Spark.class);
+    }
+}
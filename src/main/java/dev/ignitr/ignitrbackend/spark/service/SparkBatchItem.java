@@ -0,0 +1,9 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+public record SparkBatchItem(
+        String tempId,
+        String parentTempId,
+        String parentId,
+        String title,
+        String description
+) {}
@@ -0,0 +1,16 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.common.error.ApiErrorCode;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+
+public record SparkBatchResult(
+        String tempId,
+        Spark spark,
+        ApiErrorCode errorCode,
+        String message
+) {
+
+    public boolean isCreated() {
+        return spark != null;
+    }
+}
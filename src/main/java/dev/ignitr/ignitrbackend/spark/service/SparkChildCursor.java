@@ -0,0 +1,44 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position in the children of a Spark, ordered by {@code (createdAt, _id)}. Encoded as an opaque
+ * URL-safe string for clients.
+ */
+public record SparkChildCursor(
+        Instant createdAt,
+        ObjectId id
+) {
+
+    public SparkChildCursor {
+        // Mongo keeps millisecond precision; legacy Sparks without createdAt sort as the epoch.
+        createdAt = createdAt != null ? createdAt.truncatedTo(ChronoUnit.MILLIS) : Instant.EPOCH;
+    }
+
+    public static SparkChildCursor after(Spark spark) {
+        return new SparkChildCursor(spark.getCreatedAt(), spark.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + ":" + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SparkChildCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            Instant createdAt = Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator)));
+            return new SparkChildCursor(createdAt, new ObjectId(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid children cursor: '" + value + "'.");
+        }
+    }
+}
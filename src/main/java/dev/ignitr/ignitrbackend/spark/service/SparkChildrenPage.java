@@ -0,0 +1,10 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+
+import java.util.List;
+
+public record SparkChildrenPage(
+        List<Spark> children,
+        SparkChildCursor nextCursor
+) {}
@@ -0,0 +1,43 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Naming and sizing rules for subtree clones. The first attempt uses {@code titlePattern},
+ * later attempts use {@code numberedTitlePattern} with the attempt number.
+ */
+@Getter
+@Component
+public class SparkClonePolicy {
+
+    private final String titlePattern;
+    private final String numberedTitlePattern;
+    private final int batchSize;
+    private final int maxNodes;
+
+    public SparkClonePolicy(
+            @Value("${ignitr.spark.clone.title-pattern:%s (copy)}") String titlePattern,
+            @Value("${ignitr.spark.clone.numbered-title-pattern:%s (copy %d)}") String numberedTitlePattern,
+            @Value("${ignitr.spark.clone.batch-size:1000}") int batchSize,
+            @Value("${ignitr.spark.clone.max-nodes:50000}") int maxNodes
+    ) {
+        if (!titlePattern.contains("%s") || !numberedTitlePattern.contains("%s") || !numberedTitlePattern.contains("%d")) {
+            throw new IllegalArgumentException("Clone title patterns must contain %s, the numbered one also %d.");
+        }
+        if (batchSize <= 0 || maxNodes <= 0) {
+            throw new IllegalArgumentException("Clone batch size and max nodes must be positive.");
+        }
+        this.titlePattern = titlePattern;
+        this.numberedTitlePattern = numberedTitlePattern;
+        this.batchSize = batchSize;
+        this.maxNodes = maxNodes;
+    }
+
+    public String title(String sourceTitle, int attempt) {
+        return attempt <= 1
+                ? titlePattern.formatted(sourceTitle)
+                : numberedTitlePattern.formatted(sourceTitle, attempt);
+    }
+}
@@ -5,7 +5,8 @@ import lombok.Getter;
 @Getter
 public enum SparkDeleteMode {
     CASCADE("cascade"),
-    PROMOTE("promote");
+    PROMOTE("promote"),
+    SOFT("soft");
 
     private final String mode;
 
@@ -19,6 +20,6 @@ public enum SparkDeleteMode {
                 return deleteMode;
             }
         }
-        throw new IllegalArgumentException("Unknown spark delete mode: '" + value + "'. Valid values are: 'cascade', 'promote'");
+        throw new IllegalArgumentException("Unknown spark delete mode: '" + value + "'. Valid values are: 'cascade', 'promote', 'soft'");
     }
 }
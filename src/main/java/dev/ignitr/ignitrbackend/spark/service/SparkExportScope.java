@@ -0,0 +1,25 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import lombok.Getter;
+
+@Getter
+public enum SparkExportScope {
+    ALL("all"),
+    ROOTS("roots"),
+    SUBTREE("subtree");
+
+    private final String scope;
+
+    SparkExportScope(String scope) {
+        this.scope = scope;
+    }
+
+    public static SparkExportScope fromValue(String value) {
+        for (SparkExportScope exportScope : SparkExportScope.values()) {
+            if (exportScope.scope.equalsIgnoreCase(value)) {
+                return exportScope;
+            }
+        }
+        throw new IllegalArgumentException("Unknown spark export scope: '" + value + "'. Valid values are: 'all', 'roots', 'subtree'");
+    }
+}
@@ -0,0 +1,11 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+
+import java.util.function.Consumer;
+
+public interface SparkExportService {
+
+    long exportSparks(SparkExportScope scope, ObjectId rootId, Consumer<Spark> sink);
+}
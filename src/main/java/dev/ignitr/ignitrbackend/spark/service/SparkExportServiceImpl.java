@@ -0,0 +1,100 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams live Sparks to a sink straight from MongoDB cursors.
+ * <p>
+ * Documents are fetched {@code batchSize} at a time and handed to the sink one by one, so a
+ * slow consumer holds the cursor back instead of buffering the collection. Subtree exports walk
+ * the tree level by level and only keep the ids of the current level in memory.
+ */
+@Service
+public class SparkExportServiceImpl implements SparkExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkExportServiceImpl.class);
+
+    private static final int IN_QUERY_CHUNK = 1000;
+
+    private final SparkRepository sparkRepository;
+    private final int batchSize;
+
+    public SparkExportServiceImpl(
+            SparkRepository sparkRepository,
+            @Value("${ignitr.spark.export.batch-size:500}") int batchSize
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Export batch size must be positive.");
+        }
+        this.sparkRepository = sparkRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public long exportSparks(SparkExportScope scope, ObjectId rootId, Consumer<Spark> sink) {
+
+        LoggingUtils.debug(logger, "exportSparks", rootId,
+                "Exporting Sparks with scope {}...", scope);
+
+        long start = System.nanoTime();
+        long exported = switch (scope) {
+            case ALL -> drain(sparkRepository.streamLive(batchSize), sink, null);
+            case ROOTS -> drain(sparkRepository.streamLiveRoots(batchSize), sink, null);
+            case SUBTREE -> exportSubtree(rootId, sink);
+        };
+
+        LoggingUtils.info(logger, "exportSparks", rootId,
+                "Exported {} Sparks with scope {} in {} ms.",
+                exported, scope, (System.nanoTime() - start) / 1_000_000);
+
+        return exported;
+    }
+
+    private long exportSubtree(ObjectId rootId, Consumer<Spark> sink) {
+        Spark root = sparkRepository.findByIdAndDeletedAtIsNull(rootId).orElseThrow(() -> {
+            SparkNotFoundException exception = new SparkNotFoundException(rootId);
+            LoggingUtils.warn(logger, "exportSparks", rootId, "Spark not found.", exception);
+            return exception;
+        });
+        sink.accept(root);
+        long exported = 1;
+
+        List<ObjectId> frontier = List.of(root.getId());
+        while (!frontier.isEmpty()) {
+            List<ObjectId> nextFrontier = new ArrayList<>();
+            for (int from = 0; from < frontier.size(); from += IN_QUERY_CHUNK) {
+                List<ObjectId> chunk = frontier.subList(from, Math.min(from + IN_QUERY_CHUNK, frontier.size()));
+                exported += drain(sparkRepository.streamLiveByParentIdIn(chunk, batchSize), sink, nextFrontier);
+            }
+            frontier = nextFrontier;
+        }
+        return exported;
+    }
+
+    private static long drain(Stream<Spark> sparks, Consumer<Spark> sink, List<ObjectId> visitedIds) {
+        long count = 0;
+        try (sparks) {
+            for (Spark spark : (Iterable<Spark>) sparks::iterator) {
+                sink.accept(spark);
+                if (visitedIds != null) {
+                    visitedIds.add(spark.getId());
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,10 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.common.error.ApiErrorCode;
+
+public record SparkImportError(
+        long line,
+        String sourceId,
+        ApiErrorCode errorCode,
+        String message
+) {}
@@ -0,0 +1,27 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.reason.model.Reason;
+
+import java.time.Instant;
+import java.util.List;
+
+public record SparkImportRecord(
+        long line,
+        String sourceId,
+        String sourceParentId,
+        String title,
+        String description,
+        List<Reason> reasons,
+        Instant createdAt,
+        Instant updatedAt,
+        String error
+) {
+
+    public static SparkImportRecord invalid(long line, String error) {
+        return new SparkImportRecord(line, null, null, null, null, List.of(), null, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,17 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import java.util.List;
+
+public record SparkImportReport(
+        long received,
+        long imported,
+        long failed,
+        long promotedToRoot,
+        long durationMillis,
+        List<SparkImportError> errors
+) {
+
+    public double sparksPerSecond() {
+        return durationMillis == 0 ? imported : imported * 1000.0 / durationMillis;
+    }
+}
@@ -0,0 +1,8 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import java.util.stream.Stream;
+
+public interface SparkImportService {
+
+    SparkImportReport importSparks(Stream<SparkImportRecord> records);
+}
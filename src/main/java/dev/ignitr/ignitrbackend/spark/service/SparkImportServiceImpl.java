@@ -0,0 +1,280 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import dev.ignitr.ignitrbackend.common.error.ApiErrorCode;
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.spark.exception.SparkAlreadyExistsException;
+import dev.ignitr.ignitrbackend.spark.index.SparkIndex;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Imports Sparks from a stream of export records in unordered bulk inserts.
+ * <p>
+ * Every source id gets a fresh target id the first time it is seen, either as a record or as a
+ * parent reference, so children can be inserted before their parent arrives. Only the id remap
+ * table, the set of imported source ids and the imported parent links grow with the input;
+ * documents are held for one batch at a time. A repeated source id is rejected before it reaches
+ * the database, so every duplicate key error from a bulk insert is a title conflict.
+ * <p>
+ * Children whose parent never made it into the database are promoted to the top level once the
+ * stream ends, and so is one Spark of every parent cycle in the input, since cycles can only be
+ * seen once all records are in. Imported Sparks are stamped with the import time as
+ * {@code updatedAt}, so index warm starts replay them like any other write.
+ */
+@Service
+public class SparkImportServiceImpl implements SparkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkImportServiceImpl.class);
+
+    private static final int IN_QUERY_CHUNK = 1000;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+    private static final int MAX_TITLE_LENGTH = 100;
+    private static final int MAX_DESCRIPTION_LENGTH = 1500;
+
+    private final SparkRepository sparkRepository;
+    private final List<SparkIndex> sparkIndexes;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public SparkImportServiceImpl(
+            SparkRepository sparkRepository,
+            List<SparkIndex> sparkIndexes,
+            @Value("${ignitr.spark.import.batch-size:1000}") int batchSize,
+            @Value("${ignitr.spark.import.max-reported-errors:100}") int maxReportedErrors
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Import batch size must be positive.");
+        }
+        this.sparkRepository = sparkRepository;
+        this.sparkIndexes = sparkIndexes;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public SparkImportReport importSparks(Stream<SparkImportRecord> records) {
+
+        LoggingUtils.debug(logger, "importSparks", null,
+                "Importing Sparks in batches of {}...", batchSize);
+
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun();
+        try (records) {
+            records.forEachOrdered(run::accept);
+        }
+        run.flush();
+        long promoted = promoteOrphans(run.referencedParents) + breakCycles(run.importedParents);
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        SparkImportReport report = new SparkImportReport(
+                run.received, run.imported, run.failed, promoted, durationMillis, List.copyOf(run.errors));
+
+        LoggingUtils.info(logger, "importSparks", null,
+                "Imported {} of {} Sparks in {} ms ({} per second), {} failed, {} promoted to top level.",
+                report.imported(), report.received(), durationMillis,
+                Math.round(report.sparksPerSecond()), report.failed(), promoted);
+
+        return report;
+    }
+
+    private long promoteOrphans(Set<ObjectId> referencedParents) {
+        if (referencedParents.isEmpty()) {
+            return 0;
+        }
+        List<ObjectId> parents = new ArrayList<>(referencedParents);
+        List<ObjectId> missing = new ArrayList<>();
+        for (int from = 0; from < parents.size(); from += IN_QUERY_CHUNK) {
+            List<ObjectId> chunk = parents.subList(from, Math.min(from + IN_QUERY_CHUNK, parents.size()));
+            Set<ObjectId> live = new HashSet<>();
+            sparkRepository.findLiveIdsIn(chunk).forEach(spark -> live.add(spark.getId()));
+            chunk.stream().filter(id -> !live.contains(id)).forEach(missing::add);
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        long promoted = 0;
+        for (int from = 0; from < missing.size(); from += IN_QUERY_CHUNK) {
+            promoted += sparkRepository.clearParentIdByParentIdIn(
+                    missing.subList(from, Math.min(from + IN_QUERY_CHUNK, missing.size())), now);
+        }
+        for (ObjectId parentId : missing) {
+            for (SparkIndex index : sparkIndexes) {
+                index.moveChildren(parentId, null);
+            }
+        }
+        LoggingUtils.warn(logger, "importSparks", null,
+                "{} imported Sparks referenced {} parents that were not imported, moved them to the top level.",
+                promoted, missing.size());
+        return promoted;
+    }
+
+    private long breakCycles(Map<ObjectId, ObjectId> importedParents) {
+        List<ObjectId> detached = findCycleEdges(importedParents);
+        if (detached.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        long promoted = 0;
+        for (ObjectId id : detached) {
+            if (sparkRepository.updateParentIdById(id, null, now) == 0) {
+                continue;
+            }
+            promoted++;
+            sparkRepository.findByIdAndDeletedAtIsNull(id).ifPresent(spark -> {
+                for (SparkIndex index : sparkIndexes) {
+                    index.put(spark);
+                }
+            });
+        }
+        LoggingUtils.warn(logger, "importSparks", null,
+                "Import contained {} parent cycles, moved one Spark of each to the top level.", detached.size());
+        return promoted;
+    }
+
+    /**
+     * Walks every imported parent chain once and returns, for each cycle, the Spark whose parent
+     * reference closes it.
+     */
+    private static List<ObjectId> findCycleEdges(Map<ObjectId, ObjectId> parents) {
+        List<ObjectId> cycleEdges = new ArrayList<>();
+        Set<ObjectId> done = new HashSet<>();
+        Set<ObjectId> onPath = new HashSet<>();
+        List<ObjectId> path = new ArrayList<>();
+        for (ObjectId start : parents.keySet()) {
+            ObjectId current = start;
+            while (current != null && !done.contains(current) && onPath.add(current)) {
+                path.add(current);
+                current = parents.get(current);
+            }
+            if (current != null && onPath.contains(current)) {
+                cycleEdges.add(path.getLast());
+            }
+            done.addAll(path);
+            onPath.clear();
+            path.clear();
+        }
+        return cycleEdges;
+    }
+
+    private final class ImportRun {
+
+        private final Map<String, ObjectId> remap = new HashMap<>();
+        private final Set<String> importedSourceIds = new HashSet<>();
+        private final Set<ObjectId> referencedParents = new HashSet<>();
+        private final Map<ObjectId, ObjectId> importedParents = new HashMap<>();
+        private final List<Spark> batch = new ArrayList<>(batchSize);
+        private final List<SparkImportRecord> batchRecords = new ArrayList<>(batchSize);
+        private final List<SparkImportError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        private void accept(SparkImportRecord record) {
+            received++;
+            String error = validate(record);
+            if (error != null) {
+                fail(record, ApiErrorCode.VALIDATION_ERROR, error);
+                return;
+            }
+            if (record.sourceId() != null && !importedSourceIds.add(record.sourceId())) {
+                fail(record, ApiErrorCode.DUPLICATE_KEY, "Duplicate id '" + record.sourceId() + "' in import.");
+                return;
+            }
+
+            ObjectId id = record.sourceId() != null
+                    ? remap.computeIfAbsent(record.sourceId(), sourceId -> new ObjectId())
+                    : new ObjectId();
+            ObjectId parentId = null;
+            if (record.sourceParentId() != null) {
+                parentId = remap.computeIfAbsent(record.sourceParentId(), sourceId -> new ObjectId());
+                referencedParents.add(parentId);
+            }
+
+            Instant createdAt = record.createdAt() != null ? record.createdAt() : Instant.now();
+            batch.add(new Spark(id, record.title(), record.description(), parentId,
+                    new ArrayList<>(record.reasons()), createdAt, Instant.now()));
+            batchRecords.add(record);
+
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        private String validate(SparkImportRecord record) {
+            if (!record.isValid()) {
+                return record.error();
+            }
+            if (record.title() == null || record.title().isBlank()) {
+                return "title must not be blank";
+            }
+            if (record.title().length() > MAX_TITLE_LENGTH) {
+                return "title must be at most " + MAX_TITLE_LENGTH + " characters";
+            }
+            if (record.description() != null && record.description().length() > MAX_DESCRIPTION_LENGTH) {
+                return "description must be at most " + MAX_DESCRIPTION_LENGTH + " characters";
+            }
+            if (record.sourceId() != null && record.sourceId().equals(record.sourceParentId())) {
+                return "a spark cannot be its own parent";
+            }
+            return null;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Set<Integer> rejected = new HashSet<>();
+            try {
+                sparkRepository.insertAllUnordered(batch);
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    rejected.add(error.getIndex());
+                    SparkImportRecord record = batchRecords.get(error.getIndex());
+                    if (error.getCode() != DUPLICATE_KEY_ERROR) {
+                        fail(record, ApiErrorCode.INTERNAL_ERROR, error.getMessage());
+                    } else {
+                        fail(record, ApiErrorCode.SPARK_ALREADY_EXISTS,
+                                new SparkAlreadyExistsException(record.title()).getMessage());
+                    }
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (!rejected.contains(i)) {
+                    Spark spark = batch.get(i);
+                    if (spark.getParentId() != null) {
+                        importedParents.put(spark.getId(), spark.getParentId());
+                    }
+                    for (SparkIndex index : sparkIndexes) {
+                        index.put(spark);
+                    }
+                }
+            }
+            imported += batch.size() - rejected.size();
+
+            LoggingUtils.debug(logger, "importSparks", null,
+                    "Inserted batch of {} Sparks, {} rejected.", batch.size(), rejected.size());
+
+            batch.clear();
+            batchRecords.clear();
+        }
+
+        private void fail(SparkImportRecord record, ApiErrorCode errorCode, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new SparkImportError(record.line(), record.sourceId(), errorCode, message));
+            }
+        }
+    }
+}
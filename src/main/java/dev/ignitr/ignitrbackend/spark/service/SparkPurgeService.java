@@ -0,0 +1,13 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
+import dev.ignitr.ignitrbackend.spark.exception.SparkPurgeJobNotFoundException;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJob;
+import org.bson.types.ObjectId;
+
+public interface SparkPurgeService {
+
+    SparkPurgeJob startCascadePurge(ObjectId rootId) throws SparkNotFoundException;
+
+    SparkPurgeJob getPurgeJob(ObjectId jobId) throws SparkPurgeJobNotFoundException;
+}
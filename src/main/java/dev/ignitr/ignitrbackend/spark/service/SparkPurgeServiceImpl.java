@@ -0,0 +1,277 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
+import dev.ignitr.ignitrbackend.spark.exception.SparkPurgeJobNotFoundException;
+import dev.ignitr.ignitrbackend.spark.index.SparkIndex;
+import dev.ignitr.ignitrbackend.spark.mapper.SparkMapper;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJob;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJobStatus;
+import dev.ignitr.ignitrbackend.spark.repository.SparkDeletionRepository;
+import dev.ignitr.ignitrbackend.spark.repository.SparkPurgeJobRepository;
+import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs cascade deletes of large subtrees in the background.
+ * <p>
+ * The root is deleted up front. Descendants are then tagged level by level with the job id
+ * and their depth (mark phase), and removed in bounded batches (sweep phase). Progress is
+ * stored on the job document, so an interrupted job resumes from its last completed level
+ * or batch on the next startup. A pending job whose root is not yet deleted deletes it before
+ * marking, and a job stopped by shutdown keeps its status so it is picked up again.
+ */
+@Service
+public class SparkPurgeServiceImpl implements SparkPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkPurgeServiceImpl.class);
+
+    private static final ObjectId MIN_ID = new ObjectId("000000000000000000000000");
+    private static final EnumSet<SparkPurgeJobStatus> UNFINISHED =
+            EnumSet.of(SparkPurgeJobStatus.PENDING, SparkPurgeJobStatus.MARKING, SparkPurgeJobStatus.PURGING);
+
+    private final SparkService sparkService;
+    private final SparkRepository sparkRepository;
+    private final SparkPurgeJobRepository purgeJobRepository;
+    private final SparkDeletionRepository deletionRepository;
+    private final List<SparkIndex> sparkIndexes;
+    private final Executor purgeExecutor;
+    private final int batchSize;
+
+    private volatile boolean shuttingDown;
+
+    @Autowired
+    public SparkPurgeServiceImpl(
+            SparkService sparkService,
+            SparkRepository sparkRepository,
+            SparkPurgeJobRepository purgeJobRepository,
+            SparkDeletionRepository deletionRepository,
+            List<SparkIndex> sparkIndexes,
+            @Value("${ignitr.spark.purge.batch-size:500}") int batchSize
+    ) {
+        this(sparkService, sparkRepository, purgeJobRepository, deletionRepository, sparkIndexes,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("spark-purge-", 0).factory()),
+                batchSize);
+    }
+
+    SparkPurgeServiceImpl(
+            SparkService sparkService,
+            SparkRepository sparkRepository,
+            SparkPurgeJobRepository purgeJobRepository,
+            SparkDeletionRepository deletionRepository,
+            List<SparkIndex> sparkIndexes,
+            Executor purgeExecutor,
+            int batchSize
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Purge batch size must be positive.");
+        }
+        this.sparkService = sparkService;
+        this.sparkRepository = sparkRepository;
+        this.purgeJobRepository = purgeJobRepository;
+        this.deletionRepository = deletionRepository;
+        this.sparkIndexes = sparkIndexes;
+        this.purgeExecutor = purgeExecutor;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public SparkPurgeJob startCascadePurge(ObjectId rootId) throws SparkNotFoundException {
+
+        LoggingUtils.debug(logger, "startCascadePurge", rootId,
+                "Starting asynchronous cascade delete...");
+
+        Spark root = sparkService.getSparkById(rootId);
+
+        SparkPurgeJob job = purgeJobRepository.save(SparkMapper.toNewPurgeJob(root.getId(), Instant.now()));
+
+        try {
+            deleteRoot(job);
+        } catch (RuntimeException e) {
+            LoggingUtils.error(logger, "startCascadePurge", rootId, e,
+                    "Could not delete root Spark, purge job '{}' not started.", job.getId());
+            fail(job, e);
+            throw e;
+        }
+
+        submit(job);
+
+        LoggingUtils.info(logger, "startCascadePurge", rootId,
+                "Deleted root Spark, purge job '{}' queued for its descendants.", job.getId());
+
+        return job;
+    }
+
+    @Override
+    public SparkPurgeJob getPurgeJob(ObjectId jobId) throws SparkPurgeJobNotFoundException {
+        return purgeJobRepository.findById(jobId).orElseThrow(() -> {
+            SparkPurgeJobNotFoundException exception = new SparkPurgeJobNotFoundException(jobId);
+            LoggingUtils.warn(logger, "getPurgeJob", jobId, "Purge job not found.", exception);
+            return exception;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<SparkPurgeJob> jobs = purgeJobRepository.findByStatusIn(UNFINISHED);
+        for (SparkPurgeJob job : jobs) {
+            LoggingUtils.info(logger, "resumeUnfinishedJobs", job.getId(),
+                    "Resuming purge job in status {} at depth {}.", job.getStatus(), job.getDepth());
+            submit(job);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        if (purgeExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void submit(SparkPurgeJob job) {
+        purgeExecutor.execute(() -> run(job));
+    }
+
+    private void run(SparkPurgeJob job) {
+        long start = System.nanoTime();
+        try {
+            if (job.getStatus() == SparkPurgeJobStatus.PENDING && job.getPurgedCount() == 0) {
+                deleteRoot(job);
+            }
+            if (job.getStatus() != SparkPurgeJobStatus.PURGING) {
+                mark(job);
+            }
+            sweep(job);
+            Instant now = Instant.now();
+            job.setStatus(SparkPurgeJobStatus.COMPLETED);
+            job.setUpdatedAt(now);
+            job.setCompletedAt(now);
+            purgeJobRepository.save(job);
+            LoggingUtils.info(logger, "purge", job.getId(),
+                    "Purged {} Sparks under root '{}' in {} ms.",
+                    job.getPurgedCount(), job.getRootId(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            if (shuttingDown || Thread.currentThread().isInterrupted()) {
+                LoggingUtils.info(logger, "purge", job.getId(),
+                        "Purge job stopped by shutdown in status {}, it resumes on the next startup.",
+                        job.getStatus());
+                return;
+            }
+            LoggingUtils.error(logger, "purge", job.getId(), e,
+                    "Purge job failed after {} deleted Sparks.", job.getPurgedCount());
+            fail(job, e);
+        }
+    }
+
+    private void deleteRoot(SparkPurgeJob job) {
+        sparkRepository.deleteById(job.getRootId());
+        deletionRepository.recordAll(List.of(job.getRootId()), Instant.now());
+        indexDeleted(List.of(job.getRootId()));
+        job.setMarkedCount(1);
+        job.setPurgedCount(1);
+        job.setUpdatedAt(Instant.now());
+        purgeJobRepository.save(job);
+    }
+
+    private void fail(SparkPurgeJob job, RuntimeException e) {
+        job.setStatus(SparkPurgeJobStatus.FAILED);
+        job.setFailureReason(e.getMessage());
+        job.setUpdatedAt(Instant.now());
+        purgeJobRepository.save(job);
+    }
+
+    private void mark(SparkPurgeJob job) {
+        updateStatus(job, SparkPurgeJobStatus.MARKING);
+
+        int depth = job.getDepth();
+        while (true) {
+            long marked;
+            if (depth == 0) {
+                marked = sparkRepository.markForPurgeByParentIdIn(List.of(job.getRootId()), job.getId(), 1);
+            } else {
+                marked = markChildrenOfLevel(job.getId(), depth);
+            }
+            if (!sparkRepository.existsByPurgeJobIdAndPurgeDepth(job.getId(), depth + 1)) {
+                break;
+            }
+            depth++;
+            job.setDepth(depth);
+            job.setMarkedCount(job.getMarkedCount() + marked);
+            job.setUpdatedAt(Instant.now());
+            purgeJobRepository.save(job);
+
+            LoggingUtils.debug(logger, "mark", job.getId(),
+                    "Marked {} Sparks at depth {}.", marked, depth);
+        }
+    }
+
+    private long markChildrenOfLevel(ObjectId jobId, int depth) {
+        long marked = 0;
+        ObjectId afterId = MIN_ID;
+        List<Spark> batch;
+        do {
+            batch = sparkRepository.findPurgeBatch(jobId, depth, afterId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<ObjectId> parentIds = batch.stream().map(Spark::getId).toList();
+            marked += sparkRepository.markForPurgeByParentIdIn(parentIds, jobId, depth + 1);
+            afterId = parentIds.getLast();
+        } while (batch.size() == batchSize);
+        return marked;
+    }
+
+    private void sweep(SparkPurgeJob job) {
+        updateStatus(job, SparkPurgeJobStatus.PURGING);
+
+        while (true) {
+            List<ObjectId> ids = sparkRepository.findIdsByPurgeJobId(job.getId(), PageRequest.of(0, batchSize))
+                    .stream()
+                    .map(Spark::getId)
+                    .toList();
+            if (ids.isEmpty()) {
+                return;
+            }
+            sparkRepository.deleteAllById(ids);
+            deletionRepository.recordAll(ids, Instant.now());
+            indexDeleted(ids);
+            job.setPurgedCount(job.getPurgedCount() + ids.size());
+            job.setUpdatedAt(Instant.now());
+            purgeJobRepository.save(job);
+        }
+    }
+
+    private void updateStatus(SparkPurgeJob job, SparkPurgeJobStatus status) {
+        if (job.getStatus() == status) {
+            return;
+        }
+        job.setStatus(status);
+        job.setUpdatedAt(Instant.now());
+        purgeJobRepository.save(job);
+    }
+
+    private void indexDeleted(Collection<ObjectId> ids) {
+        for (SparkIndex index : sparkIndexes) {
+            index.removeAll(ids);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import lombok.Getter;
+
+@Getter
+public enum SparkSearchMode {
+    CONTAINS("contains"),
+    TEXT("text"),
+    FUZZY("fuzzy");
+
+    private final String mode;
+
+    SparkSearchMode(String mode) {
+        this.mode = mode;
+    }
+
+    public static SparkSearchMode fromValue(String value) {
+        for (SparkSearchMode searchMode : SparkSearchMode.values()) {
+            if (searchMode.mode.equalsIgnoreCase(value)) {
+                return searchMode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown spark search mode: '" + value + "'. Valid values are: 'contains', 'text', 'fuzzy'");
+    }
+}
@@ -1,7 +1,9 @@
 package dev.ignitr.ignitrbackend.spark.service;
 
+import dev.ignitr.ignitrbackend.reason.model.Reason;
 import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.tree.FlatSparkTree;
 import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
 import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
@@ -12,21 +14,37 @@ public interface SparkService {
 
     Spark saveSpark(Spark spark);
 
+    boolean appendReasons(Spark spark, List<Reason> reasons);
+
     Spark createSpark(String title, String description);
 
     Spark createChildSpark(ObjectId parentId, String title, String description);
 
+    List<SparkBatchResult> createSparks(List<SparkBatchItem> items);
+
     Spark getSparkById(ObjectId id) throws SparkNotFoundException;
 
     List<Spark> getChildren(ObjectId parentId);
 
-    SparkTree getSparkTree(ObjectId rootId);
+    SparkChildrenPage getChildrenPage(ObjectId parentId, SparkChildCursor after, int limit);
+
+    SparkTree getSparkTree(ObjectId rootId, SparkTreeLimits limits);
+
+    FlatSparkTree getFlatSparkTree(ObjectId rootId, SparkTreeLimits limits);
 
     Spark updateSpark(ObjectId id, String title, String description);
 
     Spark partialUpdateSpark(ObjectId id, String title, String description);
 
+    Spark moveSpark(ObjectId id, ObjectId newParentId);
+
+    Spark cloneSpark(ObjectId id, ObjectId targetParentId);
+
     void deleteSpark(ObjectId id, SparkDeleteMode mode);
 
     Page<Spark> searchSparks(String title, ParentSearchScope scope, ObjectId parentId, int page, int size);
+
+    Page<Spark> searchSparksByText(String text, ParentSearchScope scope, ObjectId parentId, int page, int size);
+
+    Page<Spark> searchSparksByFuzzyTitle(String title, int maxDistance, ParentSearchScope scope, ObjectId parentId, int page, int size);
 }
@@ -1,27 +1,44 @@
 package dev.ignitr.ignitrbackend.spark.service;
 
+import com.mongodb.bulk.BulkWriteError;
+import dev.ignitr.ignitrbackend.common.error.ApiErrorCode;
 import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.reason.model.Reason;
 import dev.ignitr.ignitrbackend.score.exception.ScoringException;
 import dev.ignitr.ignitrbackend.score.service.SparkScoreService;
 import dev.ignitr.ignitrbackend.spark.exception.SparkAlreadyExistsException;
+import dev.ignitr.ignitrbackend.spark.exception.SparkMoveCycleException;
 import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
+import dev.ignitr.ignitrbackend.spark.index.SparkForestIndex;
+import dev.ignitr.ignitrbackend.spark.index.SparkIndex;
+import dev.ignitr.ignitrbackend.spark.index.SparkTitleBloomFilter;
+import dev.ignitr.ignitrbackend.spark.index.SparkTitleFuzzyIndex;
 import dev.ignitr.ignitrbackend.spark.mapper.SparkMapper;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.repository.SparkDeletionRepository;
 import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
 
+import dev.ignitr.ignitrbackend.spark.tree.FlatSparkTree;
 import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.*;
 
+import static dev.ignitr.ignitrbackend.common.utils.StringUtils.isInvalidObjectId;
 import static dev.ignitr.ignitrbackend.common.utils.StringUtils.isNotNullOrEmpty;
 
 @Service
@@ -29,15 +46,69 @@ public class SparkServiceImpl implements SparkService {
 
     private static final Logger logger = LoggerFactory.getLogger(SparkServiceImpl.class);
 
+    private static final int FUZZY_CANDIDATE_BATCH_SIZE = 500;
+    private static final int IN_QUERY_CHUNK = 1000;
+    private static final int MAX_CHILDREN_PAGE_SIZE = 1000;
+    private static final Comparator<SparkTree> TREE_CHILD_ORDER = Comparator
+            .comparing(SparkTree::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SparkTree::getId);
+    private static final int MAX_CLONE_TITLE_ATTEMPTS = 100;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
     private final SparkScoreService sparkScoreService;
     private final SparkRepository sparkRepository;
-
-    public SparkServiceImpl(SparkRepository sparkRepository, SparkScoreService sparkScoreService) {
+    private final SparkDeletionRepository deletionRepository;
+    private final List<SparkIndex> sparkIndexes;
+    private final SparkTitleFuzzyIndex titleFuzzyIndex;
+    private final SparkTitleBloomFilter titleBloomFilter;
+    private final SparkForestIndex forestIndex;
+    private final SparkClonePolicy clonePolicy;
+    private final SparkTreeFanOut treeFanOut;
+    private final SparkTreeSingleFlight<SparkTree> sparkTreeLoads;
+    private final SparkTreeSingleFlight<FlatSparkTree> flatSparkTreeLoads;
+
+    public SparkServiceImpl(SparkRepository sparkRepository, SparkDeletionRepository deletionRepository,
+                            SparkScoreService sparkScoreService, List<SparkIndex> sparkIndexes, SparkTitleFuzzyIndex titleFuzzyIndex,
+                            SparkTitleBloomFilter titleBloomFilter, SparkForestIndex forestIndex,
+                            SparkClonePolicy clonePolicy, SparkTreeFanOut treeFanOut,
+                            MeterRegistry meterRegistry) {
         this.sparkScoreService = sparkScoreService;
         this.sparkRepository = sparkRepository;
+        this.deletionRepository = deletionRepository;
+        this.sparkIndexes = sparkIndexes;
+        this.titleFuzzyIndex = titleFuzzyIndex;
+        this.titleBloomFilter = titleBloomFilter;
+        this.forestIndex = forestIndex;
+        this.clonePolicy = clonePolicy;
+        this.treeFanOut = treeFanOut;
+        this.sparkTreeLoads = new SparkTreeSingleFlight<>("getSparkTree", meterRegistry);
+        this.flatSparkTreeLoads = new SparkTreeSingleFlight<>("getFlatSparkTree", meterRegistry);
+    }
+
+    private void indexSaved(Spark spark) {
+        for (SparkIndex index : sparkIndexes) {
+            index.put(spark);
+        }
+    }
+
+    private void indexDeleted(Collection<ObjectId> ids) {
+        for (SparkIndex index : sparkIndexes) {
+            index.removeAll(ids);
+        }
+    }
+
+    private void indexChildrenMoved(ObjectId fromParentId, ObjectId toParentId) {
+        for (SparkIndex index : sparkIndexes) {
+            index.moveChildren(fromParentId, toParentId);
+        }
     }
 
     private void checkExistingTitle(String operation, String title) throws SparkAlreadyExistsException {
+        if (!titleBloomFilter.mightContain(title)) {
+            LoggingUtils.debug(logger, operation, null,
+                    "Title filter reports title as new, skipping existence check.");
+            return;
+        }
         if (sparkRepository.existsByTitle(title)) {
             SparkAlreadyExistsException exception = new SparkAlreadyExistsException(title);
             LoggingUtils.warn(logger, operation, null,
@@ -46,11 +117,35 @@ public class SparkServiceImpl implements SparkService {
         }
     }
 
+    private Spark saveWithUniqueTitle(String operation, Spark spark) throws SparkAlreadyExistsException {
+        try {
+            return saveSpark(spark);
+        } catch (DuplicateKeyException e) {
+            SparkAlreadyExistsException exception = new SparkAlreadyExistsException(spark.getTitle());
+            LoggingUtils.warn(logger, operation, spark.getId(),
+                    "Spark title rejected by unique index.", exception);
+            throw exception;
+        }
+    }
+
     @Override
     public Spark saveSpark(Spark spark) {
         return sparkRepository.save(spark);
     }
 
+    @Override
+    public boolean appendReasons(Spark spark, List<Reason> reasons) {
+        Instant now = Instant.now();
+        if (sparkRepository.pushReasons(spark.getId(), spark.getUpdatedAt(), reasons, now) == 0) {
+            LoggingUtils.debug(logger, "appendReasons", spark.getId(),
+                    "Spark changed since it was read, {} Reasons not appended.", reasons.size());
+            return false;
+        }
+        spark.getReasons().addAll(reasons);
+        spark.setUpdatedAt(now);
+        return true;
+    }
+
     @Override
     public Spark createSpark(String title, String description) {
 
@@ -62,7 +157,8 @@ public class SparkServiceImpl implements SparkService {
         Instant now = Instant.now();
         Spark newSpark = SparkMapper.toNewEntity(title, description, now);
 
-        Spark savedSpark = saveSpark(newSpark);
+        Spark savedSpark = saveWithUniqueTitle("createSpark", newSpark);
+        indexSaved(savedSpark);
 
         LoggingUtils.info(logger, "createSpark", savedSpark.getId(),
                 "Spark created.");
@@ -83,7 +179,8 @@ public class SparkServiceImpl implements SparkService {
         Instant now = Instant.now();
         Spark childSpark = SparkMapper.toNewChildEntity(title, description, parent.getId(),now);
 
-        Spark savedSpark = saveSpark(childSpark);
+        Spark savedSpark = saveWithUniqueTitle("createChildSpark", childSpark);
+        indexSaved(savedSpark);
 
         LoggingUtils.info(logger, "createChildSpark", savedSpark.getId(),
                 "Created child Spark under parentId='{}'.", parent.getId());
@@ -91,6 +188,217 @@ public class SparkServiceImpl implements SparkService {
         return savedSpark;
     }
 
+    @Override
+    public List<SparkBatchResult> createSparks(List<SparkBatchItem> items) {
+
+        LoggingUtils.debug(logger, "createSparks", null,
+                "Creating batch of {} Sparks...", items.size());
+
+        int n = items.size();
+        ApiErrorCode[] errors = new ApiErrorCode[n];
+        String[] messages = new String[n];
+        Integer[] parentIndexes = new Integer[n];
+        ObjectId[] existingParentIds = new ObjectId[n];
+
+        Map<String, Integer> indexByTempId = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            String tempId = items.get(i).tempId();
+            if (tempId == null || tempId.isBlank()) {
+                failItem(errors, messages, i, ApiErrorCode.VALIDATION_ERROR, "tempId must not be blank.");
+            } else if (indexByTempId.putIfAbsent(tempId, i) != null) {
+                failItem(errors, messages, i, ApiErrorCode.VALIDATION_ERROR, "Duplicate tempId '%s'.".formatted(tempId));
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            SparkBatchItem item = items.get(i);
+            if (errors[i] != null) {
+                continue;
+            }
+            if (item.title() == null || item.title().isBlank()) {
+                failItem(errors, messages, i, ApiErrorCode.VALIDATION_ERROR, "title must not be blank.");
+            } else if (item.parentTempId() != null && item.parentId() != null) {
+                failItem(errors, messages, i, ApiErrorCode.VALIDATION_ERROR, "Only one of parentTempId and parentId may be set.");
+            } else if (item.parentTempId() != null) {
+                parentIndexes[i] = indexByTempId.get(item.parentTempId());
+                if (parentIndexes[i] == null) {
+                    failItem(errors, messages, i, ApiErrorCode.VALIDATION_ERROR,
+                            "Unknown parentTempId '%s'.".formatted(item.parentTempId()));
+                }
+            } else if (item.parentId() != null) {
+                if (isInvalidObjectId(item.parentId())) {
+                    failItem(errors, messages, i, ApiErrorCode.VALIDATION_ERROR, "Invalid parentId format.");
+                } else {
+                    existingParentIds[i] = new ObjectId(item.parentId());
+                }
+            }
+        }
+
+        List<Integer> order = batchCreationOrder(items, parentIndexes, errors, messages);
+
+        Map<String, Integer> indexByTitle = new HashMap<>();
+        for (int i : order) {
+            if (errors[i] == null && indexByTitle.putIfAbsent(items.get(i).title(), i) != null) {
+                failItem(errors, messages, i, ApiErrorCode.SPARK_ALREADY_EXISTS,
+                        "Title '%s' is used by another item of this batch.".formatted(items.get(i).title()));
+            }
+        }
+        for (List<String> chunk : partition(new ArrayList<>(indexByTitle.keySet()), IN_QUERY_CHUNK)) {
+            for (Spark existing : sparkRepository.findTitlesIn(chunk)) {
+                failItem(errors, messages, indexByTitle.get(existing.getTitle()), ApiErrorCode.SPARK_ALREADY_EXISTS,
+                        new SparkAlreadyExistsException(existing.getTitle()).getMessage());
+            }
+        }
+
+        Set<ObjectId> requestedParentIds = new HashSet<>();
+        for (int i : order) {
+            if (errors[i] == null && existingParentIds[i] != null) {
+                requestedParentIds.add(existingParentIds[i]);
+            }
+        }
+        Set<ObjectId> liveParentIds = new HashSet<>();
+        for (List<ObjectId> chunk : partition(new ArrayList<>(requestedParentIds), IN_QUERY_CHUNK)) {
+            sparkRepository.findLiveIdsIn(chunk).forEach(parent -> liveParentIds.add(parent.getId()));
+        }
+        for (int i : order) {
+            if (errors[i] == null && existingParentIds[i] != null && !liveParentIds.contains(existingParentIds[i])) {
+                failItem(errors, messages, i, ApiErrorCode.SPARK_NOT_FOUND,
+                        new SparkNotFoundException(existingParentIds[i]).getMessage());
+            }
+        }
+
+        failOrphans(items, order, parentIndexes, errors, messages);
+
+        Instant now = Instant.now();
+        Spark[] sparks = new Spark[n];
+        List<Spark> toInsert = new ArrayList<>();
+        List<Integer> insertedIndexes = new ArrayList<>();
+        for (int i : order) {
+            if (errors[i] != null) {
+                continue;
+            }
+            SparkBatchItem item = items.get(i);
+            ObjectId parentId = parentIndexes[i] != null ? sparks[parentIndexes[i]].getId() : existingParentIds[i];
+            Spark spark = SparkMapper.toNewChildEntity(item.title(), item.description(), parentId, now);
+            spark.setId(new ObjectId());
+            sparks[i] = spark;
+            toInsert.add(spark);
+            insertedIndexes.add(i);
+        }
+
+        try {
+            sparkRepository.insertAllUnordered(toInsert);
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                int i = insertedIndexes.get(error.getIndex());
+                if (error.getCode() == DUPLICATE_KEY_ERROR) {
+                    failItem(errors, messages, i, ApiErrorCode.SPARK_ALREADY_EXISTS,
+                            new SparkAlreadyExistsException(items.get(i).title()).getMessage());
+                } else {
+                    failItem(errors, messages, i, ApiErrorCode.INTERNAL_ERROR, error.getMessage());
+                }
+            }
+            List<ObjectId> orphanIds = failOrphans(items, order, parentIndexes, errors, messages).stream()
+                    .map(i -> sparks[i].getId())
+                    .toList();
+            if (!orphanIds.isEmpty()) {
+                sparkRepository.deleteAllById(orphanIds);
+            }
+            LoggingUtils.warn(logger, "createSparks", null,
+                    "Bulk insert rejected {} Sparks, removed {} orphaned children.", e.getErrors().size(), orphanIds.size());
+        }
+
+        List<SparkBatchResult> results = new ArrayList<>(n);
+        int created = 0;
+        for (int i = 0; i < n; i++) {
+            if (errors[i] == null) {
+                indexSaved(sparks[i]);
+                results.add(new SparkBatchResult(items.get(i).tempId(), sparks[i], null, null));
+                created++;
+            } else {
+                results.add(new SparkBatchResult(items.get(i).tempId(), null, errors[i], messages[i]));
+            }
+        }
+
+        LoggingUtils.info(logger, "createSparks", null,
+                "Created {} of {} Sparks in batch.", created, n);
+
+        return results;
+    }
+
+    private List<Integer> batchCreationOrder(List<SparkBatchItem> items, Integer[] parentIndexes,
+                                             ApiErrorCode[] errors, String[] messages) {
+        int n = items.size();
+        boolean[] placed = new boolean[n];
+        List<Integer> order = new ArrayList<>(n);
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int i = 0; i < n; i++) {
+                if (placed[i] || errors[i] != null) {
+                    continue;
+                }
+                Integer parent = parentIndexes[i];
+                if (parent == null || placed[parent]) {
+                    placed[i] = true;
+                    order.add(i);
+                    progress = true;
+                } else if (errors[parent] != null) {
+                    failParentItem(items, i, parent, errors, messages);
+                    progress = true;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (!placed[i] && errors[i] == null) {
+                failItem(errors, messages, i, ApiErrorCode.VALIDATION_ERROR, "parentTempId references form a cycle.");
+            }
+        }
+        return order;
+    }
+
+    private List<Integer> failOrphans(List<SparkBatchItem> items, List<Integer> order, Integer[] parentIndexes,
+                                      ApiErrorCode[] errors, String[] messages) {
+        List<Integer> orphans = new ArrayList<>();
+        for (int i : order) {
+            Integer parent = parentIndexes[i];
+            if (errors[i] == null && parent != null && errors[parent] != null) {
+                failParentItem(items, i, parent, errors, messages);
+                orphans.add(i);
+            }
+        }
+        return orphans;
+    }
+
+    private static void failParentItem(List<SparkBatchItem> items, int i, int parent,
+                                       ApiErrorCode[] errors, String[] messages) {
+        failItem(errors, messages, i, ApiErrorCode.VALIDATION_ERROR,
+                "Parent item '%s' was not created.".formatted(items.get(parent).tempId()));
+    }
+
+    private static void failItem(ApiErrorCode[] errors, String[] messages, int i, ApiErrorCode code, String message) {
+        if (errors[i] == null) {
+            errors[i] = code;
+            messages[i] = message;
+        }
+    }
+
+    private List<Spark> findLiveByIds(List<ObjectId> ids) {
+        List<Spark> sparks = new ArrayList<>(ids.size());
+        for (List<Spark> chunk : treeFanOut.map(partition(ids, IN_QUERY_CHUNK), sparkRepository::findByIdInAndDeletedAtIsNull)) {
+            sparks.addAll(chunk);
+        }
+        return sparks;
+    }
+
+    private static <T> List<List<T>> partition(List<T> list, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += size) {
+            chunks.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return chunks;
+    }
+
     @Override
     public Spark getSparkById(ObjectId id) {
 
@@ -98,7 +406,7 @@ public class SparkServiceImpl implements SparkService {
                 "getSparkById", id,
                 "Fetching Spark...");
 
-        Spark spark = sparkRepository.findById(id).orElseThrow(() -> {
+        Spark spark = sparkRepository.findByIdAndDeletedAtIsNull(id).orElseThrow(() -> {
             SparkNotFoundException exception = new SparkNotFoundException(id);
             LoggingUtils.warn(logger,
                     "getSparkById", id,
@@ -121,7 +429,14 @@ public class SparkServiceImpl implements SparkService {
 
         Spark parent = getSparkById(parentId);
 
-        List<Spark> children = sparkRepository.findByParentId(parent.getId());
+        List<Spark> children;
+        if (forestIndex.servesReads() && forestIndex.contains(parent.getId())) {
+            children = findLiveByIds(forestIndex.getChildIds(parent.getId())).stream()
+                    .filter(child -> parent.getId().equals(child.getParentId()))
+                    .toList();
+        } else {
+            children = sparkRepository.findByParentIdAndDeletedAtIsNull(parent.getId());
+        }
 
         LoggingUtils.info(logger, "getChildren", parent.getId(),
                 "Found {} children Sparks.", children.size());
@@ -130,38 +445,170 @@ public class SparkServiceImpl implements SparkService {
     }
 
     @Override
-    public SparkTree getSparkTree(ObjectId rootId) {
+    public SparkChildrenPage getChildrenPage(ObjectId parentId, SparkChildCursor after, int limit) {
 
-        LoggingUtils.debug(logger, "getSparkTree", rootId,
-                "Fetching Spark subtree...");
+        if (limit < 1 || limit > MAX_CHILDREN_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Children page limit must be between 1 and " + MAX_CHILDREN_PAGE_SIZE + ".");
+        }
 
-        Spark root = getSparkById(rootId);
+        LoggingUtils.debug(logger, "getChildrenPage", parentId,
+                "Fetching up to {} children Sparks after cursor={}...", limit, after);
 
-        Map<ObjectId, Spark> sparkMap = new HashMap<>();
-        Deque<Spark> stack = new ArrayDeque<>();
-        stack.push(root);
+        Spark parent = getSparkById(parentId);
 
-        while (!stack.isEmpty()) {
-            Spark current = stack.pop();
-            sparkMap.put(current.getId(), current);
+        List<Spark> children = sparkRepository.findLiveChildrenAfter(
+                parent.getId(),
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                limit + 1
+        );
+        SparkChildCursor next = null;
+        if (children.size() > limit) {
+            children = children.subList(0, limit);
+            next = SparkChildCursor.after(children.get(limit - 1));
+        }
 
-            List<Spark> children = sparkRepository.findByParentId(current.getId());
-            for (Spark child : children) {
-                if(child != null) {
-                    stack.push(child);
-                }
-            }
+        LoggingUtils.info(logger, "getChildrenPage", parent.getId(),
+                "Found {} children Sparks, more={}.", children.size(), next != null);
+
+        return new SparkChildrenPage(children, next);
+    }
+
+    @Override
+    public SparkTree getSparkTree(ObjectId rootId, SparkTreeLimits limits) {
+        return sparkTreeLoads.execute(rootId, limits, () -> loadScoredSparkTree(rootId, limits));
+    }
+
+    private SparkTree loadScoredSparkTree(ObjectId rootId, SparkTreeLimits limits) {
+
+        FlatSparkTree flatTree = loadSparkTree("getSparkTree", rootId, limits);
+
+        SparkTree tree;
+        try {
+            tree = sparkScoreService.scoreTree(flatTree.rootId(), flatTree.sparks());
+        } catch (ScoringException e) {
+            LoggingUtils.warn(logger, "getSparkTree", flatTree.rootId(),
+                    "Error scoring Spark tree, returning unscored tree.", e);
+            tree = SparkMapper.toSparkTree(flatTree.sparks(), flatTree.rootId());
         }
+        applyChildCounts(tree, flatTree.truncatedChildCounts());
+        return tree;
+    }
+
+    @Override
+    public FlatSparkTree getFlatSparkTree(ObjectId rootId, SparkTreeLimits limits) {
+        return flatSparkTreeLoads.execute(rootId, limits, () -> loadScoredFlatSparkTree(rootId, limits));
+    }
+
+    private FlatSparkTree loadScoredFlatSparkTree(ObjectId rootId, SparkTreeLimits limits) {
 
-        LoggingUtils.info(logger, "getSparkTree", root.getId(),
-                "Fetched Spark subtree with {} Sparks.", sparkMap.size());
+        FlatSparkTree flatTree = loadSparkTree("getFlatSparkTree", rootId, limits);
 
         try {
-            return sparkScoreService.scoreTree(root.getId(), sparkMap);
+            return flatTree.withScores(sparkScoreService.scoreSparks(flatTree.rootId(), flatTree.sparks()));
         } catch (ScoringException e) {
-            LoggingUtils.warn(logger, "getSparkTree", root.getId(),
+            LoggingUtils.warn(logger, "getFlatSparkTree", flatTree.rootId(),
                     "Error scoring Spark tree, returning unscored tree.", e);
-            return SparkMapper.toSparkTree(sparkMap, root.getId());
+            return flatTree;
+        }
+    }
+
+    private FlatSparkTree loadSparkTree(String operation, ObjectId rootId, SparkTreeLimits limits) {
+
+        LoggingUtils.debug(logger, operation, rootId,
+                "Fetching Spark subtree with maxDepth={} and maxChildrenPerNode={}...",
+                limits.maxDepth(), limits.maxChildrenPerNode());
+
+        Spark root = getSparkById(rootId);
+
+        Map<ObjectId, Spark> sparkMap = new HashMap<>();
+        Map<ObjectId, Integer> truncatedChildCounts = new HashMap<>();
+        SparkForestIndex.Subtree subtree = forestIndex.servesReads()
+                ? forestIndex.getSubtree(root.getId(), limits.maxDepth(), limits.maxChildrenPerNode())
+                : null;
+
+        if (subtree != null && !subtree.ids().isEmpty()) {
+            List<ObjectId> subtreeIds = subtree.ids();
+            sparkMap.put(root.getId(), root);
+            for (Spark spark : findLiveByIds(subtreeIds.subList(1, subtreeIds.size()))) {
+                sparkMap.put(spark.getId(), spark);
+            }
+            truncatedChildCounts.putAll(subtree.truncatedChildCounts());
+        } else {
+            List<Spark> level = List.of(root);
+            for (int depth = 0; !level.isEmpty(); depth++) {
+                List<Spark> expand = new ArrayList<>();
+                for (Spark current : level) {
+                    if (sparkMap.putIfAbsent(current.getId(), current) == null) {
+                        expand.add(current);
+                    }
+                }
+                boolean atMaxDepth = depth >= limits.maxDepth();
+                // Siblings of one level are independent, so their queries run side by side.
+                List<TreeChildren> loaded = treeFanOut.map(expand, current -> atMaxDepth
+                        ? countTreeChildren(current.getId())
+                        : loadTreeChildren(current.getId(), limits.maxChildrenPerNode()));
+                List<Spark> nextLevel = new ArrayList<>();
+                for (TreeChildren children : loaded) {
+                    if (children.totalCount() != null) {
+                        truncatedChildCounts.put(children.parentId(), children.totalCount());
+                    }
+                    nextLevel.addAll(children.children());
+                }
+                level = nextLevel;
+            }
+        }
+
+        LoggingUtils.info(logger, operation, root.getId(),
+                "Fetched Spark subtree with {} Sparks, {} of them truncated.",
+                sparkMap.size(), truncatedChildCounts.size());
+
+        return new FlatSparkTree(root.getId(), sparkMap, truncatedChildCounts, Map.of());
+    }
+
+    /**
+     * Children loaded for one tree node; {@code totalCount} is set only when some were left out.
+     */
+    private record TreeChildren(ObjectId parentId, List<Spark> children, Integer totalCount) {}
+
+    private TreeChildren countTreeChildren(ObjectId parentId) {
+        long childCount = sparkRepository.countByParentIdAndDeletedAtIsNull(parentId);
+        return new TreeChildren(parentId, List.of(), childCount > 0 ? (int) childCount : null);
+    }
+
+    private TreeChildren loadTreeChildren(ObjectId parentId, int maxChildren) {
+        if (maxChildren == Integer.MAX_VALUE) {
+            List<Spark> children = sparkRepository.findByParentIdAndDeletedAtIsNull(parentId).stream()
+                    .filter(Objects::nonNull)
+                    .toList();
+            return new TreeChildren(parentId, children, null);
+        }
+        List<Spark> children = sparkRepository.findLiveChildrenAfter(parentId, null, null, maxChildren + 1);
+        if (children.size() > maxChildren) {
+            int totalCount = (int) sparkRepository.countByParentIdAndDeletedAtIsNull(parentId);
+            return new TreeChildren(parentId, children.subList(0, maxChildren), totalCount);
+        }
+        return new TreeChildren(parentId, children, null);
+    }
+
+    private static void applyChildCounts(SparkTree tree, Map<ObjectId, Integer> truncatedChildCounts) {
+        if (tree == null) {
+            return;
+        }
+        Deque<SparkTree> stack = new ArrayDeque<>();
+        stack.push(tree);
+        while (!stack.isEmpty()) {
+            SparkTree node = stack.pop();
+            int loaded = node.getChildren().size();
+            int childCount = truncatedChildCounts.getOrDefault(node.getId(), loaded);
+            node.setChildCount(childCount);
+            node.setHasMoreChildren(childCount > loaded);
+            if (node.isHasMoreChildren() && loaded > 0) {
+                SparkTree last = Collections.max(node.getChildren(), TREE_CHILD_ORDER);
+                node.setNextChildrenCursor(new SparkChildCursor(last.getCreatedAt(), last.getId()).encode());
+            }
+            node.getChildren().forEach(stack::push);
         }
     }
 
@@ -178,7 +625,8 @@ public class SparkServiceImpl implements SparkService {
         }
         Instant now = Instant.now();
         SparkMapper.updateEntity(spark, title, description, now);
-        Spark savedSpark = saveSpark(spark);
+        Spark savedSpark = saveWithUniqueTitle("updateSpark", spark);
+        indexSaved(savedSpark);
         LoggingUtils.info(logger, "updateSpark", savedSpark.getId(),
                 "Spark updated.");
 
@@ -199,65 +647,262 @@ public class SparkServiceImpl implements SparkService {
 
         Instant now = Instant.now();
         SparkMapper.partialUpdateEntity(spark, title, description, now);
-        Spark savedSpark = saveSpark(spark);
+        Spark savedSpark = saveWithUniqueTitle("partialUpdateSpark", spark);
+        indexSaved(savedSpark);
         LoggingUtils.info(logger, "partialUpdateSpark", savedSpark.getId(),
                 "Spark partially updated.");
 
         return savedSpark;
     }
 
-    private void deleteCascade(ObjectId rootId) {
+    @Override
+    @Transactional
+    public Spark moveSpark(ObjectId id, ObjectId newParentId) {
+
+        LoggingUtils.debug(logger, "moveSpark", id,
+                "Moving Spark under parentId='{}'...", newParentId);
+
+        Spark spark = getSparkById(id);
+        ObjectId oldParentId = spark.getParentId();
+
+        if (Objects.equals(oldParentId, newParentId)) {
+            LoggingUtils.debug(logger, "moveSpark", id,
+                    "Spark already has parentId='{}', nothing to move.", newParentId);
+            return spark;
+        }
+
+        if (newParentId != null) {
+            checkNotDescendant("moveSpark", id, getSparkById(newParentId));
+        }
+
+        Instant now = Instant.now();
+        if (sparkRepository.updateParentIdById(id, newParentId, now) == 0) {
+            SparkNotFoundException exception = new SparkNotFoundException(id);
+            LoggingUtils.warn(logger, "moveSpark", id,
+                    "Spark disappeared before it could be moved.", exception);
+            throw exception;
+        }
+        spark.setParentId(newParentId);
+        spark.setUpdatedAt(now);
+        indexSaved(spark);
+
+        LoggingUtils.info(logger, "moveSpark", id,
+                "Moved Spark from parentId='{}' to parentId='{}'.", oldParentId, newParentId);
+
+        return spark;
+    }
+
+    private void checkNotDescendant(String operation, ObjectId id, Spark newParent) throws SparkMoveCycleException {
+        Set<ObjectId> visited = new HashSet<>();
+        ObjectId currentId = newParent.getId();
+        ObjectId nextId = newParent.getParentId();
+        while (true) {
+            if (currentId.equals(id)) {
+                SparkMoveCycleException exception = new SparkMoveCycleException(id, newParent.getId());
+                LoggingUtils.warn(logger, operation, id,
+                        "Move rejected, target parent is inside the moved subtree.", exception);
+                throw exception;
+            }
+            if (nextId == null || !visited.add(currentId)) {
+                return;
+            }
+            currentId = nextId;
+            nextId = sparkRepository.findParentRefById(currentId).map(Spark::getParentId).orElse(null);
+        }
+    }
+
+    @Override
+    public Spark cloneSpark(ObjectId id, ObjectId targetParentId) {
+
+        LoggingUtils.debug(logger, "cloneSpark", id,
+                "Cloning Spark subtree under parentId='{}'...", targetParentId);
+
+        Spark source = getSparkById(id);
+        if (targetParentId != null) {
+            getSparkById(targetParentId);
+        }
+
+        List<Spark> subtree = loadSubtree(source, clonePolicy.getMaxNodes());
+        Map<String, String> cloneTitles = resolveCloneTitles(subtree);
+
+        Map<ObjectId, ObjectId> cloneIds = new HashMap<>();
+        for (Spark spark : subtree) {
+            cloneIds.put(spark.getId(), new ObjectId());
+        }
+
+        Instant now = Instant.now();
+        List<Spark> clones = new ArrayList<>(subtree.size());
+        for (Spark spark : subtree) {
+            ObjectId parentId = spark == source ? targetParentId : cloneIds.get(spark.getParentId());
+            clones.add(SparkMapper.toClonedEntity(
+                    spark, cloneIds.get(spark.getId()), parentId, cloneTitles.get(spark.getTitle()), now));
+        }
+
+        insertClones(clones);
+        clones.forEach(this::indexSaved);
+
+        Spark clonedRoot = clones.getFirst();
+
+        LoggingUtils.info(logger, "cloneSpark", clonedRoot.getId(),
+                "Cloned {} Sparks from source Spark '{}'.", clones.size(), id);
+
+        return clonedRoot;
+    }
+
+    private List<Spark> loadSubtree(Spark root, int maxNodes) {
+
+        List<Spark> subtree = new ArrayList<>();
+        subtree.add(root);
+        Set<ObjectId> visited = new HashSet<>();
+        visited.add(root.getId());
+        List<ObjectId> frontier = List.of(root.getId());
+
+        while (!frontier.isEmpty()) {
+            List<ObjectId> nextFrontier = new ArrayList<>();
+            for (List<ObjectId> chunk : partition(frontier, IN_QUERY_CHUNK)) {
+                for (Spark child : sparkRepository.findByParentIdInAndDeletedAtIsNull(chunk)) {
+                    if (!visited.add(child.getId())) {
+                        continue;
+                    }
+                    subtree.add(child);
+                    nextFrontier.add(child.getId());
+                }
+            }
+            if (subtree.size() > maxNodes) {
+                throw new IllegalArgumentException(
+                        "Subtree has more than " + maxNodes + " Sparks and cannot be cloned in one request.");
+            }
+            frontier = nextFrontier;
+        }
+        return subtree;
+    }
+
+    private Map<String, String> resolveCloneTitles(List<Spark> sparks) {
+
+        Map<String, String> resolved = new HashMap<>();
+        Set<String> claimed = new HashSet<>();
+        List<String> pending = sparks.stream().map(Spark::getTitle).toList();
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            if (attempt > MAX_CLONE_TITLE_ATTEMPTS) {
+                throw new IllegalStateException("Could not find free titles for " + pending.size() + " cloned Sparks.");
+            }
+            Map<String, String> candidates = new LinkedHashMap<>();
+            for (String title : pending) {
+                candidates.put(clonePolicy.title(title, attempt), title);
+            }
+
+            Set<String> taken = new HashSet<>();
+            for (List<String> chunk : partition(new ArrayList<>(candidates.keySet()), IN_QUERY_CHUNK)) {
+                sparkRepository.findTitlesIn(chunk).forEach(spark -> taken.add(spark.getTitle()));
+            }
+
+            List<String> stillPending = new ArrayList<>();
+            for (Map.Entry<String, String> candidate : candidates.entrySet()) {
+                if (taken.contains(candidate.getKey()) || !claimed.add(candidate.getKey())) {
+                    stillPending.add(candidate.getValue());
+                } else {
+                    resolved.put(candidate.getValue(), candidate.getKey());
+                }
+            }
+            pending = stillPending;
+        }
+        return resolved;
+    }
+
+    private void insertClones(List<Spark> clones) {
+        for (List<Spark> batch : partition(clones, clonePolicy.getBatchSize())) {
+            try {
+                sparkRepository.insertAllUnordered(batch);
+            } catch (BulkOperationException e) {
+                sparkRepository.deleteAllById(clones.stream().map(Spark::getId).toList());
+                Spark rejected = e.getErrors().stream()
+                        .filter(error -> error.getCode() == DUPLICATE_KEY_ERROR)
+                        .map(error -> batch.get(error.getIndex()))
+                        .findFirst()
+                        .orElseThrow(() -> e);
+                SparkAlreadyExistsException exception = new SparkAlreadyExistsException(rejected.getTitle());
+                LoggingUtils.warn(logger, "cloneSpark", rejected.getId(),
+                        "Cloned title collided with a concurrent write, clone rolled back.", exception);
+                throw exception;
+            }
+        }
+    }
+
+    private List<ObjectId> collectSubtreeIds(ObjectId rootId) {
 
-        List<ObjectId> idsToDelete = new ArrayList<>();
+        List<ObjectId> subtreeIds = new ArrayList<>();
+        Set<ObjectId> visited = new HashSet<>();
         Deque<ObjectId> stack = new ArrayDeque<>();
 
         stack.push(rootId);
 
         while(!stack.isEmpty()) {
             ObjectId currentId = stack.pop();
-            idsToDelete.add(currentId);
+            // A parent cycle in the data must not turn a delete into an endless walk.
+            if(!visited.add(currentId)) {
+                continue;
+            }
+            subtreeIds.add(currentId);
 
-            List<Spark> children = sparkRepository.findByParentId(currentId);
+            List<Spark> children = sparkRepository.findByParentIdAndDeletedAtIsNull(currentId);
             for(Spark child : children) {
                 if(child.getId() != null) {
                     stack.push(child.getId());
                 }
             }
         }
+        return subtreeIds;
+    }
+
+    private void deleteCascade(ObjectId rootId) {
+
+        List<ObjectId> idsToDelete = collectSubtreeIds(rootId);
 
         sparkRepository.deleteAllById(idsToDelete);
+        deletionRepository.recordAll(idsToDelete, Instant.now());
+        indexDeleted(idsToDelete);
 
         LoggingUtils.info(logger, "deleteCascade", rootId,
                 "Deleted Spark subtree with {} Sparks in CASCADE mode.", idsToDelete.size());
     }
 
+    private void deleteSoft(ObjectId rootId) {
+
+        List<ObjectId> idsToTombstone = collectSubtreeIds(rootId);
+
+        long tombstoned = sparkRepository.markDeletedByIdIn(idsToTombstone, Instant.now());
+        indexDeleted(idsToTombstone);
+
+        LoggingUtils.info(logger, "deleteSoft", rootId,
+                "Tombstoned Spark subtree with {} Sparks in SOFT mode.", tombstoned);
+    }
+
     private void deletePromote(Spark spark) {
 
         ObjectId id = spark.getId();
         ObjectId parentId = spark.getParentId();
         Instant now = Instant.now();
 
-        List<Spark> children = sparkRepository.findByParentId(id);
+        long promoted = sparkRepository.updateParentIdByParentId(id, parentId, now);
 
-        for (Spark child : children) {
-            child.setParentId(parentId);
-            child.setUpdatedAt(now);
-        }
+        sparkRepository.deleteById(id);
+        deletionRepository.recordAll(List.of(id), Instant.now());
 
-        if(!children.isEmpty()) {
-            sparkRepository.saveAll(children);
+        if (promoted > 0) {
+            indexChildrenMoved(id, parentId);
             LoggingUtils.debug(logger, "deletePromote", id,
                     "Promoted {} children of deleted Spark to parentId='{}'.",
-                    children.size(), parentId);
+                    promoted, parentId);
         }
-
-        sparkRepository.deleteById(id);
+        indexDeleted(List.of(id));
 
         LoggingUtils.info(logger, "deletePromote", id,
                 "Deleted Spark in PROMOTE mode.");
     }
 
     @Override
+    @Transactional
     public void deleteSpark(ObjectId id, SparkDeleteMode mode) {
 
         LoggingUtils.debug(logger, "deleteSpark", id,
@@ -269,6 +914,8 @@ public class SparkServiceImpl implements SparkService {
             deleteCascade(id);
         } else if (mode == SparkDeleteMode.PROMOTE) {
             deletePromote(spark);
+        } else if (mode == SparkDeleteMode.SOFT) {
+            deleteSoft(id);
         } else {
             throw new IllegalArgumentException("Unsupported delete mode: " + mode);
         }
@@ -292,15 +939,15 @@ public class SparkServiceImpl implements SparkService {
 
         if (byTitle) {
             sparksPage = switch (parentScope) {
-                case ANY  -> sparkRepository.findByTitleContainingIgnoreCase(title, pageable);
-                case ROOT -> sparkRepository.findByParentIdIsNullAndTitleContainingIgnoreCase(title, pageable);
-                case ID   -> sparkRepository.findByParentIdAndTitleContainingIgnoreCase(parentId, title, pageable);
+                case ANY  -> sparkRepository.findByTitleContainingIgnoreCaseAndDeletedAtIsNull(title, pageable);
+                case ROOT -> sparkRepository.findByParentIdIsNullAndTitleContainingIgnoreCaseAndDeletedAtIsNull(title, pageable);
+                case ID   -> sparkRepository.findByParentIdAndTitleContainingIgnoreCaseAndDeletedAtIsNull(parentId, title, pageable);
             };
         } else {
             sparksPage = switch (parentScope) {
-                case ANY  -> sparkRepository.findAll(pageable);
-                case ROOT -> sparkRepository.findByParentIdIsNull(pageable);
-                case ID   -> sparkRepository.findByParentId(parentId, pageable);
+                case ANY  -> sparkRepository.findByDeletedAtIsNull(pageable);
+                case ROOT -> sparkRepository.findByParentIdIsNullAndDeletedAtIsNull(pageable);
+                case ID   -> sparkRepository.findByParentIdAndDeletedAtIsNull(parentId, pageable);
             };
         }
 
@@ -310,4 +957,112 @@ public class SparkServiceImpl implements SparkService {
 
         return sparksPage;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<Spark> searchSparksByText(String text, ParentSearchScope parentScope, ObjectId parentId, int page, int size) {
+
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text must not be blank in text mode.");
+        }
+
+        page = Math.max(page, 0);
+        size = size <= 0 ? 20 : size;
+
+        Sort byRelevance = Sort.by("textScore").and(Sort.by(Sort.Direction.ASC, "createdAt"));
+        Pageable pageable = PageRequest.of(page, size, byRelevance);
+        TextCriteria criteria = TextCriteria.forDefaultLanguage().matching(text);
+
+        LoggingUtils.debug(logger, "searchSparksByText", null,
+                "Text searching Sparks with criteria: [text='{}', parentScope={}, parentId={}, page={}, size={}]...",
+                text, parentScope, parentId, page, size);
+
+        Page<Spark> sparksPage = switch (parentScope) {
+            case ANY  -> sparkRepository.findByDeletedAtIsNull(criteria, pageable);
+            case ROOT -> sparkRepository.findByParentIdIsNullAndDeletedAtIsNull(criteria, pageable);
+            case ID   -> sparkRepository.findByParentIdAndDeletedAtIsNull(parentId, criteria, pageable);
+        };
+
+        LoggingUtils.info(logger, "searchSparksByText", null,
+                "Found {} Sparks matching criteria: [text='{}', parentScope={}, parentId={}, page={}, size={}].",
+                sparksPage.getTotalElements(), text, parentScope, parentId, page, size);
+
+        return sparksPage;
+    }
+
+    @Override
+    public Page<Spark> searchSparksByFuzzyTitle(String title, int maxDistance, ParentSearchScope parentScope,
+                                                ObjectId parentId, int page, int size) {
+
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("Search title must not be blank in fuzzy mode.");
+        }
+        if (maxDistance < 1 || maxDistance > titleFuzzyIndex.getMaxDistance()) {
+            throw new IllegalArgumentException(
+                    "Fuzzy distance must be between 1 and " + titleFuzzyIndex.getMaxDistance() + ".");
+        }
+
+        page = Math.max(page, 0);
+        size = size <= 0 ? 20 : size;
+
+        if (!titleFuzzyIndex.isReady()) {
+            LoggingUtils.warn(logger, "searchSparksByFuzzyTitle", null,
+                    "Fuzzy title index is not ready, falling back to substring search.");
+            return searchSparks(title, parentScope, parentId, page, size);
+        }
+
+        LoggingUtils.debug(logger, "searchSparksByFuzzyTitle", null,
+                "Fuzzy searching Sparks with criteria: [title='{}', maxDistance={}, parentScope={}, parentId={}, page={}, size={}]...",
+                title, maxDistance, parentScope, parentId, page, size);
+
+        // Scope and tombstones are checked on every match before paging, so neither the page nor
+        // the total depends on how many out-of-scope titles happen to sort first.
+        List<SparkTitleFuzzyIndex.Match> matches = titleFuzzyIndex.search(title, maxDistance, Integer.MAX_VALUE);
+
+        List<ObjectId> matchingIds = new ArrayList<>();
+        for (int from = 0; from < matches.size(); from += FUZZY_CANDIDATE_BATCH_SIZE) {
+            List<SparkTitleFuzzyIndex.Match> batch = matches.subList(from, Math.min(from + FUZZY_CANDIDATE_BATCH_SIZE, matches.size()));
+
+            Map<ObjectId, Spark> liveById = new HashMap<>();
+            sparkRepository.findLiveParentIdsIn(batch.stream().map(SparkTitleFuzzyIndex.Match::id).toList())
+                    .forEach(spark -> liveById.put(spark.getId(), spark));
+
+            for (SparkTitleFuzzyIndex.Match match : batch) {
+                Spark spark = liveById.get(match.id());
+                if (spark == null) {
+                    continue;
+                }
+                boolean inScope = switch (parentScope) {
+                    case ANY  -> true;
+                    case ROOT -> spark.getParentId() == null;
+                    case ID   -> Objects.equals(spark.getParentId(), parentId);
+                };
+                if (inScope) {
+                    matchingIds.add(match.id());
+                }
+            }
+        }
+
+        int start = (int) Math.min((long) page * size, matchingIds.size());
+        int end = Math.min(start + size, matchingIds.size());
+        List<ObjectId> pageIds = matchingIds.subList(start, end);
+
+        Map<ObjectId, Spark> sparksById = new HashMap<>();
+        if (!pageIds.isEmpty()) {
+            sparkRepository.findAllById(pageIds).forEach(spark -> sparksById.put(spark.getId(), spark));
+        }
+        List<Spark> pageSparks = new ArrayList<>(pageIds.size());
+        for (ObjectId id : pageIds) {
+            Spark spark = sparksById.get(id);
+            if (spark != null) {
+                pageSparks.add(spark);
+            }
+        }
+        Page<Spark> sparksPage = new PageImpl<>(pageSparks, PageRequest.of(page, size), matchingIds.size());
+
+        LoggingUtils.info(logger, "searchSparksByFuzzyTitle", null,
+                "Found {} Sparks matching criteria: [title='{}', maxDistance={}, parentScope={}, parentId={}, page={}, size={}].",
+                sparksPage.getTotalElements(), title, maxDistance, parentScope, parentId, page, size);
+
+        return sparksPage;
+    }
+}
@@ -0,0 +1,98 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.repository.SparkDeletionRepository;
+import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Physically removes soft-deleted Sparks off-peak. Deletes run in batches and are paced so
+ * that no more than {@code max-deletes-per-second} documents are removed, and a run stops
+ * after {@code max-run-duration} even if tombstones remain.
+ */
+@Component
+@ConditionalOnProperty(name = "ignitr.spark.tombstones.compaction.enabled", havingValue = "true", matchIfMissing = true)
+public class SparkTombstoneCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkTombstoneCompactor.class);
+
+    private final SparkRepository sparkRepository;
+    private final SparkDeletionRepository deletionRepository;
+    private final int batchSize;
+    private final int maxDeletesPerSecond;
+    private final Duration maxRunDuration;
+
+    public SparkTombstoneCompactor(
+            SparkRepository sparkRepository,
+            SparkDeletionRepository deletionRepository,
+            @Value("${ignitr.spark.tombstones.compaction.batch-size:500}") int batchSize,
+            @Value("${ignitr.spark.tombstones.compaction.max-deletes-per-second:2000}") int maxDeletesPerSecond,
+            @Value("${ignitr.spark.tombstones.compaction.max-run-duration:PT1H}") Duration maxRunDuration
+    ) {
+        if (batchSize <= 0 || maxDeletesPerSecond <= 0) {
+            throw new IllegalArgumentException("Compaction batch size and delete rate must be positive.");
+        }
+        this.sparkRepository = sparkRepository;
+        this.deletionRepository = deletionRepository;
+        this.batchSize = batchSize;
+        this.maxDeletesPerSecond = maxDeletesPerSecond;
+        this.maxRunDuration = maxRunDuration;
+    }
+
+    @Scheduled(cron = "${ignitr.spark.tombstones.compaction.cron:0 0 3 * * *}")
+    public void compactOnSchedule() {
+        compact(Instant.now());
+    }
+
+    public long compact(Instant deletedBefore) {
+
+        LoggingUtils.debug(logger, "compact", null,
+                "Compacting Spark tombstones older than {}...", deletedBefore);
+
+        long start = System.nanoTime();
+        long deadline = start + maxRunDuration.toNanos();
+        long minBatchNanos = batchSize * 1_000_000_000L / maxDeletesPerSecond;
+        long removed = 0;
+
+        while (System.nanoTime() < deadline) {
+            long batchStart = System.nanoTime();
+            List<ObjectId> ids = sparkRepository.findTombstoneIds(deletedBefore, PageRequest.of(0, batchSize))
+                    .stream()
+                    .map(Spark::getId)
+                    .toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+            sparkRepository.deleteAllById(ids);
+            deletionRepository.recordAll(ids, Instant.now());
+            removed += ids.size();
+
+            long pause = minBatchNanos - (System.nanoTime() - batchStart);
+            if (pause > 0) {
+                try {
+                    Thread.sleep(Duration.ofNanos(pause));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        LoggingUtils.info(logger, "compact", null,
+                "Removed {} Spark tombstones in {} ms.", removed, (System.nanoTime() - start) / 1_000_000);
+
+        return removed;
+    }
+}
@@ -0,0 +1,78 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+/**
+ * Runs independent blocking lookups of one tree load (sibling child queries, id chunks) on
+ * virtual threads, at most {@code max-concurrency} at a time per load, and returns their results
+ * in input order. A limit of 1 runs everything on the calling thread.
+ */
+@Component
+public class SparkTreeFanOut {
+
+    private static final ThreadFactory VIRTUAL_THREADS = Thread.ofVirtual().name("spark-tree-load-", 0).factory();
+
+    private final int maxConcurrency;
+
+    public SparkTreeFanOut(@Value("${ignitr.spark.tree.load-concurrency:8}") int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Tree load concurrency must be positive.");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> task) {
+        List<R> results = new ArrayList<>(items.size());
+        if (maxConcurrency == 1 || items.size() <= 1) {
+            for (T item : items) {
+                results.add(task.apply(item));
+            }
+            return results;
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(VIRTUAL_THREADS)) {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            try {
+                for (T item : items) {
+                    permits.acquire();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return task.apply(item);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+                for (Future<R> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading Spark tree.", e);
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,31 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+public record SparkTreeLimits(
+        int maxDepth,
+        int maxChildrenPerNode
+) {
+
+    public SparkTreeLimits {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative.");
+        }
+        if (maxChildrenPerNode < 1) {
+            throw new IllegalArgumentException("maxChildrenPerNode must be at least 1.");
+        }
+    }
+
+    public static SparkTreeLimits unlimited() {
+        return new SparkTreeLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    public static SparkTreeLimits of(Integer maxDepth, Integer maxChildrenPerNode) {
+        return new SparkTreeLimits(
+                maxDepth != null ? maxDepth : Integer.MAX_VALUE,
+                maxChildrenPerNode != null ? maxChildrenPerNode : Integer.MAX_VALUE
+        );
+    }
+
+    public boolean isUnlimited() {
+        return maxDepth == Integer.MAX_VALUE && maxChildrenPerNode == Integer.MAX_VALUE;
+    }
+}
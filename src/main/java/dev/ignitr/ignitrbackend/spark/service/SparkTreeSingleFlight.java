@@ -0,0 +1,88 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.common.utils.LoggingUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent reads of the same tree share one load: the first caller for a root and limits
+ * runs the loader, callers arriving while it runs wait for and receive the same result (or
+ * exception). Nothing is cached once the load completes.
+ * <p>
+ * Results are shared between callers, so they must not be modified after the loader returns.
+ */
+final class SparkTreeSingleFlight<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SparkTreeSingleFlight.class);
+
+    private record Key(ObjectId rootId, SparkTreeLimits limits) {}
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private final String operation;
+    private final Map<Key, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final DistributionSummary waitersPerLoad;
+
+    SparkTreeSingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.operation = operation;
+        this.waitersPerLoad = DistributionSummary.builder("ignitr.spark.tree.single-flight.waiters")
+                .description("Callers per tree load that waited for it instead of loading themselves")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("ignitr.spark.tree.single-flight.inflight", flights, Map::size)
+                .description("Tree loads currently in flight")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    V execute(ObjectId rootId, SparkTreeLimits limits, Supplier<V> loader) {
+        Key key = new Key(rootId, limits);
+        Flight<V> own = new Flight<>();
+        Flight<V> flight = flights.putIfAbsent(key, own);
+
+        if (flight != null) {
+            flight.waiters.incrementAndGet();
+            try {
+                return flight.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            V value = loader.get();
+            own.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, own);
+            int waiters = own.waiters.get();
+            waitersPerLoad.record(waiters);
+            if (waiters > 0) {
+                LoggingUtils.debug(logger, operation, rootId, "Shared tree load with {} waiting callers.", waiters);
+            }
+        }
+    }
+}
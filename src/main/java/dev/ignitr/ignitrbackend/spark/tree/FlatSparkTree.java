@@ -0,0 +1,22 @@
+package dev.ignitr.ignitrbackend.spark.tree;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+
+import java.util.Map;
+
+/**
+ * A loaded subtree kept as the flat maps it was fetched into, without building {@link SparkTree}
+ * nodes. {@code scores} is empty when scoring failed.
+ */
+public record FlatSparkTree(
+        ObjectId rootId,
+        Map<ObjectId, Spark> sparks,
+        Map<ObjectId, Integer> truncatedChildCounts,
+        Map<ObjectId, Integer> scores
+) {
+
+    public FlatSparkTree withScores(Map<ObjectId, Integer> scores) {
+        return new FlatSparkTree(rootId, sparks, truncatedChildCounts, scores);
+    }
+}
@@ -18,6 +18,9 @@ public class SparkTree {
     private int goodReasonsCount;
     private int badReasonsCount;
     private List<SparkTree> children;
+    private int childCount;
+    private boolean hasMoreChildren;
+    private String nextChildrenCursor;
     private Instant createdAt;
     private Instant updatedAt;
 
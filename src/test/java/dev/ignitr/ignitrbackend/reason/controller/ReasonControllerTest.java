@@ -1,12 +1,15 @@
 package dev.ignitr.ignitrbackend.reason.controller;
 
 import dev.ignitr.ignitrbackend.common.error.GlobalExceptionHandler;
+import dev.ignitr.ignitrbackend.reason.dto.BatchCreateReasonsRequestDTO;
 import dev.ignitr.ignitrbackend.reason.dto.CreateReasonRequestDTO;
 import dev.ignitr.ignitrbackend.reason.dto.UpdateReasonRequestDTO;
 import dev.ignitr.ignitrbackend.reason.exception.ReasonAlreadyExistsException;
+import dev.ignitr.ignitrbackend.reason.exception.ReasonConcurrentModificationException;
 import dev.ignitr.ignitrbackend.reason.exception.ReasonNotFoundException;
 import dev.ignitr.ignitrbackend.reason.model.Reason;
 import dev.ignitr.ignitrbackend.reason.model.ReasonType;
+import dev.ignitr.ignitrbackend.reason.service.ReasonBatchResult;
 import dev.ignitr.ignitrbackend.reason.service.ReasonService;
 import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
 import org.bson.types.ObjectId;
@@ -54,6 +57,53 @@ class ReasonControllerTest {
         return reason;
     }
 
+    @Test
+    void createReasons_returns201AndPerItemStatus_onSuccess() throws Exception {
+
+        ObjectId sparkId = new ObjectId();
+        Reason created = buildReason(new ObjectId(), ReasonType.GOOD, "Fresh");
+
+        when(reasonService.createReasons(eq(sparkId), anyList())).thenReturn(List.of(
+                new ReasonBatchResult("Fresh", created, true),
+                new ReasonBatchResult("fresh", null, false)
+        ));
+
+        BatchCreateReasonsRequestDTO request = new BatchCreateReasonsRequestDTO(List.of(
+                new CreateReasonRequestDTO("Fresh", ReasonType.GOOD),
+                new CreateReasonRequestDTO("fresh", ReasonType.GOOD)
+        ));
+
+        mockMvc.perform(post("/sparks/{sparkId}/reasons/batch", sparkId.toHexString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.duplicates", is(1)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[0].reason.id", is(created.getId().toHexString())))
+                .andExpect(jsonPath("$.results[1].status", is("DUPLICATE")));
+    }
+
+    @Test
+    void createReasons_returns409_whenSparkKeepsChanging() throws Exception {
+
+        ObjectId sparkId = new ObjectId();
+
+        when(reasonService.createReasons(eq(sparkId), anyList()))
+                .thenThrow(new ReasonConcurrentModificationException(sparkId, 3));
+
+        BatchCreateReasonsRequestDTO request = new BatchCreateReasonsRequestDTO(List.of(
+                new CreateReasonRequestDTO("Fresh", ReasonType.GOOD)
+        ));
+
+        mockMvc.perform(post("/sparks/{sparkId}/reasons/batch", sparkId.toHexString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code", is("REASON_CONCURRENT_MODIFICATION")))
+                .andExpect(jsonPath("$.status", is(409)));
+    }
+
     @Test
     void createReason_returns201AndBody_onSuccess() throws Exception {
 
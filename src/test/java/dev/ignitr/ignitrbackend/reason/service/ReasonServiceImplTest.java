@@ -1,6 +1,7 @@
 package dev.ignitr.ignitrbackend.reason.service;
 
 import dev.ignitr.ignitrbackend.reason.exception.ReasonAlreadyExistsException;
+import dev.ignitr.ignitrbackend.reason.exception.ReasonConcurrentModificationException;
 import dev.ignitr.ignitrbackend.reason.exception.ReasonNotFoundException;
 import dev.ignitr.ignitrbackend.reason.model.Reason;
 import dev.ignitr.ignitrbackend.reason.model.ReasonType;
@@ -10,6 +11,7 @@ import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -55,6 +57,83 @@ class ReasonServiceImplTest {
         return reason;
     }
 
+    @Test
+    void createReasons_appendsOnlyNewContentInOnePush() {
+
+        ObjectId sparkId = new ObjectId();
+        Spark spark = buildSpark(sparkId);
+        spark.getReasons().add(buildReason(new ObjectId(), ReasonType.GOOD, "Already there"));
+
+        when(sparkService.getSparkById(sparkId)).thenReturn(spark);
+        when(sparkService.appendReasons(eq(spark), anyList())).thenReturn(true);
+
+        List<ReasonBatchResult> results = reasonService.createReasons(sparkId, List.of(
+                new ReasonBatchItem("already there", ReasonType.BAD),
+                new ReasonBatchItem("Fresh", ReasonType.GOOD),
+                new ReasonBatchItem("FRESH", ReasonType.BAD),
+                new ReasonBatchItem("Other", ReasonType.BAD)
+        ));
+
+        assertThat(results).extracting(ReasonBatchResult::created)
+                .containsExactly(false, true, false, true);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Reason>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sparkService).appendReasons(eq(spark), captor.capture());
+        assertThat(captor.getValue()).extracting(Reason::getContent).containsExactly("Fresh", "Other");
+        verify(sparkService, never()).saveSpark(any(Spark.class));
+    }
+
+    @Test
+    void createReasons_skipsWrite_whenEverythingIsDuplicate() {
+
+        ObjectId sparkId = new ObjectId();
+        Spark spark = buildSpark(sparkId);
+        spark.getReasons().add(buildReason(new ObjectId(), ReasonType.GOOD, "Known"));
+
+        when(sparkService.getSparkById(sparkId)).thenReturn(spark);
+
+        List<ReasonBatchResult> results = reasonService.createReasons(sparkId,
+                List.of(new ReasonBatchItem("known", ReasonType.GOOD)));
+
+        assertThat(results).singleElement().extracting(ReasonBatchResult::created).isEqualTo(false);
+        verify(sparkService, never()).appendReasons(any(), anyList());
+    }
+
+    @Test
+    void createReasons_rereadsSpark_whenConcurrentWriteWins() {
+
+        ObjectId sparkId = new ObjectId();
+        Spark stale = buildSpark(sparkId);
+        Spark fresh = buildSpark(sparkId);
+        fresh.getReasons().add(buildReason(new ObjectId(), ReasonType.GOOD, "Fresh"));
+
+        when(sparkService.getSparkById(sparkId)).thenReturn(stale, fresh);
+        when(sparkService.appendReasons(eq(stale), anyList())).thenReturn(false);
+
+        List<ReasonBatchResult> results = reasonService.createReasons(sparkId,
+                List.of(new ReasonBatchItem("Fresh", ReasonType.GOOD)));
+
+        assertThat(results).singleElement().extracting(ReasonBatchResult::created).isEqualTo(false);
+        verify(sparkService, times(2)).getSparkById(sparkId);
+    }
+
+    @Test
+    void createReasons_throwsConcurrentModification_whenEveryAttemptLoses() {
+
+        ObjectId sparkId = new ObjectId();
+        Spark spark = buildSpark(sparkId);
+
+        when(sparkService.getSparkById(sparkId)).thenReturn(spark);
+        when(sparkService.appendReasons(eq(spark), anyList())).thenReturn(false);
+
+        assertThatThrownBy(() -> reasonService.createReasons(sparkId,
+                List.of(new ReasonBatchItem("Fresh", ReasonType.GOOD))))
+                .isInstanceOf(ReasonConcurrentModificationException.class);
+
+        verify(sparkService, times(3)).appendReasons(eq(spark), anyList());
+    }
+
     @Test
     void createReason_returnsSavedReason_whenSparkExists() {
 
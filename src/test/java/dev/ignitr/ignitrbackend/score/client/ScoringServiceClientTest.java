@@ -0,0 +1,115 @@
+package dev.ignitr.ignitrbackend.score.client;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ScoringServiceClientTest {
+
+    private final ObjectId rootId = new ObjectId();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockRestServiceServer server;
+    private ScoringServiceClient client;
+    private Map<ObjectId, Spark> sparkMap;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl("http://scorer");
+        server = MockRestServiceServer.bindTo(builder).build();
+        client = new ScoringServiceClient(builder.build(), JsonMapper.builder().build(), meterRegistry, true, 0, null);
+        Instant now = Instant.now();
+        sparkMap = Map.of(rootId, new Spark(rootId, "Root", null, null, new ArrayList<>(), now, now));
+    }
+
+    private String scoreJson(int score) {
+        return "{\"id\":\"" + rootId.toHexString() + "\",\"score\":" + score + ",\"children\":[]}";
+    }
+
+    private double payloadCount(String encoding) {
+        return meterRegistry.get("ignitr.scorer.request.size").tag("encoding", encoding).summary().count();
+    }
+
+    @Test
+    void postSparkScores_compressesRequests_onceScorerAdvertisesGzip() {
+
+        server.expect(requestTo("http://scorer/score/" + rootId.toHexString()))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(headerDoesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andRespond(withSuccess(scoreJson(5), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"));
+        server.expect(requestTo("http://scorer/score/" + rootId.toHexString()))
+                .andExpect(header(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andRespond(withSuccess(scoreJson(6), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertThat(client.postSparkScores(sparkMap, rootId)).containsEntry(rootId, 5);
+        assertThat(client.postSparkScores(sparkMap, rootId)).containsEntry(rootId, 6);
+
+        server.verify();
+        assertThat(payloadCount("identity")).isEqualTo(1);
+        assertThat(payloadCount("gzip")).isEqualTo(1);
+        assertThat(meterRegistry.get("ignitr.scorer.request.encode").tag("encoding", "gzip").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void postSparkScores_resendsPlainJson_whenScorerRejectsGzip() {
+
+        server.expect(requestTo("http://scorer/score/" + rootId.toHexString()))
+                .andRespond(withSuccess(scoreJson(1), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        server.expect(requestTo("http://scorer/score/" + rootId.toHexString()))
+                .andExpect(header(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andRespond(withStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+        server.expect(requestTo("http://scorer/score/" + rootId.toHexString()))
+                .andExpect(headerDoesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andRespond(withSuccess(scoreJson(2), MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://scorer/score/" + rootId.toHexString()))
+                .andExpect(headerDoesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andRespond(withSuccess(scoreJson(3), MediaType.APPLICATION_JSON));
+
+        client.postSparkScores(sparkMap, rootId);
+        assertThat(client.postSparkScores(sparkMap, rootId)).containsEntry(rootId, 2);
+        assertThat(client.postSparkScores(sparkMap, rootId)).containsEntry(rootId, 3);
+
+        server.verify();
+        assertThat(payloadCount("identity")).isEqualTo(3);
+        assertThat(payloadCount("gzip")).isZero();
+    }
+
+    @Test
+    void postForestScores_returnsNullAndStopsAsking_whenScorerLacksMultiTreeEndpoint() {
+
+        server.expect(requestTo("http://scorer/score"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThat(client.postForestScores(sparkMap, List.of(rootId))).isNull();
+        assertThat(client.postForestScores(sparkMap, List.of(rootId))).isNull();
+
+        server.verify();
+    }
+}
@@ -0,0 +1,77 @@
+package dev.ignitr.ignitrbackend.score.client;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class SparkScoreResponseReaderTest {
+
+    private static Map<ObjectId, Integer> read(String json) {
+        return SparkScoreResponseReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), 4);
+    }
+
+    @Test
+    void read_collectsEveryScore_regardlessOfPropertyOrder() {
+
+        ObjectId root = new ObjectId();
+        ObjectId a = new ObjectId();
+        ObjectId b = new ObjectId();
+        String json = "{\"id\":\"" + root.toHexString() + "\",\"children\":["
+                + "{\"children\":[],\"score\":3,\"id\":\"" + a.toHexString() + "\"},"
+                + "{\"id\":\"" + b.toHexString() + "\",\"extra\":{\"id\":\"ignored\"},\"score\":-2}"
+                + "],\"score\":7}";
+
+        assertThat(read(json)).containsOnly(entry(root, 7), entry(a, 3), entry(b, -2));
+    }
+
+    @Test
+    void read_skipsNodesWithoutScore() {
+
+        ObjectId root = new ObjectId();
+        ObjectId a = new ObjectId();
+        String json = "{\"id\":\"" + root.toHexString() + "\",\"score\":1,\"children\":["
+                + "{\"id\":\"" + a.toHexString() + "\",\"score\":null}]}";
+
+        assertThat(read(json)).containsOnly(entry(root, 1));
+    }
+
+    @Test
+    void read_truncatesFractionalScores() {
+
+        ObjectId root = new ObjectId();
+        ObjectId a = new ObjectId();
+        ObjectId b = new ObjectId();
+        String json = "{\"id\":\"" + root.toHexString() + "\",\"score\":2.75,\"children\":["
+                + "{\"id\":\"" + a.toHexString() + "\",\"score\":-1.5},"
+                + "{\"id\":\"" + b.toHexString() + "\",\"score\":4.0}]}";
+
+        assertThat(read(json)).containsOnly(entry(root, 2), entry(a, -1), entry(b, 4));
+    }
+
+    @Test
+    void read_parsesDeepChain_pastJacksonNestingLimit() {
+
+        int depth = 100_000;
+        List<ObjectId> ids = new ArrayList<>(depth);
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            ObjectId id = new ObjectId();
+            ids.add(id);
+            json.append("{\"id\":\"").append(id.toHexString()).append("\",\"score\":").append(i).append(",\"children\":[");
+        }
+        json.append("]}".repeat(depth));
+
+        Map<ObjectId, Integer> scores = read(json.toString());
+
+        assertThat(scores).hasSize(depth);
+        assertThat(scores.get(ids.get(depth - 1))).isEqualTo(depth - 1);
+    }
+}
@@ -0,0 +1,65 @@
+package dev.ignitr.ignitrbackend.score.engine;
+
+import dev.ignitr.ignitrbackend.score.exception.ScoringException;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HttpSparkScoringEngineTest {
+
+    @Mock
+    private SparkScoreBatcher sparkScoreBatcher;
+
+    private HttpSparkScoringEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new HttpSparkScoringEngine(sparkScoreBatcher);
+    }
+
+    @Test
+    void score_returnsBatchedScoresOfOwnTree() {
+
+        ObjectId rootId = new ObjectId();
+        Map<ObjectId, Spark> tree = Map.of(rootId, new Spark());
+        when(sparkScoreBatcher.submit(rootId, tree)).thenReturn(CompletableFuture.completedFuture(Map.of(rootId, 1)));
+
+        assertThat(engine.score(rootId, tree)).isEqualTo(Map.of(rootId, 1));
+    }
+
+    @Test
+    void score_rethrowsScoringException_whenOwnTreeFails() {
+
+        ObjectId rootId = new ObjectId();
+        Map<ObjectId, Spark> tree = Map.of(rootId, new Spark());
+        ScoringException failure = new ScoringException(rootId);
+        when(sparkScoreBatcher.submit(rootId, tree)).thenReturn(CompletableFuture.failedFuture(failure));
+
+        assertThatThrownBy(() -> engine.score(rootId, tree)).isSameAs(failure);
+    }
+
+    @Test
+    void score_throwsScoringException_whenBatchFailsUnexpectedly() {
+
+        ObjectId rootId = new ObjectId();
+        Map<ObjectId, Spark> tree = Map.of(rootId, new Spark());
+        when(sparkScoreBatcher.submit(rootId, tree))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+        assertThatThrownBy(() -> engine.score(rootId, tree))
+                .isInstanceOf(ScoringException.class)
+                .hasMessageContaining(rootId.toHexString());
+    }
+}
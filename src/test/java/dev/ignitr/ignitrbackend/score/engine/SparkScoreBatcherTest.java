@@ -0,0 +1,142 @@
+package dev.ignitr.ignitrbackend.score.engine;
+
+import dev.ignitr.ignitrbackend.score.client.ScoringServiceClient;
+import dev.ignitr.ignitrbackend.score.exception.ScoringException;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SparkScoreBatcherTest {
+
+    @Mock
+    private ScoringServiceClient scoringServiceClient;
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static Map<ObjectId, Spark> tree(ObjectId rootId) {
+        Instant now = Instant.now();
+        return Map.of(rootId, new Spark(rootId, "Root", null, null, new ArrayList<>(), now, now));
+    }
+
+    @Test
+    void submit_sendsTreesFromOneWindowInOneRequest_andFansScoresOut() {
+
+        SparkScoreBatcher batcher = new SparkScoreBatcher(scoringServiceClient, executor, Duration.ofMillis(50), 100);
+        ObjectId rootA = new ObjectId();
+        ObjectId rootB = new ObjectId();
+        Map<ObjectId, Spark> forest = new HashMap<>(tree(rootA));
+        forest.putAll(tree(rootB));
+        when(scoringServiceClient.postForestScores(forest, Set.of(rootA, rootB)))
+                .thenReturn(Map.of(rootA, 4, rootB, 9));
+
+        CompletableFuture<Map<ObjectId, Integer>> a = batcher.submit(rootA, tree(rootA));
+        CompletableFuture<Map<ObjectId, Integer>> b = batcher.submit(rootB, tree(rootB));
+
+        assertThat(a.join()).containsOnly(entry(rootA, 4));
+        assertThat(b.join()).containsOnly(entry(rootB, 9));
+        verify(scoringServiceClient, never()).postSparkScores(anyMap(), any());
+    }
+
+    @Test
+    void submit_scoresTreesOneByOne_whenScorerHasNoMultiTreeEndpoint() {
+
+        SparkScoreBatcher batcher = new SparkScoreBatcher(scoringServiceClient, executor, Duration.ofMillis(50), 100);
+        ObjectId rootA = new ObjectId();
+        ObjectId rootB = new ObjectId();
+        when(scoringServiceClient.postForestScores(anyMap(), anyCollection())).thenReturn(null);
+        when(scoringServiceClient.postSparkScores(tree(rootA), rootA)).thenReturn(Map.of(rootA, 1));
+        when(scoringServiceClient.postSparkScores(tree(rootB), rootB)).thenReturn(Map.of(rootB, 2));
+
+        CompletableFuture<Map<ObjectId, Integer>> a = batcher.submit(rootA, tree(rootA));
+        CompletableFuture<Map<ObjectId, Integer>> b = batcher.submit(rootB, tree(rootB));
+
+        assertThat(a.join()).containsOnly(entry(rootA, 1));
+        assertThat(b.join()).containsOnly(entry(rootB, 2));
+    }
+
+    @Test
+    void submit_scoresTreesOneByOne_whenMultiTreeRequestFails() {
+
+        SparkScoreBatcher batcher = new SparkScoreBatcher(scoringServiceClient, executor, Duration.ofMillis(50), 100);
+        ObjectId rootA = new ObjectId();
+        ObjectId rootB = new ObjectId();
+        when(scoringServiceClient.postForestScores(anyMap(), anyCollection()))
+                .thenThrow(new ScoringException(rootA));
+        when(scoringServiceClient.postSparkScores(tree(rootA), rootA)).thenThrow(new ScoringException(rootA));
+        when(scoringServiceClient.postSparkScores(tree(rootB), rootB)).thenReturn(Map.of(rootB, 2));
+
+        CompletableFuture<Map<ObjectId, Integer>> a = batcher.submit(rootA, tree(rootA));
+        CompletableFuture<Map<ObjectId, Integer>> b = batcher.submit(rootB, tree(rootB));
+
+        assertThat(b.join()).containsOnly(entry(rootB, 2));
+        assertThatThrownBy(a::join).hasCauseInstanceOf(ScoringException.class);
+    }
+
+    @Test
+    void submit_keepsNestedTreesWholeInSeparateRequests() {
+
+        SparkScoreBatcher batcher = new SparkScoreBatcher(scoringServiceClient, executor, Duration.ofMillis(50), 100);
+        ObjectId outerRoot = new ObjectId();
+        ObjectId innerRoot = new ObjectId();
+        Instant now = Instant.now();
+        Map<ObjectId, Spark> outer = new HashMap<>(tree(outerRoot));
+        outer.put(innerRoot, new Spark(innerRoot, "Inner", null, outerRoot, new ArrayList<>(), now, now));
+        Map<ObjectId, Spark> inner = Map.of(innerRoot, outer.get(innerRoot));
+        when(scoringServiceClient.postSparkScores(outer, outerRoot)).thenReturn(Map.of(outerRoot, 7, innerRoot, 3));
+        when(scoringServiceClient.postSparkScores(inner, innerRoot)).thenReturn(Map.of(innerRoot, 5));
+
+        CompletableFuture<Map<ObjectId, Integer>> a = batcher.submit(outerRoot, outer);
+        CompletableFuture<Map<ObjectId, Integer>> b = batcher.submit(innerRoot, inner);
+
+        assertThat(a.join()).containsOnly(entry(outerRoot, 7), entry(innerRoot, 3));
+        assertThat(b.join()).containsOnly(entry(innerRoot, 5));
+        verify(scoringServiceClient, never()).postForestScores(anyMap(), anyCollection());
+    }
+
+    @Test
+    void submit_splitsBatch_whenSparkLimitIsReached() {
+
+        SparkScoreBatcher batcher = new SparkScoreBatcher(scoringServiceClient, executor, Duration.ofHours(1), 1);
+        ObjectId rootA = new ObjectId();
+        ObjectId rootB = new ObjectId();
+        when(scoringServiceClient.postSparkScores(tree(rootA), rootA)).thenReturn(Map.of(rootA, 1));
+        when(scoringServiceClient.postSparkScores(tree(rootB), rootB)).thenReturn(Map.of(rootB, 2));
+
+        // A one-Spark limit fills the batch on every submit, so nothing waits for the hour-long window.
+        assertThat(batcher.submit(rootA, tree(rootA)).join()).containsOnly(entry(rootA, 1));
+        assertThat(batcher.submit(rootB, tree(rootB)).join()).containsOnly(entry(rootB, 2));
+        verify(scoringServiceClient, times(2)).postSparkScores(anyMap(), any());
+        verify(scoringServiceClient, never()).postForestScores(anyMap(), anyCollection());
+    }
+}
@@ -1,9 +1,10 @@
 package dev.ignitr.ignitrbackend.score.service;
 
-import dev.ignitr.ignitrbackend.score.client.ScoringServiceClient;
+import dev.ignitr.ignitrbackend.score.engine.SparkScoringEngine;
 import dev.ignitr.ignitrbackend.score.exception.ScoringException;
 import dev.ignitr.ignitrbackend.score.tree.ScoredSparkTree;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +15,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,58 +26,67 @@ import static org.mockito.Mockito.when;
 public class SparkScoreServiceImplTest {
 
     @Mock
-    private ScoringServiceClient scoringServiceClient;
+    private SparkScoringEngine sparkScoringEngine;
 
     private SparkScoreService sparkScoreService;
 
     @BeforeEach
     void setUp() {
-        sparkScoreService = new SparkScoreServiceImpl(scoringServiceClient);
+        sparkScoreService = new SparkScoreServiceImpl(sparkScoringEngine);
     }
 
     @Test
-    void scoreTree_returnsScoredTree_whenClientSucceeds() {
+    void scoreTree_buildsScoredTreeFromSparkMap_whenEngineSucceeds() {
 
         ObjectId rootId = new ObjectId();
+        ObjectId childId = new ObjectId();
+        ObjectId unscoredId = new ObjectId();
         Instant now = Instant.now();
-        Spark spark = new Spark(rootId, "Root", "Desc", null, List.of(), now, now);
         Map<ObjectId, Spark> sparkMap = new HashMap<>();
-        sparkMap.put(rootId, spark);
-
-        ScoredSparkTree expected = new ScoredSparkTree(
-                rootId,
-                "Root",
-                "Desc",
-                null,
-                1,
-                0,
-                new ArrayList<>(),
-                now,
-                now,
-                10
-        );
-
-        when(scoringServiceClient.postSparkTreeScore(sparkMap, rootId)).thenReturn(expected);
-
-        ScoredSparkTree result = sparkScoreService.scoreTree(rootId, sparkMap);
-
-        assertThat(result).isSameAs(expected);
-        verify(scoringServiceClient).postSparkTreeScore(sparkMap, rootId);
+        sparkMap.put(rootId, new Spark(rootId, "Root", "Desc", null, new ArrayList<>(), now, now));
+        sparkMap.put(childId, new Spark(childId, "Child", null, rootId, new ArrayList<>(), now, now));
+        sparkMap.put(unscoredId, new Spark(unscoredId, "Unscored", null, childId, new ArrayList<>(), now, now));
+
+        when(sparkScoringEngine.score(rootId, sparkMap)).thenReturn(Map.of(rootId, 10, childId, 4));
+
+        SparkTree result = sparkScoreService.scoreTree(rootId, sparkMap);
+
+        assertThat(result).isInstanceOf(ScoredSparkTree.class);
+        assertThat(((ScoredSparkTree) result).getScore()).isEqualTo(10);
+        SparkTree child = result.getChildren().get(0);
+        assertThat(child.getId()).isEqualTo(childId);
+        assertThat(((ScoredSparkTree) child).getScore()).isEqualTo(4);
+        SparkTree unscored = child.getChildren().get(0);
+        assertThat(unscored.getId()).isEqualTo(unscoredId);
+        assertThat(unscored).isNotInstanceOf(ScoredSparkTree.class);
+        verify(sparkScoringEngine).score(rootId, sparkMap);
     }
 
     @Test
-    void scoreTree_propagatesException_whenClientFails() {
+    void scoreTree_propagatesException_whenEngineFails() {
 
         ObjectId rootId = new ObjectId();
         Map<ObjectId, Spark> sparkMap = Map.of(rootId, new Spark());
 
-        when(scoringServiceClient.postSparkTreeScore(sparkMap, rootId))
+        when(sparkScoringEngine.score(rootId, sparkMap))
                 .thenThrow(new ScoringException(rootId));
 
         assertThatThrownBy(() -> sparkScoreService.scoreTree(rootId, sparkMap))
                 .isInstanceOf(ScoringException.class)
                 .hasMessageContaining(rootId.toHexString());
 
-        verify(scoringServiceClient).postSparkTreeScore(sparkMap, rootId);
+        verify(sparkScoringEngine).score(rootId, sparkMap);
+    }
+
+    @Test
+    void scoreSparks_returnsScoreMapFromEngine() {
+
+        ObjectId rootId = new ObjectId();
+        Map<ObjectId, Spark> sparkMap = Map.of(rootId, new Spark());
+        Map<ObjectId, Integer> scores = Map.of(rootId, 12);
+
+        when(sparkScoringEngine.score(rootId, sparkMap)).thenReturn(scores);
+
+        assertThat(sparkScoreService.scoreSparks(rootId, sparkMap)).isSameAs(scores);
     }
 }
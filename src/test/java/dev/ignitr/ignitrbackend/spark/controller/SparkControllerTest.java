@@ -1,15 +1,35 @@
 package dev.ignitr.ignitrbackend.spark.controller;
 
+import dev.ignitr.ignitrbackend.common.error.ApiErrorCode;
 import dev.ignitr.ignitrbackend.common.error.GlobalExceptionHandler;
+import dev.ignitr.ignitrbackend.spark.dto.BatchCreateSparksRequestDTO;
+import dev.ignitr.ignitrbackend.spark.dto.BatchSparkItemDTO;
 import dev.ignitr.ignitrbackend.spark.dto.CreateSparkRequestDTO;
+import dev.ignitr.ignitrbackend.spark.dto.MoveSparkRequestDTO;
 import dev.ignitr.ignitrbackend.spark.dto.PatchSparkRequestDTO;
 import dev.ignitr.ignitrbackend.spark.dto.UpdateSparkRequestDTO;
 import dev.ignitr.ignitrbackend.spark.exception.SparkAlreadyExistsException;
+import dev.ignitr.ignitrbackend.spark.exception.SparkMoveCycleException;
 import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
+import dev.ignitr.ignitrbackend.spark.exception.SparkPurgeJobNotFoundException;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJob;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJobStatus;
 import dev.ignitr.ignitrbackend.spark.service.ParentSearchScope;
+import dev.ignitr.ignitrbackend.spark.service.SparkBatchResult;
+import dev.ignitr.ignitrbackend.spark.service.SparkChildCursor;
+import dev.ignitr.ignitrbackend.spark.service.SparkChildrenPage;
 import dev.ignitr.ignitrbackend.spark.service.SparkDeleteMode;
+import dev.ignitr.ignitrbackend.spark.service.SparkExportScope;
+import dev.ignitr.ignitrbackend.spark.service.SparkExportService;
+import dev.ignitr.ignitrbackend.spark.service.SparkImportError;
+import dev.ignitr.ignitrbackend.spark.service.SparkImportRecord;
+import dev.ignitr.ignitrbackend.spark.service.SparkImportReport;
+import dev.ignitr.ignitrbackend.spark.service.SparkImportService;
+import dev.ignitr.ignitrbackend.spark.service.SparkPurgeService;
 import dev.ignitr.ignitrbackend.spark.service.SparkService;
+import dev.ignitr.ignitrbackend.spark.service.SparkTreeLimits;
+import dev.ignitr.ignitrbackend.spark.tree.FlatSparkTree;
 import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
@@ -22,14 +42,21 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import tools.jackson.databind.ObjectMapper;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -50,6 +77,15 @@ class SparkControllerTest {
     @MockitoBean
     private SparkService sparkService;
 
+    @MockitoBean
+    private SparkPurgeService sparkPurgeService;
+
+    @MockitoBean
+    private SparkExportService sparkExportService;
+
+    @MockitoBean
+    private SparkImportService sparkImportService;
+
     @Test
     void createTopLevelSpark_returns201AndBody_onSuccess() throws Exception {
 
@@ -227,6 +263,29 @@ class SparkControllerTest {
                 .andExpect(jsonPath("$[1].title", is(child2Title)));
     }
 
+    @Test
+    void getSparkChildren_returnsPageAndNextCursorHeader_whenLimitGiven() throws Exception {
+
+        ObjectId parentId = new ObjectId();
+        Instant now = Instant.now();
+        Spark child = new Spark(new ObjectId(), "Child", "Desc", parentId, List.of(), now, now);
+        SparkChildCursor after = new SparkChildCursor(now.minusSeconds(60), new ObjectId());
+        SparkChildCursor next = SparkChildCursor.after(child);
+
+        when(sparkService.getChildrenPage(parentId, after, 1))
+                .thenReturn(new SparkChildrenPage(List.of(child), next));
+
+        mockMvc.perform(get("/sparks/{id}/children", parentId.toHexString())
+                        .param("limit", "1")
+                        .param("cursor", after.encode())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", next.encode()))
+                .andExpect(jsonPath("$[0].id", is(child.getId().toHexString())));
+
+        verify(sparkService, never()).getChildren(any());
+    }
+
     @Test
     void getSparkChildren_returns404AndApiError_whenParentNotFound() throws Exception {
 
@@ -301,10 +360,14 @@ class SparkControllerTest {
         SparkTree childTree2 = SparkTree.fromSpark(child2, 0, 0, new ArrayList<>());
         SparkTree tree = SparkTree.fromSpark(root, 0, 0, List.of(childTree1, childTree2));
 
-        when(sparkService.getSparkTree(rootId)).thenReturn(tree);
+        when(sparkService.getSparkTree(rootId, SparkTreeLimits.unlimited())).thenReturn(tree);
 
-        mockMvc.perform(get("/sparks/{id}/tree", rootId.toHexString())
+        MvcResult result = mockMvc.perform(get("/sparks/{id}/tree", rootId.toHexString())
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
 
@@ -328,7 +391,7 @@ class SparkControllerTest {
     void getSparkTree_returns404AndApiError_whenRootNotFound() throws Exception {
 
         ObjectId missingId = new ObjectId("000000000000000000000001");
-        when(sparkService.getSparkTree(missingId))
+        when(sparkService.getSparkTree(missingId, SparkTreeLimits.unlimited()))
                 .thenThrow(new SparkNotFoundException(missingId));
 
         mockMvc.perform(get("/sparks/{id}/tree", missingId.toHexString())
@@ -339,6 +402,76 @@ class SparkControllerTest {
                 .andExpect(jsonPath("$.status", is(404)));
     }
 
+    @Test
+    void getSparkTree_passesLimitsAndReturnsTruncationMarkers() throws Exception {
+
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+        Spark root = new Spark(rootId, "Root", "Root desc", null, List.of(), now, now);
+        SparkTree tree = SparkTree.fromSpark(root, 0, 0, new ArrayList<>());
+        tree.setChildCount(7);
+        tree.setHasMoreChildren(true);
+
+        when(sparkService.getSparkTree(rootId, new SparkTreeLimits(0, 50))).thenReturn(tree);
+
+        MvcResult result = mockMvc.perform(get("/sparks/{id}/tree", rootId.toHexString())
+                        .param("maxDepth", "0")
+                        .param("maxChildrenPerNode", "50")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.childCount", is(7)))
+                .andExpect(jsonPath("$.hasMoreChildren", is(true)))
+                .andExpect(jsonPath("$.children").isEmpty());
+    }
+
+    @Test
+    void streamSparkTree_writesTreeFromFlatMaps_inCreationOrder() throws Exception {
+
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.parse("2025-06-01T12:00:00Z");
+        Spark root = new Spark(rootId, "Root", "Root desc", null, new ArrayList<>(), now, now);
+        Spark newer = new Spark(new ObjectId(), "Newer", null, rootId, new ArrayList<>(), now.plusSeconds(5), now);
+        Spark older = new Spark(new ObjectId(), "Older", null, rootId, new ArrayList<>(), now.plusSeconds(1), now);
+        Spark leaf = new Spark(new ObjectId(), "Leaf", null, older.getId(), new ArrayList<>(), now.plusSeconds(2), now);
+        FlatSparkTree tree = new FlatSparkTree(
+                rootId,
+                Map.of(rootId, root, newer.getId(), newer, older.getId(), older, leaf.getId(), leaf),
+                Map.of(rootId, 3),
+                Map.of(rootId, 42, older.getId(), 7)
+        );
+
+        when(sparkService.getFlatSparkTree(rootId, SparkTreeLimits.of(null, 2))).thenReturn(tree);
+
+        MvcResult result = mockMvc.perform(get("/sparks/{id}/tree", rootId.toHexString())
+                        .param("stream", "true")
+                        .param("maxChildrenPerNode", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id", is(rootId.toHexString())))
+                .andExpect(jsonPath("$.score", is(42)))
+                .andExpect(jsonPath("$.createdAt", is("2025-06-01T12:00:00Z")))
+                .andExpect(jsonPath("$.childCount", is(3)))
+                .andExpect(jsonPath("$.hasMoreChildren", is(true)))
+                .andExpect(jsonPath("$.nextChildrenCursor", is(SparkChildCursor.after(newer).encode())))
+                .andExpect(jsonPath("$.children[0].title", is("Older")))
+                .andExpect(jsonPath("$.children[0].score", is(7)))
+                .andExpect(jsonPath("$.children[0].children[0].title", is("Leaf")))
+                .andExpect(jsonPath("$.children[0].children[0].children").isEmpty())
+                .andExpect(jsonPath("$.children[1].title", is("Newer")))
+                .andExpect(jsonPath("$.children[1].score").value(nullValue()))
+                .andExpect(jsonPath("$.children[1].hasMoreChildren", is(false)));
+
+        verify(sparkService, never()).getSparkTree(any(), any());
+    }
+
     @Test
     void updateSpark_returns200AndBody_onSuccess() throws Exception {
 
@@ -499,6 +632,119 @@ class SparkControllerTest {
                 .andExpect(jsonPath("$.status", is(400)));
     }
 
+    @Test
+    void moveSpark_returns200AndBody_onSuccess() throws Exception {
+
+        ObjectId id = new ObjectId();
+        ObjectId parentId = new ObjectId();
+        Instant now = Instant.now();
+        Spark moved = new Spark(id, "Moved", "desc", parentId, List.of(), now, now);
+
+        when(sparkService.moveSpark(id, parentId)).thenReturn(moved);
+
+        mockMvc.perform(post("/sparks/{id}/move", id.toHexString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MoveSparkRequestDTO(parentId.toHexString()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(id.toHexString())));
+
+        verify(sparkService).moveSpark(id, parentId);
+    }
+
+    @Test
+    void moveSpark_movesToRoot_whenParentIdIsRoot() throws Exception {
+
+        ObjectId id = new ObjectId();
+        Instant now = Instant.now();
+        Spark moved = new Spark(id, "Moved", "desc", null, List.of(), now, now);
+
+        when(sparkService.moveSpark(id, null)).thenReturn(moved);
+
+        mockMvc.perform(post("/sparks/{id}/move", id.toHexString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MoveSparkRequestDTO("root"))))
+                .andExpect(status().isOk());
+
+        verify(sparkService).moveSpark(id, null);
+    }
+
+    @Test
+    void moveSpark_returns409AndApiError_onCycle() throws Exception {
+
+        ObjectId id = new ObjectId();
+        ObjectId parentId = new ObjectId();
+
+        when(sparkService.moveSpark(id, parentId)).thenThrow(new SparkMoveCycleException(id, parentId));
+
+        mockMvc.perform(post("/sparks/{id}/move", id.toHexString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MoveSparkRequestDTO(parentId.toHexString()))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code", is("SPARK_MOVE_CYCLE")));
+    }
+
+    @Test
+    void cloneSpark_returns201AndClonedRoot_onSuccess() throws Exception {
+
+        ObjectId id = new ObjectId();
+        ObjectId cloneId = new ObjectId();
+        Instant now = Instant.now();
+        Spark clone = new Spark(cloneId, "Template (copy)", "desc", null, List.of(), now, now);
+
+        when(sparkService.cloneSpark(id, null)).thenReturn(clone);
+
+        mockMvc.perform(post("/sparks/{id}/clone", id.toHexString()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(cloneId.toHexString())))
+                .andExpect(jsonPath("$.title", is("Template (copy)")));
+
+        verify(sparkService).cloneSpark(id, null);
+    }
+
+    @Test
+    void createBatch_returns207AndPerItemResults_onPartialFailure() throws Exception {
+
+        ObjectId id = new ObjectId();
+        Instant now = Instant.now();
+        Spark created = new Spark(id, "Root", "desc", null, List.of(), now, now);
+
+        when(sparkService.createSparks(anyList())).thenReturn(List.of(
+                new SparkBatchResult("root", created, null, null),
+                new SparkBatchResult("dup", null, ApiErrorCode.SPARK_ALREADY_EXISTS, "A spark titled 'Taken' already exists")
+        ));
+
+        BatchCreateSparksRequestDTO request = new BatchCreateSparksRequestDTO(List.of(
+                new BatchSparkItemDTO("root", null, null, "Root", "desc"),
+                new BatchSparkItemDTO("dup", null, null, "Taken", "desc")
+        ));
+
+        mockMvc.perform(post("/sparks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[0].spark.id", is(id.toHexString())))
+                .andExpect(jsonPath("$.results[1].status", is("FAILED")))
+                .andExpect(jsonPath("$.results[1].errorCode", is("SPARK_ALREADY_EXISTS")));
+    }
+
+    @Test
+    void createBatch_returns400_whenItemTitleBlank() throws Exception {
+
+        BatchCreateSparksRequestDTO request = new BatchCreateSparksRequestDTO(List.of(
+                new BatchSparkItemDTO("root", null, null, " ", "desc")
+        ));
+
+        mockMvc.perform(post("/sparks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(sparkService);
+    }
+
     @Test
     void deleteSpark_returns204_onCascadeSuccess() throws Exception {
 
@@ -549,6 +795,158 @@ class SparkControllerTest {
         verify(sparkService).deleteSpark(missingId, SparkDeleteMode.CASCADE);
     }
 
+    @Test
+    void deleteSpark_returns202AndJob_onAsyncCascade() throws Exception {
+
+        ObjectId id = new ObjectId();
+        ObjectId jobId = new ObjectId();
+        Instant now = Instant.now();
+        SparkPurgeJob job = new SparkPurgeJob(jobId, id, SparkPurgeJobStatus.PENDING, now, now);
+
+        when(sparkPurgeService.startCascadePurge(id)).thenReturn(job);
+
+        mockMvc.perform(delete("/sparks/{id}", id.toHexString())
+                        .param("mode", "cascade")
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/sparks/purge-jobs/" + jobId.toHexString()))
+                .andExpect(jsonPath("$.id", is(jobId.toHexString())))
+                .andExpect(jsonPath("$.rootId", is(id.toHexString())))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+
+        verify(sparkService, never()).deleteSpark(any(), any());
+    }
+
+    @Test
+    void deleteSpark_returns500_onAsyncPromote() throws Exception {
+
+        ObjectId id = new ObjectId();
+
+        mockMvc.perform(delete("/sparks/{id}", id.toHexString())
+                        .param("mode", "promote")
+                        .param("async", "true"))
+                .andExpect(status().isInternalServerError());
+
+        verifyNoInteractions(sparkPurgeService);
+        verify(sparkService, never()).deleteSpark(any(), any());
+    }
+
+    @Test
+    void getPurgeJob_returns200AndProgress_onSuccess() throws Exception {
+
+        ObjectId jobId = new ObjectId();
+        Instant now = Instant.now();
+        SparkPurgeJob job = new SparkPurgeJob(jobId, new ObjectId(), SparkPurgeJobStatus.PURGING, now, now);
+        job.setMarkedCount(1200);
+        job.setPurgedCount(500);
+
+        when(sparkPurgeService.getPurgeJob(jobId)).thenReturn(job);
+
+        mockMvc.perform(get("/sparks/purge-jobs/{jobId}", jobId.toHexString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("PURGING")))
+                .andExpect(jsonPath("$.markedCount", is(1200)))
+                .andExpect(jsonPath("$.purgedCount", is(500)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportSparks_streamsOneJsonLinePerSpark_onSuccess() throws Exception {
+
+        ObjectId rootId = new ObjectId();
+        ObjectId childId = new ObjectId();
+        Instant now = Instant.now();
+        Spark root = new Spark(rootId, "Root", "desc", null, new ArrayList<>(), now, now);
+        Spark child = new Spark(childId, "Child", "desc", rootId, new ArrayList<>(), now, now);
+
+        doAnswer(invocation -> {
+            Consumer<Spark> sink = invocation.getArgument(2);
+            sink.accept(root);
+            sink.accept(child);
+            return 2L;
+        }).when(sparkExportService).exportSparks(eq(SparkExportScope.ALL), isNull(), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/sparks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asString())
+                .isEqualTo(rootId.toHexString());
+        assertThat(objectMapper.readTree(lines[1]).get("parentId").asString())
+                .isEqualTo(rootId.toHexString());
+    }
+
+    @Test
+    void exportSparks_returns404AndApiError_whenSubtreeRootNotFound() throws Exception {
+
+        ObjectId rootId = new ObjectId();
+
+        when(sparkService.getSparkById(rootId)).thenThrow(new SparkNotFoundException(rootId));
+
+        mockMvc.perform(get("/sparks/export")
+                        .param("scope", "subtree")
+                        .param("rootId", rootId.toHexString()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code", is("SPARK_NOT_FOUND")));
+
+        verifyNoInteractions(sparkExportService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importSparks_parsesEachLineAndReturnsReport() throws Exception {
+
+        String parentId = new ObjectId().toHexString();
+        String body = """
+                {"id":"%s","parentId":null,"title":"Root","description":"d","reasons":[{"id":null,"content":"Yes","type":"good","createdAt":"2025-01-01T00:00:00Z","updatedAt":"2025-01-01T00:00:00Z"}],"createdAt":"2025-01-01T00:00:00Z","updatedAt":"2025-01-01T00:00:00Z"}
+
+                not json
+                """.formatted(parentId);
+
+        List<SparkImportRecord> received = new ArrayList<>();
+        when(sparkImportService.importSparks(any(Stream.class))).thenAnswer(invocation -> {
+            Stream<SparkImportRecord> records = invocation.getArgument(0);
+            records.forEach(received::add);
+            return new SparkImportReport(2, 1, 1, 0, 10,
+                    List.of(new SparkImportError(3, null, ApiErrorCode.VALIDATION_ERROR, "bad line")));
+        });
+
+        mockMvc.perform(post("/sparks/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)))
+                .andExpect(jsonPath("$.errors[0].errorCode", is("VALIDATION_ERROR")));
+
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0).sourceId()).isEqualTo(parentId);
+        assertThat(received.get(0).reasons()).singleElement()
+                .satisfies(reason -> assertThat(reason.getContent()).isEqualTo("Yes"));
+        assertThat(received.get(1).line()).isEqualTo(3);
+        assertThat(received.get(1).isValid()).isFalse();
+    }
+
+    @Test
+    void getPurgeJob_returns404AndApiError_whenNotFound() throws Exception {
+
+        ObjectId jobId = new ObjectId();
+
+        when(sparkPurgeService.getPurgeJob(jobId)).thenThrow(new SparkPurgeJobNotFoundException(jobId));
+
+        mockMvc.perform(get("/sparks/purge-jobs/{jobId}", jobId.toHexString()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code", is("SPARK_PURGE_JOB_NOT_FOUND")));
+    }
+
     @Test
     void searchSparks_returns200AndList_onSuccess() throws Exception {
 
@@ -595,4 +993,37 @@ class SparkControllerTest {
 
         verify(sparkService).searchSparks("test", ParentSearchScope.ROOT, null, 1, 10);
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchSparks_textMode_delegatesToTextSearch() throws Exception {
+
+        when(sparkService.searchSparksByText("rocket", ParentSearchScope.ANY, null, 0, 20))
+                .thenReturn(Page.empty());
+
+        mockMvc.perform(get("/sparks")
+                        .param("mode", "text")
+                        .param("q", "rocket")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(sparkService).searchSparksByText("rocket", ParentSearchScope.ANY, null, 0, 20);
+        verify(sparkService, never()).searchSparks(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchSparks_fuzzyMode_passesDistanceToService() throws Exception {
+
+        when(sparkService.searchSparksByFuzzyTitle("rockte", 1, ParentSearchScope.ROOT, null, 0, 20))
+                .thenReturn(Page.empty());
+
+        mockMvc.perform(get("/sparks")
+                        .param("mode", "fuzzy")
+                        .param("title", "rockte")
+                        .param("distance", "1")
+                        .param("parentId", "root")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(sparkService).searchSparksByFuzzyTitle("rockte", 1, ParentSearchScope.ROOT, null, 0, 20);
+    }
+}
@@ -0,0 +1,244 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SparkForestIndexTest {
+
+    private static Spark spark(ObjectId id, ObjectId parentId) {
+        return spark(id, parentId, id.getDate().toInstant());
+    }
+
+    private static Spark spark(ObjectId id, ObjectId parentId, Instant createdAt) {
+        return new Spark(id, "Spark " + id, null, parentId, new ArrayList<>(), createdAt, createdAt);
+    }
+
+    @Test
+    void getSubtreeIds_returnsBreadthFirstOrder_regardlessOfInsertOrder() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        ObjectId root = new ObjectId();
+        ObjectId a = new ObjectId();
+        ObjectId b = new ObjectId();
+        ObjectId a1 = new ObjectId();
+
+        index.put(spark(a1, a));
+        index.put(spark(a, root));
+        index.put(spark(b, root));
+        index.put(spark(root, null));
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.getSubtreeIds(root)).first().isEqualTo(root);
+        assertThat(index.getSubtreeIds(root)).containsExactlyInAnyOrder(root, a, b, a1);
+        assertThat(index.getSubtreeIds(root).indexOf(a1)).isEqualTo(3);
+        assertThat(index.getChildIds(root)).containsExactlyInAnyOrder(a, b);
+    }
+
+    @Test
+    void getSubtree_keepsOldestChildrenAndReportsTruncatedCounts() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        ObjectId root = new ObjectId();
+        ObjectId oldest = new ObjectId();
+        ObjectId middle = new ObjectId();
+        ObjectId newest = new ObjectId();
+        ObjectId leaf = new ObjectId();
+        index.put(spark(root, null));
+        index.put(spark(newest, root));
+        index.put(spark(middle, root));
+        index.put(spark(oldest, root));
+        index.put(spark(leaf, oldest));
+
+        SparkForestIndex.Subtree subtree = index.getSubtree(root, 1, 2);
+
+        assertThat(subtree.ids()).containsExactly(root, oldest, middle);
+        assertThat(subtree.truncatedChildCounts()).containsOnly(entry(root, 3), entry(oldest, 1));
+        assertThat(index.getSubtree(root, 0, 10).ids()).containsExactly(root);
+    }
+
+    @Test
+    void getSubtree_keepsOldestChildrenByCreatedAt_whenIdOrderDisagrees() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        ObjectId root = new ObjectId();
+        // Imported Sparks get fresh ids but keep their source createdAt.
+        ObjectId importedOld = new ObjectId();
+        ObjectId importedOlder = new ObjectId();
+        ObjectId importedNew = new ObjectId();
+        index.put(spark(root, null));
+        index.put(spark(importedOld, root, Instant.parse("2020-01-02T00:00:00Z")));
+        index.put(spark(importedOlder, root, Instant.parse("2020-01-01T00:00:00Z")));
+        index.put(spark(importedNew, root, Instant.parse("2030-01-01T00:00:00Z")));
+
+        SparkForestIndex.Subtree subtree = index.getSubtree(root, 1, 2);
+
+        assertThat(subtree.ids()).containsExactly(root, importedOlder, importedOld);
+        assertThat(subtree.truncatedChildCounts()).containsOnly(entry(root, 3));
+    }
+
+    @Test
+    void getSubtree_breaksCreatedAtTiesById() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        ObjectId root = new ObjectId();
+        ObjectId first = new ObjectId();
+        ObjectId second = new ObjectId();
+        ObjectId third = new ObjectId();
+        ObjectId older = new ObjectId();
+        Instant batchCreatedAt = Instant.parse("2025-01-01T00:00:00Z");
+        index.put(spark(root, null));
+        index.put(spark(third, root, batchCreatedAt));
+        index.put(spark(first, root, batchCreatedAt));
+        index.put(spark(second, root, batchCreatedAt));
+        index.put(spark(older, root, Instant.parse("2024-01-01T00:00:00Z")));
+
+        SparkForestIndex.Subtree subtree = index.getSubtree(root, 1, 3);
+
+        assertThat(subtree.ids()).containsExactly(root, older, first, second);
+    }
+
+    @Test
+    void servesReads_onlyWhenReadyAndChangeStreamEnabled() {
+
+        SparkForestIndex local = new SparkForestIndex(false);
+        SparkForestIndex clusterWide = new SparkForestIndex(true);
+        local.markReady();
+
+        assertThat(local.servesReads()).isFalse();
+        assertThat(clusterWide.servesReads()).isFalse();
+
+        clusterWide.markReady();
+
+        assertThat(clusterWide.servesReads()).isTrue();
+    }
+
+    @Test
+    void put_movesNodeWithItsSubtree_whenParentChanges() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        ObjectId left = new ObjectId();
+        ObjectId right = new ObjectId();
+        ObjectId node = new ObjectId();
+        ObjectId leaf = new ObjectId();
+        index.put(spark(left, null));
+        index.put(spark(right, null));
+        index.put(spark(node, left));
+        index.put(spark(leaf, node));
+
+        index.put(spark(node, right));
+
+        assertThat(index.getChildIds(left)).isEmpty();
+        assertThat(index.getSubtreeIds(right)).containsExactly(right, node, leaf);
+    }
+
+    @Test
+    void removeAll_keepsChildrenReachable_onlyThroughMoveChildren() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        ObjectId root = new ObjectId();
+        ObjectId middle = new ObjectId();
+        ObjectId leaf = new ObjectId();
+        index.put(spark(root, null));
+        index.put(spark(middle, root));
+        index.put(spark(leaf, middle));
+
+        // Promote delete: children move up, then the node goes away.
+        index.moveChildren(middle, root);
+        index.removeAll(List.of(middle));
+
+        assertThat(index.contains(middle)).isFalse();
+        assertThat(index.getChildIds(root)).containsExactly(leaf);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void removeAll_hidesPlaceholderParents_andReleasesThemOnceEmpty() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        ObjectId parent = new ObjectId();
+        ObjectId child = new ObjectId();
+        index.put(spark(child, parent));
+
+        assertThat(index.contains(parent)).isFalse();
+        assertThat(index.getChildIds(parent)).containsExactly(child);
+
+        index.removeAll(List.of(child));
+
+        assertThat(index.getChildIds(parent)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void forEachLive_emitsSkeletonsOfLiveSparks_withoutPlaceholdersOrRemovedSparks() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        ObjectId root = new ObjectId();
+        ObjectId child = new ObjectId();
+        ObjectId removed = new ObjectId();
+        ObjectId orphan = new ObjectId();
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        index.put(spark(root, null, createdAt));
+        index.put(spark(child, root, createdAt));
+        index.put(spark(removed, root, createdAt));
+        index.put(spark(orphan, new ObjectId(), createdAt));
+        index.removeAll(List.of(removed));
+
+        List<Spark> skeletons = new ArrayList<>();
+        index.forEachLive(skeletons::add);
+
+        assertThat(skeletons)
+                .extracting(Spark::getId, Spark::getCreatedAt)
+                .containsExactlyInAnyOrder(
+                        tuple(root, createdAt), tuple(child, createdAt), tuple(orphan, createdAt));
+        assertThat(skeletons).filteredOn(spark -> spark.getId().equals(child))
+                .extracting(Spark::getParentId)
+                .containsExactly(root);
+    }
+
+    @Test
+    void put_survivesManyInsertsAndRemovals() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        ObjectId root = new ObjectId();
+        index.put(spark(root, null));
+        List<ObjectId> children = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            ObjectId id = new ObjectId();
+            children.add(id);
+            index.put(spark(id, root));
+        }
+        index.removeAll(children.subList(0, 4000));
+        for (ObjectId id : children.subList(0, 4000)) {
+            assertThat(index.contains(id)).isFalse();
+        }
+
+        assertThat(index.size()).isEqualTo(1001);
+        assertThat(index.getChildIds(root)).containsExactlyInAnyOrderElementsOf(children.subList(4000, 5000));
+    }
+
+    @Test
+    void getSubtreeIds_walksDeepChain_withoutRecursion() {
+
+        SparkForestIndex index = new SparkForestIndex(true);
+        List<ObjectId> chain = new ArrayList<>();
+        ObjectId parentId = null;
+        for (int i = 0; i < 100_000; i++) {
+            ObjectId id = new ObjectId();
+            index.put(spark(id, parentId));
+            chain.add(id);
+            parentId = id;
+        }
+
+        assertThat(index.getSubtreeIds(chain.get(0))).containsExactlyElementsOf(chain);
+        assertThat(index.getSubtree(chain.get(0), 10, 1).ids()).hasSize(11);
+    }
+}
@@ -0,0 +1,116 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SparkIndexSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private static Spark skeleton(ObjectId id, String title, ObjectId parentId) {
+        Spark spark = new Spark();
+        spark.setId(id);
+        spark.setTitle(title);
+        spark.setParentId(parentId);
+        return spark;
+    }
+
+    @Test
+    void writeTo_thenOpen_roundTripsIdsParentsCreatedAtAndTitles() throws IOException {
+
+        ObjectId root = new ObjectId();
+        ObjectId child = new ObjectId();
+        ObjectId grandchild = new ObjectId();
+        Instant snapshotAt = Instant.parse("2025-06-01T12:00:00.123Z");
+        Instant childCreatedAt = Instant.parse("2024-03-01T08:30:00.456Z");
+        Path file = directory.resolve("sparks.snapshot");
+        Spark childSkeleton = skeleton(child, "Child", root);
+        childSkeleton.setCreatedAt(childCreatedAt);
+
+        // Children first: parent offsets must resolve regardless of order.
+        SparkIndexSnapshot.builder()
+                .add(skeleton(grandchild, "Enkel – ünïcode", child))
+                .add(childSkeleton)
+                .add(skeleton(root, "Root", null))
+                .writeTo(file, snapshotAt);
+
+        SparkIndexSnapshot snapshot = SparkIndexSnapshot.open(file);
+
+        assertThat(snapshot.getSnapshotAt()).isEqualTo(snapshotAt);
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.id(0)).isEqualTo(grandchild);
+        assertThat(snapshot.title(0)).isEqualTo("Enkel – ünïcode");
+        assertThat(snapshot.parent(0)).isEqualTo(1);
+        assertThat(snapshot.parent(2)).isEqualTo(-1);
+        assertThat(snapshot.createdAt(0)).isNull();
+        assertThat(snapshot.createdAt(1)).isEqualTo(childCreatedAt);
+
+        List<Spark> sparks = new ArrayList<>();
+        snapshot.forEach(sparks::add);
+        assertThat(sparks)
+                .extracting(Spark::getId, Spark::getTitle, Spark::getParentId, Spark::getCreatedAt)
+                .containsExactly(
+                        tuple(grandchild, "Enkel – ünïcode", child, null),
+                        tuple(child, "Child", root, childCreatedAt),
+                        tuple(root, "Root", null, null)
+                );
+    }
+
+    @Test
+    void writeTo_handlesEmptySnapshot() throws IOException {
+
+        Path file = directory.resolve("empty.snapshot");
+
+        SparkIndexSnapshot.builder().writeTo(file, Instant.EPOCH);
+
+        assertThat(SparkIndexSnapshot.open(file).size()).isZero();
+    }
+
+    @Test
+    void open_rejectsCorruptedFile() throws IOException {
+
+        Path file = directory.resolve("sparks.snapshot");
+        SparkIndexSnapshot.builder()
+                .add(skeleton(new ObjectId(), "Root", null))
+                .writeTo(file, Instant.now());
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[30] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> SparkIndexSnapshot.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void open_rejectsTruncatedFile() throws IOException {
+
+        Path file = directory.resolve("sparks.snapshot");
+        SparkIndexSnapshot.builder()
+                .add(skeleton(new ObjectId(), "Root", null))
+                .writeTo(file, Instant.now());
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThatThrownBy(() -> SparkIndexSnapshot.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("truncated");
+    }
+}
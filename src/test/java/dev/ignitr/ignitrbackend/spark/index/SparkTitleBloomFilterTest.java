@@ -0,0 +1,89 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SparkTitleBloomFilterTest {
+
+    private static Spark spark(String title) {
+        Instant now = Instant.now();
+        return new Spark(new ObjectId(), title, null, null, new ArrayList<>(), now, now);
+    }
+
+    @Test
+    void mightContain_isConservative_untilReady() {
+
+        SparkTitleBloomFilter filter = new SparkTitleBloomFilter(1000, 0.01);
+
+        assertThat(filter.mightContain("Anything")).isTrue();
+    }
+
+    @Test
+    void mightContain_isConservative_untilUniqueIndexIsPresent() {
+
+        SparkTitleBloomFilter filter = new SparkTitleBloomFilter(1000, 0.01);
+        filter.markReady();
+
+        assertThat(filter.mightContain("Anything")).isTrue();
+
+        filter.markUniqueIndexPresent();
+
+        assertThat(filter.mightContain("Anything")).isFalse();
+    }
+
+    @Test
+    void mightContain_neverReportsInsertedTitlesAsAbsent() {
+
+        SparkTitleBloomFilter filter = new SparkTitleBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(spark("Idea " + i));
+        }
+        filter.markReady();
+        filter.markUniqueIndexPresent();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("Idea " + i)).isTrue();
+        }
+    }
+
+    @Test
+    void mightContain_keepsFalsePositiveRateNearTarget() {
+
+        SparkTitleBloomFilter filter = new SparkTitleBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(spark("Idea " + i));
+        }
+        filter.markReady();
+        filter.markUniqueIndexPresent();
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("Other " + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void reset_forgetsTitles_andDisablesFilter() {
+
+        SparkTitleBloomFilter filter = new SparkTitleBloomFilter(1000, 0.01);
+        filter.put(spark("Old"));
+        filter.markReady();
+        filter.markUniqueIndexPresent();
+
+        filter.reset();
+        filter.markReady();
+
+        assertThat(filter.isReady()).isTrue();
+        assertThat(filter.mightContain("Old")).isFalse();
+    }
+}
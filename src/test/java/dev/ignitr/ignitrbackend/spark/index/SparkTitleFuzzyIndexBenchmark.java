@@ -0,0 +1,106 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuzzy title lookups against one million synthetic titles, compared with a linear
+ * Levenshtein scan over the same titles.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=dev.ignitr.ignitrbackend.spark.index.SparkTitleFuzzyIndexBenchmark}
+ * or from the IDE. Needs roughly 2 GB of heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class SparkTitleFuzzyIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "solar", "kettle", "garden", "robot", "cloud", "river", "paper", "engine", "market", "signal",
+            "orbit", "canvas", "ember", "lantern", "harbor", "pixel", "thread", "meadow", "quartz", "vector"
+    };
+
+    @Param({"1000000"})
+    private int titleCount;
+
+    private SparkTitleFuzzyIndex index;
+    private String[] titles;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new SparkTitleFuzzyIndex(2, 7);
+        titles = new String[titleCount];
+        Instant now = Instant.now();
+        for (int i = 0; i < titleCount; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            titles[i] = title;
+            index.put(new Spark(new ObjectId(), title, null, null, new ArrayList<>(), now, now));
+        }
+        index.markReady();
+
+        List<String> typos = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            char[] chars = titles[random.nextInt(titleCount)].toCharArray();
+            int a = random.nextInt(chars.length - 1);
+            char swap = chars[a];
+            chars[a] = chars[a + 1];
+            chars[a + 1] = swap;
+            typos.add(new String(chars));
+        }
+        queries = typos.toArray(String[]::new);
+    }
+
+    private String nextQuery() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public void fuzzySearchDistance1(Blackhole blackhole) {
+        blackhole.consume(index.search(nextQuery(), 1, 50));
+    }
+
+    @Benchmark
+    public void fuzzySearchDistance2(Blackhole blackhole) {
+        blackhole.consume(index.search(nextQuery(), 2, 50));
+    }
+
+    @Benchmark
+    @Measurement(iterations = 2, time = 5)
+    public void linearScanDistance2(Blackhole blackhole) {
+        String query = SparkTitleFuzzyIndex.normalize(nextQuery());
+        int found = 0;
+        for (String title : titles) {
+            if (SparkTitleFuzzyIndex.boundedLevenshtein(query, SparkTitleFuzzyIndex.normalize(title), 2) <= 2) {
+                found++;
+            }
+        }
+        blackhole.consume(found);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SparkTitleFuzzyIndexBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
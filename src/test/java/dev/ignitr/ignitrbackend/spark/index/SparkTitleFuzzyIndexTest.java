@@ -0,0 +1,95 @@
+package dev.ignitr.ignitrbackend.spark.index;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SparkTitleFuzzyIndexTest {
+
+    private SparkTitleFuzzyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SparkTitleFuzzyIndex(2, 7);
+    }
+
+    private static Spark spark(ObjectId id, String title) {
+        Instant now = Instant.now();
+        return new Spark(id, title, null, null, new ArrayList<>(), now, now);
+    }
+
+    @Test
+    void search_findsTitlesWithinDistance_orderedByDistance() {
+
+        ObjectId exactId = new ObjectId();
+        ObjectId oneEditId = new ObjectId();
+        ObjectId farId = new ObjectId();
+
+        index.put(spark(exactId, "Solar kettle"));
+        index.put(spark(oneEditId, "Solar kettles"));
+        index.put(spark(farId, "Lunar bottle"));
+
+        List<SparkTitleFuzzyIndex.Match> matches = index.search("solar kettle", 2, 10);
+
+        assertThat(matches).extracting(SparkTitleFuzzyIndex.Match::id).containsExactly(exactId, oneEditId);
+        assertThat(matches).extracting(SparkTitleFuzzyIndex.Match::distance).containsExactly(0, 1);
+    }
+
+    @Test
+    void search_isCaseInsensitive_andToleratesTypos() {
+
+        ObjectId id = new ObjectId();
+        index.put(spark(id, "Garden Robot"));
+
+        assertThat(index.search("gardn robt", 2, 10))
+                .extracting(SparkTitleFuzzyIndex.Match::id)
+                .containsExactly(id);
+        assertThat(index.search("gardn robt", 1, 10)).isEmpty();
+    }
+
+    @Test
+    void put_replacesPreviousTitle_whenSparkIsRenamed() {
+
+        ObjectId id = new ObjectId();
+        index.put(spark(id, "Old name"));
+        index.put(spark(id, "New name"));
+
+        assertThat(index.search("old name", 1, 10)).isEmpty();
+        assertThat(index.search("new nam", 1, 10)).extracting(SparkTitleFuzzyIndex.Match::id).containsExactly(id);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeAll_dropsTitles_andSurvivesCompaction() {
+
+        List<ObjectId> removed = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            ObjectId id = new ObjectId();
+            index.put(spark(id, "Idea number " + i));
+            if (i % 3 != 0) {
+                removed.add(id);
+            }
+        }
+
+        index.removeAll(removed);
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("idea number 3", 0, 10)).hasSize(1);
+        assertThat(index.search("idea number 4", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_rejectsDistanceAboveConfiguredMaximum() {
+
+        assertThatThrownBy(() -> index.search("anything", 3, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
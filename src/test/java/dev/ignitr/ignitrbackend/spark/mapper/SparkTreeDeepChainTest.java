@@ -0,0 +1,130 @@
+package dev.ignitr.ignitrbackend.spark.mapper;
+
+import dev.ignitr.ignitrbackend.score.tree.ScoredSparkTree;
+import dev.ignitr.ignitrbackend.spark.dto.SparkTreeDTO;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.tree.FlatSparkTree;
+import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression tests for single-chain trees far deeper than any thread stack could recurse.
+ */
+class SparkTreeDeepChainTest {
+
+    private static final int DEPTH = 100_000;
+
+    private final List<ObjectId> ids = new ArrayList<>(DEPTH);
+    private final Map<ObjectId, Spark> sparkMap = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        Instant now = Instant.parse("2025-06-01T12:00:00Z");
+        ObjectId parentId = null;
+        for (int i = 0; i < DEPTH; i++) {
+            ObjectId id = new ObjectId();
+            ids.add(id);
+            sparkMap.put(id, new Spark(id, "Spark " + i, null, parentId, new ArrayList<>(), now, now));
+            parentId = id;
+        }
+    }
+
+    private static int depthOf(SparkTree tree) {
+        int depth = 1;
+        for (SparkTree node = tree; !node.getChildren().isEmpty(); node = node.getChildren().get(0)) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private static int countOccurrences(String text, String token) {
+        int count = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    void toSparkTree_buildsWholeChain_withoutRecursion() {
+
+        SparkTree tree = SparkMapper.toSparkTree(sparkMap, ids.get(0));
+
+        assertThat(depthOf(tree)).isEqualTo(DEPTH);
+    }
+
+    @Test
+    void toSparkTreeDto_convertsWholeChain_withoutRecursion() {
+
+        SparkTreeDTO dto = SparkMapper.toSparkTreeDto(SparkMapper.toSparkTree(sparkMap, ids.get(0)));
+
+        int depth = 1;
+        for (SparkTreeDTO node = dto; !node.children().isEmpty(); node = node.children().get(0)) {
+            depth++;
+        }
+        assertThat(depth).isEqualTo(DEPTH);
+    }
+
+    @Test
+    void toSparkTree_attachesScoresToWholeChain_withoutRecursion() {
+
+        Map<ObjectId, Integer> scores = new HashMap<>();
+        for (int i = 0; i < DEPTH; i++) {
+            scores.put(ids.get(i), i);
+        }
+
+        SparkTree tree = SparkMapper.toSparkTree(sparkMap, ids.get(0), scores);
+
+        assertThat(depthOf(tree)).isEqualTo(DEPTH);
+        SparkTree leaf = tree;
+        while (!leaf.getChildren().isEmpty()) {
+            leaf = leaf.getChildren().get(0);
+        }
+        assertThat(((ScoredSparkTree) leaf).getScore()).isEqualTo(DEPTH - 1);
+    }
+
+    @Test
+    void write_serializesDeepDtoChain_pastJacksonNestingLimit() {
+
+        SparkTreeDTO dto = SparkMapper.toSparkTreeDto(SparkMapper.toSparkTree(sparkMap, ids.get(0)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = SparkTreeJsonWriter.createGenerator(out)) {
+            SparkTreeJsonWriter.write(dto, generator);
+        }
+
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertThat(json).startsWith("{\"id\":\"" + ids.get(0).toHexString() + "\"");
+        assertThat(countOccurrences(json, "\"children\":[")).isEqualTo(DEPTH);
+        assertThat(json).endsWith("[]" + "}]".repeat(DEPTH - 1) + "}");
+    }
+
+    @Test
+    void write_serializesDeepFlatChain_pastJacksonNestingLimit() {
+
+        FlatSparkTree tree = new FlatSparkTree(ids.get(0), sparkMap, Map.of(), Map.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = SparkTreeJsonWriter.createGenerator(out)) {
+            SparkTreeJsonWriter.write(tree, generator);
+        }
+
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertThat(countOccurrences(json, "\"children\":[")).isEqualTo(DEPTH);
+        assertThat(json).contains("\"title\":\"Spark " + (DEPTH - 1) + "\"");
+        assertThat(json).endsWith("[]" + "}]".repeat(DEPTH - 1) + "}");
+    }
+}
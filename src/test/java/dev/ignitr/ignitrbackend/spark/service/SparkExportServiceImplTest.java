@@ -0,0 +1,89 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SparkExportServiceImplTest {
+
+    @Mock
+    private SparkRepository sparkRepository;
+
+    private SparkExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new SparkExportServiceImpl(sparkRepository, 2);
+    }
+
+    private static Spark spark(ObjectId id, String title, ObjectId parentId) {
+        Instant now = Instant.now();
+        return new Spark(id, title, "desc", parentId, new ArrayList<>(), now, now);
+    }
+
+    @Test
+    void exportSparks_all_streamsEveryLiveSparkWithConfiguredBatchSize() {
+
+        Spark a = spark(new ObjectId(), "A", null);
+        Spark b = spark(new ObjectId(), "B", a.getId());
+
+        when(sparkRepository.streamLive(2)).thenReturn(Stream.of(a, b));
+
+        List<Spark> exported = new ArrayList<>();
+        long count = exportService.exportSparks(SparkExportScope.ALL, null, exported::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).containsExactly(a, b);
+    }
+
+    @Test
+    void exportSparks_subtree_walksLevelByLevelFromRoot() {
+
+        ObjectId rootId = new ObjectId();
+        Spark root = spark(rootId, "Root", null);
+        Spark child1 = spark(new ObjectId(), "Child 1", rootId);
+        Spark child2 = spark(new ObjectId(), "Child 2", rootId);
+        Spark grandchild = spark(new ObjectId(), "Grandchild", child1.getId());
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.streamLiveByParentIdIn(List.of(rootId), 2)).thenReturn(Stream.of(child1, child2));
+        when(sparkRepository.streamLiveByParentIdIn(List.of(child1.getId(), child2.getId()), 2))
+                .thenReturn(Stream.of(grandchild));
+        when(sparkRepository.streamLiveByParentIdIn(List.of(grandchild.getId()), 2)).thenReturn(Stream.empty());
+
+        List<Spark> exported = new ArrayList<>();
+        long count = exportService.exportSparks(SparkExportScope.SUBTREE, rootId, exported::add);
+
+        assertThat(count).isEqualTo(4);
+        assertThat(exported).containsExactly(root, child1, child2, grandchild);
+        verify(sparkRepository, never()).streamLive(anyInt());
+    }
+
+    @Test
+    void exportSparks_subtree_throwsNotFound_whenRootMissing() {
+
+        ObjectId rootId = new ObjectId();
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> exportService.exportSparks(SparkExportScope.SUBTREE, rootId, spark -> {}))
+                .isInstanceOf(SparkNotFoundException.class);
+    }
+}
@@ -0,0 +1,180 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import dev.ignitr.ignitrbackend.common.error.ApiErrorCode;
+import dev.ignitr.ignitrbackend.spark.index.SparkIndex;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import org.bson.BsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SparkImportServiceImplTest {
+
+    @Mock
+    private SparkRepository sparkRepository;
+
+    @Mock
+    private SparkIndex sparkIndex;
+
+    private SparkImportServiceImpl importService;
+
+    private final List<List<Spark>> insertedBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new SparkImportServiceImpl(sparkRepository, List.of(sparkIndex), 2, 10);
+    }
+
+    private static SparkImportRecord record(long line, String id, String parentId, String title) {
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        return new SparkImportRecord(line, id, parentId, title, "desc", List.of(), now, now, null);
+    }
+
+    private static Spark idOnly(ObjectId id) {
+        Spark spark = new Spark();
+        spark.setId(id);
+        return spark;
+    }
+
+    private void recordInsertedBatches() {
+        when(sparkRepository.insertAllUnordered(anyList())).thenAnswer(invocation -> {
+            List<Spark> batch = invocation.getArgument(0);
+            insertedBatches.add(List.copyOf(batch));
+            return batch.size();
+        });
+    }
+
+    @Test
+    void importSparks_remapsParentIdsAcrossBatches_whenChildArrivesBeforeParent() {
+
+        recordInsertedBatches();
+        when(sparkRepository.findLiveIdsIn(anyList())).thenAnswer(invocation -> {
+            List<ObjectId> ids = invocation.getArgument(0);
+            return ids.stream().map(SparkImportServiceImplTest::idOnly).toList();
+        });
+
+        SparkImportReport report = importService.importSparks(Stream.of(
+                record(1, "child", "parent", "Child"),
+                record(2, "other", null, "Other"),
+                record(3, "parent", null, "Parent")
+        ));
+
+        assertThat(insertedBatches).hasSize(2);
+        assertThat(insertedBatches.get(0)).hasSize(2);
+        Spark child = insertedBatches.get(0).get(0);
+        Spark parent = insertedBatches.get(1).get(0);
+        assertThat(child.getParentId()).isEqualTo(parent.getId());
+        assertThat(parent.getTitle()).isEqualTo("Parent");
+        assertThat(parent.getCreatedAt()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+        assertThat(parent.getUpdatedAt()).isAfter(Instant.parse("2025-01-01T00:00:00Z"));
+
+        assertThat(report.received()).isEqualTo(3);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.failed()).isZero();
+        assertThat(report.promotedToRoot()).isZero();
+        verify(sparkIndex, times(3)).put(any(Spark.class));
+        verify(sparkRepository, never()).clearParentIdByParentIdIn(any(), any());
+    }
+
+    @Test
+    void importSparks_reportsRejectedRecordsAndPromotesTheirChildren() {
+
+        BulkOperationException bulkFailure = mock(BulkOperationException.class);
+        when(bulkFailure.getErrors()).thenReturn(List.of(new BulkWriteError(11000,
+                "E11000 duplicate key error collection: ignitr.sparks index: title dup key", new BsonDocument(), 0)));
+        when(sparkRepository.insertAllUnordered(anyList())).thenThrow(bulkFailure);
+        when(sparkRepository.findLiveIdsIn(anyList())).thenReturn(List.of());
+        when(sparkRepository.clearParentIdByParentIdIn(anyList(), any(Instant.class))).thenReturn(1L);
+
+        SparkImportReport report = importService.importSparks(Stream.of(
+                record(1, "parent", null, "Taken"),
+                record(2, "child", "parent", "Child"),
+                SparkImportRecord.invalid(3, "Unexpected character"),
+                record(4, "blank", null, " ")
+        ));
+
+        assertThat(report.received()).isEqualTo(4);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(3);
+        assertThat(report.promotedToRoot()).isEqualTo(1);
+        assertThat(report.errors())
+                .extracting(SparkImportError::line, SparkImportError::errorCode)
+                .containsExactly(
+                        tuple(1L, ApiErrorCode.SPARK_ALREADY_EXISTS),
+                        tuple(3L, ApiErrorCode.VALIDATION_ERROR),
+                        tuple(4L, ApiErrorCode.VALIDATION_ERROR)
+                );
+        verify(sparkIndex, times(1)).put(any(Spark.class));
+        verify(sparkIndex).moveChildren(any(ObjectId.class), isNull());
+    }
+
+    @Test
+    void importSparks_rejectsRepeatedSourceIdBeforeInsert() {
+
+        recordInsertedBatches();
+        when(sparkRepository.findLiveIdsIn(anyList())).thenAnswer(invocation -> {
+            List<ObjectId> ids = invocation.getArgument(0);
+            return ids.stream().map(SparkImportServiceImplTest::idOnly).toList();
+        });
+
+        SparkImportReport report = importService.importSparks(Stream.of(
+                record(1, "same", null, "First"),
+                record(2, "same", null, "Second"),
+                record(3, "child", "same", "Child")
+        ));
+
+        assertThat(insertedBatches.stream().flatMap(List::stream).map(Spark::getTitle))
+                .containsExactly("First", "Child");
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.errors())
+                .extracting(SparkImportError::line, SparkImportError::errorCode)
+                .containsExactly(tuple(2L, ApiErrorCode.DUPLICATE_KEY));
+    }
+
+    @Test
+    void importSparks_promotesOneSparkOfEachParentCycle() {
+
+        recordInsertedBatches();
+        when(sparkRepository.findLiveIdsIn(anyList())).thenAnswer(invocation -> {
+            List<ObjectId> ids = invocation.getArgument(0);
+            return ids.stream().map(SparkImportServiceImplTest::idOnly).toList();
+        });
+        when(sparkRepository.updateParentIdById(any(ObjectId.class), isNull(), any(Instant.class))).thenReturn(1L);
+        when(sparkRepository.findByIdAndDeletedAtIsNull(any(ObjectId.class))).thenAnswer(invocation ->
+                Optional.of(idOnly(invocation.getArgument(0))));
+
+        SparkImportReport report = importService.importSparks(Stream.of(
+                record(1, "a", "b", "A"),
+                record(2, "b", "a", "B"),
+                record(3, "c", "a", "C")
+        ));
+
+        List<Spark> inserted = insertedBatches.stream().flatMap(List::stream).toList();
+        Set<ObjectId> cycle = Set.of(inserted.get(0).getId(), inserted.get(1).getId());
+        ArgumentCaptor<ObjectId> detached = ArgumentCaptor.forClass(ObjectId.class);
+        verify(sparkRepository).updateParentIdById(detached.capture(), isNull(), any(Instant.class));
+        assertThat(cycle).contains(detached.getValue());
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.promotedToRoot()).isEqualTo(1);
+        verify(sparkIndex, times(4)).put(any(Spark.class));
+    }
+}
@@ -0,0 +1,248 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
+import dev.ignitr.ignitrbackend.spark.index.SparkIndex;
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJob;
+import dev.ignitr.ignitrbackend.spark.model.SparkPurgeJobStatus;
+import dev.ignitr.ignitrbackend.spark.repository.SparkDeletionRepository;
+import dev.ignitr.ignitrbackend.spark.repository.SparkPurgeJobRepository;
+import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SparkPurgeServiceImplTest {
+
+    private static final ObjectId MIN_ID = new ObjectId("000000000000000000000000");
+
+    @Mock
+    private SparkService sparkService;
+
+    @Mock
+    private SparkRepository sparkRepository;
+
+    @Mock
+    private SparkPurgeJobRepository purgeJobRepository;
+
+    @Mock
+    private SparkDeletionRepository deletionRepository;
+
+    @Mock
+    private SparkIndex sparkIndex;
+
+    private SparkPurgeServiceImpl purgeService;
+
+    @BeforeEach
+    void setUp() {
+        purgeService = new SparkPurgeServiceImpl(sparkService, sparkRepository, purgeJobRepository,
+                deletionRepository, List.of(sparkIndex), Runnable::run, 2);
+    }
+
+    private static Spark idOnly(ObjectId id) {
+        Spark spark = new Spark();
+        spark.setId(id);
+        return spark;
+    }
+
+    @Test
+    void startCascadePurge_deletesRootThenMarksAndSweepsDescendantsInBatches() {
+
+        ObjectId rootId = new ObjectId();
+        ObjectId jobId = new ObjectId();
+        ObjectId a = new ObjectId();
+        ObjectId b = new ObjectId();
+        ObjectId c = new ObjectId();
+        ObjectId d = new ObjectId();
+        Instant now = Instant.now();
+        PageRequest batch = PageRequest.of(0, 2);
+
+        when(sparkService.getSparkById(rootId))
+                .thenReturn(new Spark(rootId, "Root", "desc", null, List.of(), now, now));
+        when(purgeJobRepository.save(any(SparkPurgeJob.class))).thenAnswer(invocation -> {
+            SparkPurgeJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(jobId);
+            }
+            return job;
+        });
+
+        // Level 1: a, b, c. Level 2: d.
+        when(sparkRepository.markForPurgeByParentIdIn(List.of(rootId), jobId, 1)).thenReturn(3L);
+        when(sparkRepository.existsByPurgeJobIdAndPurgeDepth(jobId, 1)).thenReturn(true);
+        when(sparkRepository.findPurgeBatch(jobId, 1, MIN_ID, batch)).thenReturn(List.of(idOnly(a), idOnly(b)));
+        when(sparkRepository.findPurgeBatch(jobId, 1, b, batch)).thenReturn(List.of(idOnly(c)));
+        when(sparkRepository.markForPurgeByParentIdIn(List.of(a, b), jobId, 2)).thenReturn(1L);
+        when(sparkRepository.markForPurgeByParentIdIn(List.of(c), jobId, 2)).thenReturn(0L);
+        when(sparkRepository.existsByPurgeJobIdAndPurgeDepth(jobId, 2)).thenReturn(true);
+        when(sparkRepository.findPurgeBatch(jobId, 2, MIN_ID, batch)).thenReturn(List.of(idOnly(d)));
+        when(sparkRepository.markForPurgeByParentIdIn(List.of(d), jobId, 3)).thenReturn(0L);
+        when(sparkRepository.existsByPurgeJobIdAndPurgeDepth(jobId, 3)).thenReturn(false);
+        when(sparkRepository.findIdsByPurgeJobId(jobId, batch))
+                .thenReturn(List.of(idOnly(a), idOnly(b)))
+                .thenReturn(List.of(idOnly(c), idOnly(d)))
+                .thenReturn(List.of());
+
+        SparkPurgeJob job = purgeService.startCascadePurge(rootId);
+
+        assertThat(job.getId()).isEqualTo(jobId);
+        assertThat(job.getStatus()).isEqualTo(SparkPurgeJobStatus.COMPLETED);
+        assertThat(job.getDepth()).isEqualTo(2);
+        assertThat(job.getMarkedCount()).isEqualTo(5);
+        assertThat(job.getPurgedCount()).isEqualTo(5);
+        assertThat(job.getCompletedAt()).isNotNull();
+
+        verify(sparkRepository).deleteById(rootId);
+        verify(sparkRepository).deleteAllById(List.of(a, b));
+        verify(sparkRepository).deleteAllById(List.of(c, d));
+        verify(sparkIndex).removeAll(List.of(rootId));
+        verify(sparkIndex).removeAll(List.of(a, b));
+        verify(sparkIndex).removeAll(List.of(c, d));
+        verify(deletionRepository).recordAll(eq(List.of(rootId)), any(Instant.class));
+        verify(deletionRepository).recordAll(eq(List.of(a, b)), any(Instant.class));
+        verify(deletionRepository).recordAll(eq(List.of(c, d)), any(Instant.class));
+    }
+
+    @Test
+    void startCascadePurge_throwsNotFound_whenRootMissing() {
+
+        ObjectId rootId = new ObjectId();
+
+        when(sparkService.getSparkById(rootId)).thenThrow(new SparkNotFoundException(rootId));
+
+        assertThatThrownBy(() -> purgeService.startCascadePurge(rootId))
+                .isInstanceOf(SparkNotFoundException.class);
+
+        verifyNoInteractions(purgeJobRepository);
+        verify(sparkRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void resumeUnfinishedJobs_continuesSweepWithoutRemarking_whenJobWasPurging() {
+
+        ObjectId jobId = new ObjectId();
+        ObjectId a = new ObjectId();
+        Instant now = Instant.now();
+        SparkPurgeJob job = new SparkPurgeJob(jobId, new ObjectId(), SparkPurgeJobStatus.PURGING, now, now);
+        job.setPurgedCount(10);
+
+        when(purgeJobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+        when(sparkRepository.findIdsByPurgeJobId(jobId, PageRequest.of(0, 2)))
+                .thenReturn(List.of(idOnly(a)))
+                .thenReturn(List.of());
+
+        purgeService.resumeUnfinishedJobs();
+
+        assertThat(job.getStatus()).isEqualTo(SparkPurgeJobStatus.COMPLETED);
+        assertThat(job.getPurgedCount()).isEqualTo(11);
+        verify(sparkRepository).deleteAllById(List.of(a));
+        verify(sparkRepository, never()).markForPurgeByParentIdIn(any(), any(), anyInt());
+    }
+
+    @Test
+    void resumeUnfinishedJobs_marksJobFailed_whenRepositoryThrows() {
+
+        ObjectId jobId = new ObjectId();
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+        SparkPurgeJob job = new SparkPurgeJob(jobId, rootId, SparkPurgeJobStatus.MARKING, now, now);
+
+        when(purgeJobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+        when(sparkRepository.markForPurgeByParentIdIn(List.of(rootId), jobId, 1))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        purgeService.resumeUnfinishedJobs();
+
+        assertThat(job.getStatus()).isEqualTo(SparkPurgeJobStatus.FAILED);
+        assertThat(job.getFailureReason()).isEqualTo("connection lost");
+        verify(sparkRepository, never()).deleteAllById(any());
+    }
+
+    @Test
+    void startCascadePurge_marksJobFailedWithoutMarking_whenRootDeleteFails() {
+
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+
+        when(sparkService.getSparkById(rootId))
+                .thenReturn(new Spark(rootId, "Root", "desc", null, List.of(), now, now));
+        when(purgeJobRepository.save(any(SparkPurgeJob.class))).thenAnswer(invocation -> {
+            SparkPurgeJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(new ObjectId());
+            }
+            return job;
+        });
+        doThrow(new IllegalStateException("connection lost")).when(sparkRepository).deleteById(rootId);
+
+        assertThatThrownBy(() -> purgeService.startCascadePurge(rootId))
+                .isInstanceOf(IllegalStateException.class);
+
+        ArgumentCaptor<SparkPurgeJob> saved = ArgumentCaptor.forClass(SparkPurgeJob.class);
+        verify(purgeJobRepository, times(2)).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(SparkPurgeJobStatus.FAILED);
+        verify(sparkRepository, never()).markForPurgeByParentIdIn(any(), any(), anyInt());
+    }
+
+    @Test
+    void resumeUnfinishedJobs_deletesRootBeforeMarking_whenPendingJobNeverDeletedIt() {
+
+        ObjectId jobId = new ObjectId();
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+        SparkPurgeJob job = new SparkPurgeJob(jobId, rootId, SparkPurgeJobStatus.PENDING, now, now);
+
+        when(purgeJobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+        when(sparkRepository.markForPurgeByParentIdIn(List.of(rootId), jobId, 1)).thenReturn(0L);
+        when(sparkRepository.existsByPurgeJobIdAndPurgeDepth(jobId, 1)).thenReturn(false);
+        when(sparkRepository.findIdsByPurgeJobId(jobId, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        purgeService.resumeUnfinishedJobs();
+
+        InOrder inOrder = inOrder(sparkRepository);
+        inOrder.verify(sparkRepository).deleteById(rootId);
+        inOrder.verify(sparkRepository).markForPurgeByParentIdIn(List.of(rootId), jobId, 1);
+        verify(sparkIndex).removeAll(List.of(rootId));
+        assertThat(job.getStatus()).isEqualTo(SparkPurgeJobStatus.COMPLETED);
+        assertThat(job.getPurgedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void resumeUnfinishedJobs_keepsJobStatus_whenInterruptedByShutdown() {
+
+        ObjectId jobId = new ObjectId();
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+        SparkPurgeJob job = new SparkPurgeJob(jobId, rootId, SparkPurgeJobStatus.MARKING, now, now);
+
+        when(purgeJobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+        when(sparkRepository.markForPurgeByParentIdIn(List.of(rootId), jobId, 1)).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted");
+        });
+
+        try {
+            purgeService.resumeUnfinishedJobs();
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertThat(job.getStatus()).isEqualTo(SparkPurgeJobStatus.MARKING);
+        assertThat(job.getFailureReason()).isNull();
+        verify(purgeJobRepository, never()).save(any());
+    }
+}
@@ -1,12 +1,22 @@
 package dev.ignitr.ignitrbackend.spark.service;
 
+import dev.ignitr.ignitrbackend.common.error.ApiErrorCode;
+import dev.ignitr.ignitrbackend.reason.model.Reason;
+import dev.ignitr.ignitrbackend.reason.model.ReasonType;
 import dev.ignitr.ignitrbackend.score.exception.ScoringException;
 import dev.ignitr.ignitrbackend.score.service.SparkScoreService;
 import dev.ignitr.ignitrbackend.spark.exception.SparkAlreadyExistsException;
+import dev.ignitr.ignitrbackend.spark.exception.SparkMoveCycleException;
 import dev.ignitr.ignitrbackend.spark.exception.SparkNotFoundException;
+import dev.ignitr.ignitrbackend.spark.index.SparkForestIndex;
+import dev.ignitr.ignitrbackend.spark.index.SparkTitleBloomFilter;
+import dev.ignitr.ignitrbackend.spark.index.SparkTitleFuzzyIndex;
 import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.repository.SparkDeletionRepository;
 import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import dev.ignitr.ignitrbackend.spark.tree.FlatSparkTree;
 import dev.ignitr.ignitrbackend.spark.tree.SparkTree;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,18 +24,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,15 +50,31 @@ class SparkServiceImplTest {
     @Mock
     private SparkRepository sparkRepository;
 
+    @Mock
+    private SparkDeletionRepository deletionRepository;
+
     @Mock
     private SparkScoreService sparkScoreService;
 
+    private SparkTitleFuzzyIndex titleFuzzyIndex;
+
+    private SparkTitleBloomFilter titleBloomFilter;
+
+    private SparkForestIndex forestIndex;
+
     private SparkService sparkService;
 
 
     @BeforeEach
     void setUp() {
-        sparkService = new SparkServiceImpl(sparkRepository, sparkScoreService);
+        titleFuzzyIndex = new SparkTitleFuzzyIndex(2, 7);
+        titleBloomFilter = new SparkTitleBloomFilter(1000, 0.01);
+        titleBloomFilter.markUniqueIndexPresent();
+        forestIndex = new SparkForestIndex(true);
+        sparkService = new SparkServiceImpl(sparkRepository, deletionRepository, sparkScoreService,
+                List.of(titleFuzzyIndex, titleBloomFilter, forestIndex), titleFuzzyIndex, titleBloomFilter, forestIndex,
+                new SparkClonePolicy("%s (copy)", "%s (copy %d)", 2, 100), new SparkTreeFanOut(1),
+                new SimpleMeterRegistry());
     }
 
     @Test
@@ -113,7 +145,7 @@ class SparkServiceImplTest {
 
         Spark parent = new Spark(parentId, "Parent", "Desc", null, List.of(), now, now);
 
-        when(sparkRepository.findById(parentId)).thenReturn(Optional.of(parent));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(parentId)).thenReturn(Optional.of(parent));
         when(sparkRepository.existsByTitle(title)).thenReturn(false);
 
         when(sparkRepository.save(any(Spark.class)))
@@ -125,7 +157,7 @@ class SparkServiceImplTest {
 
         Spark result = sparkService.createChildSpark(parentId, title, description);
 
-        verify(sparkRepository).findById(parentId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(parentId);
         verify(sparkRepository).existsByTitle(title);
 
         ArgumentCaptor<Spark> captor = ArgumentCaptor.forClass(Spark.class);
@@ -151,13 +183,13 @@ class SparkServiceImplTest {
         String title = "Child spark";
         String description = "Child description";
 
-        when(sparkRepository.findById(missingParentId)).thenReturn(Optional.empty());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(missingParentId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> sparkService.createChildSpark(missingParentId, title, description))
                 .isInstanceOf(SparkNotFoundException.class)
                 .hasMessageContaining(missingParentId.toHexString());
 
-        verify(sparkRepository).findById(missingParentId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(missingParentId);
         verify(sparkRepository, never()).existsByTitle(anyString());
         verify(sparkRepository, never()).save(any(Spark.class));
     }
@@ -173,14 +205,14 @@ class SparkServiceImplTest {
 
         Spark parent = new Spark(parentId, "Parent", "Desc", null, List.of(),now, now);
 
-        when(sparkRepository.findById(parentId)).thenReturn(Optional.of(parent));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(parentId)).thenReturn(Optional.of(parent));
         when(sparkRepository.existsByTitle(duplicateTitle)).thenReturn(true);
 
         assertThatThrownBy(() -> sparkService.createChildSpark(parentId, duplicateTitle, description))
                 .isInstanceOf(SparkAlreadyExistsException.class)
                 .hasMessageContaining(duplicateTitle);
 
-        verify(sparkRepository).findById(parentId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(parentId);
         verify(sparkRepository).existsByTitle(duplicateTitle);
         verify(sparkRepository, never()).save(any(Spark.class));
     }
@@ -194,7 +226,7 @@ class SparkServiceImplTest {
         Instant now = Instant.now();
         Spark spark = new Spark(id, title, description, null, List.of(), now, now);
 
-        when(sparkRepository.findById(id)).thenReturn(Optional.of(spark));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(spark));
 
         Spark result = sparkService.getSparkById(id);
 
@@ -204,7 +236,7 @@ class SparkServiceImplTest {
         assertThat(result.getCreatedAt()).isEqualTo(now);
         assertThat(result.getUpdatedAt()).isEqualTo(now);
 
-        verify(sparkRepository).findById(id);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(id);
     }
 
     @Test
@@ -212,13 +244,13 @@ class SparkServiceImplTest {
 
         ObjectId missingId = new ObjectId("000000000000000000000999");
 
-        when(sparkRepository.findById(missingId)).thenReturn(Optional.empty());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(missingId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> sparkService.getSparkById(missingId))
                 .isInstanceOf(SparkNotFoundException.class)
                 .hasMessageContaining(missingId.toHexString());
 
-        verify(sparkRepository).findById(missingId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(missingId);
     }
 
     @Test
@@ -234,16 +266,16 @@ class SparkServiceImplTest {
         Spark child1 = new Spark(child1Id, "Child 1", "Desc 1", parentId, List.of(), now, now);
         Spark child2 = new Spark(child2Id, "Child 2", "Desc 2", parentId, List.of(), now, now);
 
-        when(sparkRepository.findById(parentId)).thenReturn(Optional.of(parent));
-        when(sparkRepository.findByParentId(parentId)).thenReturn(List.of(child1, child2));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(parentId)).thenReturn(Optional.of(parent));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(parentId)).thenReturn(List.of(child1, child2));
 
         List<Spark> result = sparkService.getChildren(parentId);
 
         assertThat(result).hasSize(2);
         assertThat(result).extracting(Spark::getId).containsExactly(child1Id, child2Id);
 
-        verify(sparkRepository).findById(parentId);
-        verify(sparkRepository).findByParentId(parentId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(parentId);
+        verify(sparkRepository).findByParentIdAndDeletedAtIsNull(parentId);
     }
 
     @Test
@@ -251,17 +283,39 @@ class SparkServiceImplTest {
 
         ObjectId missingParentId = new ObjectId("000000000000000000000555");
 
-        when(sparkRepository.findById(missingParentId)).thenReturn(Optional.empty());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(missingParentId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> sparkService.getChildren(missingParentId))
                 .isInstanceOf(SparkNotFoundException.class)
                 .hasMessageContaining(missingParentId.toHexString());
 
-        verify(sparkRepository).findById(missingParentId);
-        verify(sparkRepository, never()).findByParentId(any(ObjectId.class));
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(missingParentId);
+        verify(sparkRepository, never()).findByParentIdAndDeletedAtIsNull(any(ObjectId.class));
     }
 
 
+    @Test
+    void getChildrenPage_returnsNextCursorFromLastChild_whenMoreChildrenExist() {
+
+        ObjectId parentId = new ObjectId();
+        Instant now = Instant.now();
+        Spark parent = new Spark(parentId, "Parent", "desc", null, List.of(), now, now);
+        Spark first = new Spark(new ObjectId(), "First", "desc", parentId, List.of(), now, now);
+        Spark second = new Spark(new ObjectId(), "Second", "desc", parentId, List.of(), now.plusSeconds(1), now);
+        Spark third = new Spark(new ObjectId(), "Third", "desc", parentId, List.of(), now.plusSeconds(2), now);
+        SparkChildCursor after = new SparkChildCursor(now.minusSeconds(1), new ObjectId());
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(parentId)).thenReturn(Optional.of(parent));
+        when(sparkRepository.findLiveChildrenAfter(parentId, after.createdAt(), after.id(), 3))
+                .thenReturn(List.of(first, second, third));
+
+        SparkChildrenPage page = sparkService.getChildrenPage(parentId, after, 2);
+
+        assertThat(page.children()).containsExactly(first, second);
+        assertThat(page.nextCursor()).isEqualTo(new SparkChildCursor(second.getCreatedAt(), second.getId()));
+        assertThat(SparkChildCursor.decode(page.nextCursor().encode()).id()).isEqualTo(second.getId());
+    }
+
     @Test
     void getSparkTree_returnsTree_whenRootExists() {
 
@@ -275,13 +329,13 @@ class SparkServiceImplTest {
         Spark child1 = new Spark(child1Id, "Child 1", "Child 1 desc", rootId, List.of(), now, now);
         Spark child2 = new Spark(child2Id, "Child 2", "Child 2 desc", rootId, List.of(), now, now);
 
-        when(sparkRepository.findById(rootId)).thenReturn(Optional.of(root));
-        when(sparkRepository.findByParentId(rootId)).thenReturn(List.of(child1, child2));
-        when(sparkRepository.findByParentId(child1Id)).thenReturn(List.of());
-        when(sparkRepository.findByParentId(child2Id)).thenReturn(List.of());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(rootId)).thenReturn(List.of(child1, child2));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(child1Id)).thenReturn(List.of());
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(child2Id)).thenReturn(List.of());
         when(sparkScoreService.scoreTree(any(ObjectId.class), anyMap())).thenThrow(new ScoringException(rootId));
 
-        SparkTree result = sparkService.getSparkTree(rootId);
+        SparkTree result = sparkService.getSparkTree(rootId, SparkTreeLimits.unlimited());
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(rootId);
@@ -299,17 +353,159 @@ class SparkServiceImplTest {
 
         Spark root = new Spark(rootId, "Leaf", "Leaf desc", null, List.of(), now, now);
 
-        when(sparkRepository.findById(rootId)).thenReturn(Optional.of(root));
-        when(sparkRepository.findByParentId(rootId)).thenReturn(List.of());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(rootId)).thenReturn(List.of());
         when(sparkScoreService.scoreTree(any(ObjectId.class), anyMap())).thenThrow(new ScoringException(rootId));
 
-        SparkTree result = sparkService.getSparkTree(rootId);
+        SparkTree result = sparkService.getSparkTree(rootId, SparkTreeLimits.unlimited());
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(rootId);
 
-        verify(sparkRepository).findById(rootId);
-        verify(sparkRepository).findByParentId(rootId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(rootId);
+        verify(sparkRepository).findByParentIdAndDeletedAtIsNull(rootId);
+    }
+
+    @Test
+    void getChildren_fetchesChildIdsFromForestIndex_whenReady() {
+
+        ObjectId parentId = new ObjectId();
+        Instant now = Instant.now();
+        Spark parent = new Spark(parentId, "Parent", "desc", null, List.of(), now, now);
+        Spark child = new Spark(new ObjectId(), "Child", "desc", parentId, List.of(), now, now);
+        forestIndex.put(parent);
+        forestIndex.put(child);
+        forestIndex.markReady();
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(parentId)).thenReturn(Optional.of(parent));
+        when(sparkRepository.findByIdInAndDeletedAtIsNull(List.of(child.getId()))).thenReturn(List.of(child));
+
+        List<Spark> result = sparkService.getChildren(parentId);
+
+        assertThat(result).containsExactly(child);
+        verify(sparkRepository, never()).findByParentIdAndDeletedAtIsNull(any(ObjectId.class));
+    }
+
+    @Test
+    void getChildren_queriesDatabase_whenChangeStreamIsDisabled() {
+
+        ObjectId parentId = new ObjectId();
+        Instant now = Instant.now();
+        Spark parent = new Spark(parentId, "Parent", "desc", null, List.of(), now, now);
+        Spark child = new Spark(new ObjectId(), "Child", "desc", parentId, List.of(), now, now);
+        SparkForestIndex localIndex = new SparkForestIndex(false);
+        localIndex.put(parent);
+        localIndex.markReady();
+        sparkService = new SparkServiceImpl(sparkRepository, deletionRepository, sparkScoreService,
+                List.of(titleFuzzyIndex, titleBloomFilter, localIndex), titleFuzzyIndex, titleBloomFilter, localIndex,
+                new SparkClonePolicy("%s (copy)", "%s (copy %d)", 2, 100), new SparkTreeFanOut(1),
+                new SimpleMeterRegistry());
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(parentId)).thenReturn(Optional.of(parent));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(parentId)).thenReturn(List.of(child));
+
+        // Another instance created the child; without the change stream the local index never saw it.
+        assertThat(sparkService.getChildren(parentId)).containsExactly(child);
+        verify(sparkRepository, never()).findByIdInAndDeletedAtIsNull(anyCollection());
+    }
+
+    @Test
+    void getSparkTree_resolvesSubtreeInMemoryAndFetchesItWithOneQuery_whenForestIndexReady() {
+
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+        Spark root = new Spark(rootId, "Root", "desc", null, List.of(), now, now);
+        Spark child = new Spark(new ObjectId(), "Child", "desc", rootId, List.of(), now, now);
+        Spark grandchild = new Spark(new ObjectId(), "Grandchild", "desc", child.getId(), List.of(), now, now);
+        forestIndex.put(grandchild);
+        forestIndex.put(child);
+        forestIndex.put(root);
+        forestIndex.markReady();
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByIdInAndDeletedAtIsNull(List.of(child.getId(), grandchild.getId())))
+                .thenReturn(List.of(child, grandchild));
+        when(sparkScoreService.scoreTree(any(ObjectId.class), anyMap())).thenThrow(new ScoringException(rootId));
+
+        SparkTree result = sparkService.getSparkTree(rootId, SparkTreeLimits.unlimited());
+
+        assertThat(result.getChildren()).singleElement()
+                .satisfies(node -> assertThat(node.getChildren()).extracting(SparkTree::getId)
+                        .containsExactly(grandchild.getId()));
+        verify(sparkRepository, never()).findByParentIdAndDeletedAtIsNull(any(ObjectId.class));
+    }
+
+    @Test
+    void getSparkTree_stopsAtLimitsAndMarksTruncatedNodes_whenForestIndexReady() {
+
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+        Spark root = new Spark(rootId, "Root", "desc", null, List.of(), now, now);
+        Spark first = new Spark(new ObjectId(), "First", "desc", rootId, List.of(), now, now);
+        Spark second = new Spark(new ObjectId(), "Second", "desc", rootId, List.of(), now, now);
+        Spark third = new Spark(new ObjectId(), "Third", "desc", rootId, List.of(), now, now);
+        Spark grandchild = new Spark(new ObjectId(), "Grandchild", "desc", first.getId(), List.of(), now, now);
+        for (Spark spark : List.of(root, third, second, first, grandchild)) {
+            forestIndex.put(spark);
+        }
+        forestIndex.markReady();
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByIdInAndDeletedAtIsNull(List.of(first.getId(), second.getId())))
+                .thenReturn(List.of(first, second));
+        when(sparkScoreService.scoreTree(any(ObjectId.class), anyMap())).thenThrow(new ScoringException(rootId));
+
+        SparkTree result = sparkService.getSparkTree(rootId, new SparkTreeLimits(1, 2));
+
+        assertThat(result.getChildCount()).isEqualTo(3);
+        assertThat(result.isHasMoreChildren()).isTrue();
+        assertThat(SparkChildCursor.decode(result.getNextChildrenCursor()).id()).isEqualTo(second.getId());
+        assertThat(result.getChildren())
+                .extracting(SparkTree::getId, SparkTree::getChildCount, SparkTree::isHasMoreChildren)
+                .containsExactlyInAnyOrder(
+                        tuple(first.getId(), 1, true),
+                        tuple(second.getId(), 0, false)
+                );
+    }
+
+    @Test
+    void getSparkTree_countsChildrenInsteadOfLoadingThem_atMaxDepth() {
+
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+        Spark root = new Spark(rootId, "Root", "desc", null, List.of(), now, now);
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.countByParentIdAndDeletedAtIsNull(rootId)).thenReturn(5L);
+        when(sparkScoreService.scoreTree(any(ObjectId.class), anyMap())).thenThrow(new ScoringException(rootId));
+
+        SparkTree result = sparkService.getSparkTree(rootId, new SparkTreeLimits(0, 10));
+
+        assertThat(result.getChildren()).isEmpty();
+        assertThat(result.getChildCount()).isEqualTo(5);
+        assertThat(result.isHasMoreChildren()).isTrue();
+        verify(sparkRepository, never()).findByParentIdAndDeletedAtIsNull(any(ObjectId.class));
+    }
+
+    @Test
+    void getFlatSparkTree_returnsLoadedMapsWithoutScores_whenScoringFails() {
+
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+        Spark root = new Spark(rootId, "Root", "desc", null, List.of(), now, now);
+        Spark child = new Spark(new ObjectId(), "Child", "desc", rootId, List.of(), now, now);
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(rootId)).thenReturn(List.of(child));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(child.getId())).thenReturn(List.of());
+        when(sparkScoreService.scoreSparks(any(ObjectId.class), anyMap())).thenThrow(new ScoringException(rootId));
+
+        FlatSparkTree result = sparkService.getFlatSparkTree(rootId, SparkTreeLimits.unlimited());
+
+        assertThat(result.rootId()).isEqualTo(rootId);
+        assertThat(result.sparks()).containsOnlyKeys(rootId, child.getId());
+        assertThat(result.scores()).isEmpty();
+        verify(sparkScoreService, never()).scoreTree(any(ObjectId.class), anyMap());
     }
 
     @Test
@@ -317,14 +513,14 @@ class SparkServiceImplTest {
 
         ObjectId missingRootId = new ObjectId("000000000000000000000777");
 
-        when(sparkRepository.findById(missingRootId)).thenReturn(Optional.empty());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(missingRootId)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> sparkService.getSparkTree(missingRootId))
+        assertThatThrownBy(() -> sparkService.getSparkTree(missingRootId, SparkTreeLimits.unlimited()))
                 .isInstanceOf(SparkNotFoundException.class)
                 .hasMessageContaining(missingRootId.toHexString());
 
-        verify(sparkRepository).findById(missingRootId);
-        verify(sparkRepository, never()).findByParentId(any(ObjectId.class));
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(missingRootId);
+        verify(sparkRepository, never()).findByParentIdAndDeletedAtIsNull(any(ObjectId.class));
     }
 
     @Test
@@ -340,7 +536,7 @@ class SparkServiceImplTest {
         String newTitle = "New title";
         String newDescription = "New desc";
 
-        when(sparkRepository.findById(id)).thenReturn(Optional.of(existing));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(existing));
         when(sparkRepository.existsByTitle(newTitle)).thenReturn(false);
         when(sparkRepository.save(any(Spark.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
@@ -362,7 +558,7 @@ class SparkServiceImplTest {
         assertThat(result.getTitle()).isEqualTo(newTitle);
         assertThat(result.getDescription()).isEqualTo(newDescription);
 
-        verify(sparkRepository).findById(id);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(id);
         verify(sparkRepository).existsByTitle(newTitle);
     }
 
@@ -373,13 +569,13 @@ class SparkServiceImplTest {
         String newTitle = "New title";
         String newDescription = "New desc";
 
-        when(sparkRepository.findById(missingId)).thenReturn(Optional.empty());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(missingId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> sparkService.updateSpark(missingId, newTitle, newDescription))
                 .isInstanceOf(SparkNotFoundException.class)
                 .hasMessageContaining(missingId.toHexString());
 
-        verify(sparkRepository).findById(missingId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(missingId);
         verify(sparkRepository, never()).existsByTitle(anyString());
         verify(sparkRepository, never()).save(any(Spark.class));
     }
@@ -397,14 +593,14 @@ class SparkServiceImplTest {
         String duplicateTitle = "Duplicate title";
         String newDescription = "New desc";
 
-        when(sparkRepository.findById(id)).thenReturn(Optional.of(existing));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(existing));
         when(sparkRepository.existsByTitle(duplicateTitle)).thenReturn(true);
 
         assertThatThrownBy(() -> sparkService.updateSpark(id, duplicateTitle, newDescription))
                 .isInstanceOf(SparkAlreadyExistsException.class)
                 .hasMessageContaining(duplicateTitle);
 
-        verify(sparkRepository).findById(id);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(id);
         verify(sparkRepository).existsByTitle(duplicateTitle);
         verify(sparkRepository, never()).save(any(Spark.class));
     }
@@ -420,7 +616,7 @@ class SparkServiceImplTest {
 
         String newDesc = "New partial desc";
 
-        when(sparkRepository.findById(id)).thenReturn(Optional.of(existing));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(existing));
         when(sparkRepository.save(any(Spark.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Spark result = sparkService.partialUpdateSpark(id, null, newDesc);
@@ -438,7 +634,7 @@ class SparkServiceImplTest {
         assertThat(result.getTitle()).isEqualTo(title);
         assertThat(result.getDescription()).isEqualTo(newDesc);
 
-        verify(sparkRepository).findById(id);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(id);
         verify(sparkRepository, never()).existsByTitle(anyString());
     }
 
@@ -448,13 +644,13 @@ class SparkServiceImplTest {
         ObjectId missingId = new ObjectId("000000000000000000000999");
         String title = "Some title";
 
-        when(sparkRepository.findById(missingId)).thenReturn(Optional.empty());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(missingId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> sparkService.partialUpdateSpark(missingId, title, null))
                 .isInstanceOf(SparkNotFoundException.class)
                 .hasMessageContaining(missingId.toHexString());
 
-        verify(sparkRepository).findById(missingId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(missingId);
         verify(sparkRepository, never()).existsByTitle(anyString());
         verify(sparkRepository, never()).save(any(Spark.class));
     }
@@ -469,14 +665,14 @@ class SparkServiceImplTest {
 
         String duplicateTitle = "Duplicate title";
 
-        when(sparkRepository.findById(id)).thenReturn(Optional.of(existing));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(existing));
         when(sparkRepository.existsByTitle(duplicateTitle)).thenReturn(true);
 
         assertThatThrownBy(() -> sparkService.partialUpdateSpark(id, duplicateTitle, null))
                 .isInstanceOf(SparkAlreadyExistsException.class)
                 .hasMessageContaining(duplicateTitle);
 
-        verify(sparkRepository).findById(id);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(id);
         verify(sparkRepository).existsByTitle(duplicateTitle);
         verify(sparkRepository, never()).save(any(Spark.class));
     }
@@ -496,11 +692,11 @@ class SparkServiceImplTest {
         Spark child2 = new Spark(child2Id, "Child 2", "Desc 2", rootId, List.of(), now, now);
         Spark grandchild = new Spark(grandchildId, "Grandchild", "Desc gc", child1Id, List.of(), now, now);
 
-        when(sparkRepository.findById(rootId)).thenReturn(Optional.of(root));
-        when(sparkRepository.findByParentId(rootId)).thenReturn(List.of(child1, child2));
-        when(sparkRepository.findByParentId(child1Id)).thenReturn(List.of(grandchild));
-        when(sparkRepository.findByParentId(child2Id)).thenReturn(List.of());
-        when(sparkRepository.findByParentId(grandchildId)).thenReturn(List.of());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(rootId)).thenReturn(List.of(child1, child2));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(child1Id)).thenReturn(List.of(grandchild));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(child2Id)).thenReturn(List.of());
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(grandchildId)).thenReturn(List.of());
 
         sparkService.deleteSpark(rootId, SparkDeleteMode.CASCADE);
 
@@ -517,48 +713,322 @@ class SparkServiceImplTest {
 
         assertThat(deletedIds)
                 .containsExactlyInAnyOrder(rootId, child1Id, child2Id, grandchildId);
+        verify(deletionRepository).recordAll(eq(deletedIds), any(Instant.class));
 
-        verify(sparkRepository).findById(rootId);
-        verify(sparkRepository, atLeastOnce()).findByParentId(any(ObjectId.class));
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(rootId);
+        verify(sparkRepository, atLeastOnce()).findByParentIdAndDeletedAtIsNull(any(ObjectId.class));
         verify(sparkRepository, never()).save(any(Spark.class));
         verify(sparkRepository, never()).saveAll(anyList());
     }
 
+    @Test
+    void deleteSpark_cascade_terminates_whenSubtreeContainsParentCycle() {
+
+        ObjectId rootId = new ObjectId();
+        ObjectId childId = new ObjectId();
+        Instant now = Instant.now();
+
+        Spark root = new Spark(rootId, "Root", "Root desc", childId, List.of(), now, now);
+        Spark child = new Spark(childId, "Child", "Child desc", rootId, List.of(), now, now);
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(rootId)).thenReturn(List.of(child));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(childId)).thenReturn(List.of(root));
+
+        sparkService.deleteSpark(rootId, SparkDeleteMode.CASCADE);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<ObjectId>> captor =
+                (ArgumentCaptor<Iterable<ObjectId>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(Iterable.class);
+
+        verify(sparkRepository).deleteAllById(captor.capture());
+        assertThat(captor.getValue()).containsExactly(rootId, childId);
+    }
+
+    @Test
+    void deleteSpark_soft_tombstonesSubtreeWithoutDeleting() {
+
+        ObjectId rootId = new ObjectId();
+        ObjectId childId = new ObjectId();
+        Instant now = Instant.now();
+
+        Spark root = new Spark(rootId, "Root", "Root desc", null, List.of(), now, now);
+        Spark child = new Spark(childId, "Child", "Child desc", rootId, List.of(), now, now);
+        titleFuzzyIndex.put(child);
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(rootId)).thenReturn(List.of(child));
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(childId)).thenReturn(List.of());
+        when(sparkRepository.markDeletedByIdIn(anyCollection(), any(Instant.class))).thenReturn(2L);
+
+        sparkService.deleteSpark(rootId, SparkDeleteMode.SOFT);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<ObjectId>> captor =
+                (ArgumentCaptor<Collection<ObjectId>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(Collection.class);
+
+        verify(sparkRepository).markDeletedByIdIn(captor.capture(), any(Instant.class));
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(rootId, childId);
+        assertThat(titleFuzzyIndex.size()).isZero();
+        verify(sparkRepository, never()).deleteAllById(anyIterable());
+        verify(sparkRepository, never()).deleteById(any(ObjectId.class));
+    }
+
     @Test
     void deleteSpark_promote_reparentsChildrenAndDeletesNode() {
 
         ObjectId parentId = new ObjectId();
         ObjectId rootId = new ObjectId();
-        ObjectId child1Id = new ObjectId();
-        ObjectId child2Id = new ObjectId();
 
         Instant now = Instant.now();
 
         Spark root = new Spark(rootId, "Root", "Root desc", parentId, List.of(), now, now);
-        Spark child1 = new Spark(child1Id, "Child 1", "Desc 1", rootId, List.of(), now, now);
-        Spark child2 = new Spark(child2Id, "Child 2", "Desc 2", rootId, List.of(), now, now);
 
-        when(sparkRepository.findById(rootId)).thenReturn(Optional.of(root));
-        when(sparkRepository.findByParentId(rootId)).thenReturn(List.of(child1, child2));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.updateParentIdByParentId(eq(rootId), eq(parentId), any(Instant.class))).thenReturn(2L);
 
         sparkService.deleteSpark(rootId, SparkDeleteMode.PROMOTE);
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<Spark>> saveAllCaptor =
-                (ArgumentCaptor<List<Spark>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(List.class);
+        verify(sparkRepository).updateParentIdByParentId(eq(rootId), eq(parentId), any(Instant.class));
+        verify(sparkRepository).deleteById(rootId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(rootId);
+        verify(sparkRepository, never()).findByParentIdAndDeletedAtIsNull(any(ObjectId.class));
+        verify(sparkRepository, never()).saveAll(anyList());
+        verify(sparkRepository, never()).deleteAllById(anyIterable());
+    }
+
+    @Test
+    void deleteSpark_promote_promotesChildrenToRoots_whenDeletedSparkIsRoot() {
+
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
 
-        verify(sparkRepository).saveAll(saveAllCaptor.capture());
-        List<Spark> savedChildren = saveAllCaptor.getValue();
+        Spark root = new Spark(rootId, "Root", "Root desc", null, List.of(), now, now);
 
-        assertThat(savedChildren).hasSize(2);
-        assertThat(savedChildren)
-                .extracting(Spark::getParentId)
-                .containsOnly(parentId);
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.updateParentIdByParentId(eq(rootId), isNull(), any(Instant.class))).thenReturn(0L);
+
+        sparkService.deleteSpark(rootId, SparkDeleteMode.PROMOTE);
 
+        verify(sparkRepository).updateParentIdByParentId(eq(rootId), isNull(), any(Instant.class));
         verify(sparkRepository).deleteById(rootId);
-        verify(sparkRepository).findById(rootId);
-        verify(sparkRepository).findByParentId(rootId);
-        verify(sparkRepository, never()).deleteAllById(anyIterable());
+    }
+
+    @Test
+    void moveSpark_updatesParentOnce_whenTargetIsOutsideSubtree() {
+
+        ObjectId id = new ObjectId();
+        ObjectId newParentId = new ObjectId();
+        ObjectId grandParentId = new ObjectId();
+        Instant now = Instant.now();
+
+        Spark spark = new Spark(id, "Moved", "desc", null, List.of(), now, now);
+        Spark newParent = new Spark(newParentId, "Target", "desc", grandParentId, List.of(), now, now);
+        Spark grandParentRef = new Spark();
+        grandParentRef.setId(grandParentId);
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(spark));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(newParentId)).thenReturn(Optional.of(newParent));
+        when(sparkRepository.findParentRefById(grandParentId)).thenReturn(Optional.of(grandParentRef));
+        when(sparkRepository.updateParentIdById(eq(id), eq(newParentId), any(Instant.class))).thenReturn(1L);
+
+        Spark result = sparkService.moveSpark(id, newParentId);
+
+        assertThat(result.getParentId()).isEqualTo(newParentId);
+        verify(sparkRepository).updateParentIdById(eq(id), eq(newParentId), any(Instant.class));
+        verify(sparkRepository, never()).findByParentIdAndDeletedAtIsNull(any(ObjectId.class));
+        verify(sparkRepository, never()).save(any(Spark.class));
+    }
+
+    @Test
+    void moveSpark_throwsCycle_whenTargetIsDescendant() {
+
+        ObjectId id = new ObjectId();
+        ObjectId childId = new ObjectId();
+        ObjectId grandchildId = new ObjectId();
+        Instant now = Instant.now();
+
+        Spark spark = new Spark(id, "Moved", "desc", null, List.of(), now, now);
+        Spark grandchild = new Spark(grandchildId, "Grandchild", "desc", childId, List.of(), now, now);
+        Spark childRef = new Spark();
+        childRef.setId(childId);
+        childRef.setParentId(id);
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(spark));
+        when(sparkRepository.findByIdAndDeletedAtIsNull(grandchildId)).thenReturn(Optional.of(grandchild));
+        when(sparkRepository.findParentRefById(childId)).thenReturn(Optional.of(childRef));
+
+        assertThatThrownBy(() -> sparkService.moveSpark(id, grandchildId))
+                .isInstanceOf(SparkMoveCycleException.class);
+
+        verify(sparkRepository, never()).updateParentIdById(any(), any(), any());
+    }
+
+    @Test
+    void moveSpark_throwsCycle_whenMovedUnderItself() {
+
+        ObjectId id = new ObjectId();
+        Instant now = Instant.now();
+        Spark spark = new Spark(id, "Moved", "desc", null, List.of(), now, now);
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(spark));
+
+        assertThatThrownBy(() -> sparkService.moveSpark(id, id))
+                .isInstanceOf(SparkMoveCycleException.class);
+
+        verify(sparkRepository, never()).updateParentIdById(any(), any(), any());
+    }
+
+    @Test
+    void moveSpark_movesToRoot_withoutAncestorWalk() {
+
+        ObjectId id = new ObjectId();
+        ObjectId oldParentId = new ObjectId();
+        Instant now = Instant.now();
+        Spark spark = new Spark(id, "Moved", "desc", oldParentId, List.of(), now, now);
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(spark));
+        when(sparkRepository.updateParentIdById(eq(id), isNull(), any(Instant.class))).thenReturn(1L);
+
+        Spark result = sparkService.moveSpark(id, null);
+
+        assertThat(result.getParentId()).isNull();
+        verify(sparkRepository, never()).findParentRefById(any());
+    }
+
+    @Test
+    void cloneSpark_remapsIdsAndSuffixesTitles_inUnorderedBatches() {
+
+        ObjectId rootId = new ObjectId();
+        ObjectId childAId = new ObjectId();
+        ObjectId childBId = new ObjectId();
+        Instant now = Instant.now();
+
+        Spark root = new Spark(rootId, "Template", "desc", null, List.of(), now, now);
+        Spark childA = new Spark(childAId, "Step A", "desc", rootId, List.of(), now, now);
+        Spark childB = new Spark(childBId, "Step B", "desc", rootId, List.of(), now, now);
+        Spark takenTitle = new Spark();
+        takenTitle.setTitle("Template (copy)");
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByParentIdInAndDeletedAtIsNull(List.of(rootId))).thenReturn(List.of(childA, childB));
+        when(sparkRepository.findByParentIdInAndDeletedAtIsNull(List.of(childAId, childBId))).thenReturn(List.of());
+        when(sparkRepository.findTitlesIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> titles = invocation.getArgument(0);
+            return titles.contains("Template (copy)") ? List.of(takenTitle) : List.of();
+        });
+
+        List<Spark> inserted = new ArrayList<>();
+        when(sparkRepository.insertAllUnordered(anyList())).thenAnswer(invocation -> {
+            List<Spark> batch = invocation.getArgument(0);
+            inserted.addAll(batch);
+            return batch.size();
+        });
+
+        Spark clonedRoot = sparkService.cloneSpark(rootId, null);
+
+        verify(sparkRepository, times(2)).insertAllUnordered(anyList());
+        assertThat(inserted).hasSize(3);
+        assertThat(clonedRoot.getId()).isNotEqualTo(rootId);
+        assertThat(clonedRoot.getParentId()).isNull();
+        assertThat(clonedRoot.getTitle()).isEqualTo("Template (copy 2)");
+        assertThat(inserted).extracting(Spark::getTitle)
+                .containsExactly("Template (copy 2)", "Step A (copy)", "Step B (copy)");
+        assertThat(inserted.subList(1, 3)).allSatisfy(child ->
+                assertThat(child.getParentId()).isEqualTo(clonedRoot.getId()));
+        verify(sparkRepository, never()).save(any(Spark.class));
+    }
+
+    @Test
+    void cloneSpark_throwsIllegalArgument_whenSubtreeTooLarge() {
+
+        ObjectId rootId = new ObjectId();
+        Instant now = Instant.now();
+        Spark root = new Spark(rootId, "Template", "desc", null, List.of(), now, now);
+        List<Spark> children = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            children.add(new Spark(new ObjectId(), "Child " + i, "desc", rootId, List.of(), now, now));
+        }
+
+        when(sparkRepository.findByIdAndDeletedAtIsNull(rootId)).thenReturn(Optional.of(root));
+        when(sparkRepository.findByParentIdInAndDeletedAtIsNull(List.of(rootId))).thenReturn(children);
+
+        assertThatThrownBy(() -> sparkService.cloneSpark(rootId, null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(sparkRepository, never()).insertAllUnordered(anyList());
+    }
+
+    @Test
+    void createSparks_insertsValidItemsInOneBulkWrite_andReportsPerItemFailures() {
+
+        ObjectId missingParentId = new ObjectId();
+        Spark takenTitle = new Spark();
+        takenTitle.setTitle("Taken");
+
+        List<SparkBatchItem> items = List.of(
+                new SparkBatchItem("root", null, null, "Root", "desc"),
+                new SparkBatchItem("child", "root", null, "Child", "desc"),
+                new SparkBatchItem("orphan", null, missingParentId.toHexString(), "Orphan", "desc"),
+                new SparkBatchItem("taken", null, null, "Taken", "desc"),
+                new SparkBatchItem("underTaken", "taken", null, "Under taken", "desc"),
+                new SparkBatchItem("dupTitle", "root", null, "Child", "desc"),
+                new SparkBatchItem("ghost", "nowhere", null, "Ghost", "desc")
+        );
+
+        when(sparkRepository.findTitlesIn(anyCollection())).thenReturn(List.of(takenTitle));
+        when(sparkRepository.findLiveIdsIn(anyCollection())).thenReturn(List.of());
+        when(sparkRepository.insertAllUnordered(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        List<SparkBatchResult> results = sparkService.createSparks(items);
+
+        assertThat(results).extracting(SparkBatchResult::tempId)
+                .containsExactly("root", "child", "orphan", "taken", "underTaken", "dupTitle", "ghost");
+        assertThat(results).extracting(SparkBatchResult::isCreated)
+                .containsExactly(true, true, false, false, false, false, false);
+        assertThat(results).extracting(SparkBatchResult::errorCode)
+                .containsExactly(null, null, ApiErrorCode.SPARK_NOT_FOUND, ApiErrorCode.SPARK_ALREADY_EXISTS,
+                        ApiErrorCode.VALIDATION_ERROR, ApiErrorCode.SPARK_ALREADY_EXISTS, ApiErrorCode.VALIDATION_ERROR);
+        assertThat(results.get(1).spark().getParentId()).isEqualTo(results.get(0).spark().getId());
+
+        verify(sparkRepository, times(1)).insertAllUnordered(anyList());
+        verify(sparkRepository, never()).existsByTitle(anyString());
+        verify(sparkRepository, never()).save(any(Spark.class));
+    }
+
+    @Test
+    void createSparks_failsCyclicTempIdReferences() {
+
+        List<SparkBatchItem> items = List.of(
+                new SparkBatchItem("a", "b", null, "A", null),
+                new SparkBatchItem("b", "a", null, "B", null)
+        );
+
+        List<SparkBatchResult> results = sparkService.createSparks(items);
+
+        assertThat(results).noneMatch(SparkBatchResult::isCreated);
+        assertThat(results).extracting(SparkBatchResult::errorCode)
+                .containsOnly(ApiErrorCode.VALIDATION_ERROR);
+    }
+
+    @Test
+    void appendReasons_pushesOnlyWhenSparkIsUnchanged() {
+
+        ObjectId id = new ObjectId();
+        Instant readAt = Instant.parse("2025-01-01T00:00:00Z");
+        Spark spark = new Spark(id, "Spark", "desc", null, new ArrayList<>(), readAt, readAt);
+        List<Reason> reasons = List.of(new Reason(ReasonType.GOOD, "New", readAt, readAt));
+
+        when(sparkRepository.pushReasons(eq(id), eq(readAt), eq(reasons), any(Instant.class))).thenReturn(1L, 0L);
+
+        assertThat(sparkService.appendReasons(spark, reasons)).isTrue();
+        assertThat(spark.getReasons()).hasSize(1);
+        assertThat(spark.getUpdatedAt()).isAfter(readAt);
+
+        spark.setUpdatedAt(readAt);
+        assertThat(sparkService.appendReasons(spark, reasons)).isFalse();
+        assertThat(spark.getReasons()).hasSize(1);
+        verify(sparkRepository, never()).save(any(Spark.class));
     }
 
     @Test
@@ -566,13 +1036,13 @@ class SparkServiceImplTest {
 
         ObjectId missingId = new ObjectId("000000000000000000001111");
 
-        when(sparkRepository.findById(missingId)).thenReturn(Optional.empty());
+        when(sparkRepository.findByIdAndDeletedAtIsNull(missingId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> sparkService.deleteSpark(missingId, SparkDeleteMode.CASCADE))
                 .isInstanceOf(SparkNotFoundException.class)
                 .hasMessageContaining(missingId.toHexString());
 
-        verify(sparkRepository).findById(missingId);
+        verify(sparkRepository).findByIdAndDeletedAtIsNull(missingId);
         verify(sparkRepository, never()).deleteAllById(anyIterable());
         verify(sparkRepository, never()).deleteById(any(ObjectId.class));
         verify(sparkRepository, never()).saveAll(anyList());
@@ -590,27 +1060,27 @@ class SparkServiceImplTest {
 
         var page = new PageImpl<>(List.of(s1, s2), PageRequest.of(0, 20), 2);
 
-        when(sparkRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(sparkRepository.findByDeletedAtIsNull(any(Pageable.class))).thenReturn(page);
 
         var result = sparkService.searchSparks(null, ParentSearchScope.ANY, null, 0, 20);
 
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getContent()).extracting(Spark::getId).containsExactly(spark1Id, spark2Id);
 
-        verify(sparkRepository).findAll(any(Pageable.class));
+        verify(sparkRepository).findByDeletedAtIsNull(any(Pageable.class));
     }
 
     @Test
     void searchSparks_withRootSearch_callsFindByParentIdIsNull() {
 
-        when(sparkRepository.findByParentIdIsNull(any(Pageable.class)))
+        when(sparkRepository.findByParentIdIsNullAndDeletedAtIsNull(any(Pageable.class)))
                 .thenReturn(Page.empty());
 
         var result = sparkService.searchSparks(null, ParentSearchScope.ROOT, null, 0, 20);
 
         assertThat(result.getContent()).isEmpty();
 
-        verify(sparkRepository).findByParentIdIsNull(any(Pageable.class));
+        verify(sparkRepository).findByParentIdIsNullAndDeletedAtIsNull(any(Pageable.class));
     }
 
     @Test
@@ -618,7 +1088,7 @@ class SparkServiceImplTest {
 
         ObjectId parentId = new ObjectId();
 
-        when(sparkRepository.findByParentIdAndTitleContainingIgnoreCase(
+        when(sparkRepository.findByParentIdAndTitleContainingIgnoreCaseAndDeletedAtIsNull(
                 eq(parentId),
                 eq("test"),
                 any(Pageable.class)))
@@ -629,6 +1099,170 @@ class SparkServiceImplTest {
         assertThat(result.getContent()).isEmpty();
 
         verify(sparkRepository)
-                .findByParentIdAndTitleContainingIgnoreCase(eq(parentId), eq("test"), any(Pageable.class));
+                .findByParentIdAndTitleContainingIgnoreCaseAndDeletedAtIsNull(eq(parentId), eq("test"), any(Pageable.class));
+    }
+
+    @Test
+    void searchSparksByText_withParent_callsTextQueryScopedToParent() {
+
+        ObjectId parentId = new ObjectId();
+
+        when(sparkRepository.findByParentIdAndDeletedAtIsNull(
+                eq(parentId),
+                any(TextCriteria.class),
+                any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        var result = sparkService.searchSparksByText("rocket fuel", ParentSearchScope.ID, parentId, 0, 20);
+
+        assertThat(result.getContent()).isEmpty();
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(sparkRepository).findByParentIdAndDeletedAtIsNull(eq(parentId), any(TextCriteria.class), pageableCaptor.capture());
+        assertThat(pageableCaptor.getValue().getSort().getOrderFor("textScore")).isNotNull();
+        verify(sparkRepository, never()).findByParentIdAndTitleContainingIgnoreCaseAndDeletedAtIsNull(any(), anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void searchSparksByText_throws_whenTextIsBlank() {
+
+        assertThatThrownBy(() -> sparkService.searchSparksByText("  ", ParentSearchScope.ANY, null, 0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(sparkRepository, never()).findByDeletedAtIsNull(any(TextCriteria.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchSparksByFuzzyTitle_returnsTypoMatchesInScope_whenIndexReady() {
+
+        ObjectId parentId = new ObjectId();
+        ObjectId matchId = new ObjectId();
+        ObjectId otherParentMatchId = new ObjectId();
+        Instant now = Instant.now();
+
+        Spark match = new Spark(matchId, "Rocket fuel", "D1", parentId, List.of(), now, now);
+        Spark otherParentMatch = new Spark(otherParentMatchId, "Rocket fuels", "D2", new ObjectId(), List.of(), now, now);
+
+        titleFuzzyIndex.put(match);
+        titleFuzzyIndex.put(otherParentMatch);
+        titleFuzzyIndex.put(new Spark(new ObjectId(), "Garden", "D3", parentId, List.of(), now, now));
+        titleFuzzyIndex.markReady();
+
+        when(sparkRepository.findLiveParentIdsIn(anyCollection())).thenReturn(List.of(match, otherParentMatch));
+        when(sparkRepository.findAllById(List.of(matchId))).thenReturn(List.of(match));
+
+        var result = sparkService.searchSparksByFuzzyTitle("rockte fuel", 2, ParentSearchScope.ID, parentId, 0, 20);
+
+        assertThat(result.getContent()).extracting(Spark::getId).containsExactly(matchId);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void searchSparksByFuzzyTitle_findsInScopeMatch_whenCloserOutOfScopeMatchesExceedBatch() {
+
+        ObjectId parentId = new ObjectId();
+        Instant now = Instant.now();
+
+        Map<ObjectId, Spark> liveById = new HashMap<>();
+        for (int i = 0; i < 600; i++) {
+            Spark outOfScope = new Spark(new ObjectId(), "Rocket fuel", "D", new ObjectId(), List.of(), now, now);
+            titleFuzzyIndex.put(outOfScope);
+            liveById.put(outOfScope.getId(), outOfScope);
+        }
+        Spark match = new Spark(new ObjectId(), "Rocket fuels", "D", parentId, List.of(), now, now);
+        titleFuzzyIndex.put(match);
+        liveById.put(match.getId(), match);
+        titleFuzzyIndex.markReady();
+
+        when(sparkRepository.findLiveParentIdsIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<ObjectId> ids = invocation.getArgument(0);
+            return ids.stream().map(liveById::get).toList();
+        });
+        when(sparkRepository.findAllById(List.of(match.getId()))).thenReturn(List.of(match));
+
+        var result = sparkService.searchSparksByFuzzyTitle("rocket fuel", 1, ParentSearchScope.ID, parentId, 0, 20);
+
+        assertThat(result.getContent()).extracting(Spark::getId).containsExactly(match.getId());
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(sparkRepository, times(2)).findLiveParentIdsIn(anyCollection());
+    }
+
+    @Test
+    void searchSparksByFuzzyTitle_fallsBackToSubstringSearch_whenIndexNotReady() {
+
+        when(sparkRepository.findByTitleContainingIgnoreCaseAndDeletedAtIsNull(eq("rocket"), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        var result = sparkService.searchSparksByFuzzyTitle("rocket", 1, ParentSearchScope.ANY, null, 0, 20);
+
+        assertThat(result.getContent()).isEmpty();
+
+        verify(sparkRepository).findByTitleContainingIgnoreCaseAndDeletedAtIsNull(eq("rocket"), any(Pageable.class));
+        verify(sparkRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void createSpark_skipsExistenceCheck_whenTitleFilterReportsTitleAbsent() {
+
+        titleBloomFilter.markReady();
+
+        when(sparkRepository.save(any(Spark.class)))
+                .thenAnswer(invocation -> {
+                    Spark arg = invocation.getArgument(0);
+                    arg.setId(new ObjectId());
+                    return arg;
+                });
+
+        Spark result = sparkService.createSpark("Brand new title", "Description");
+
+        assertThat(result.getTitle()).isEqualTo("Brand new title");
+        assertThat(titleBloomFilter.mightContain("Brand new title")).isTrue();
+        verify(sparkRepository, never()).existsByTitle(anyString());
+    }
+
+    @Test
+    void createSpark_checksDatabase_whenUniqueIndexIsNotConfirmed() {
+
+        SparkTitleBloomFilter unconfirmedFilter = new SparkTitleBloomFilter(1000, 0.01);
+        unconfirmedFilter.markReady();
+        sparkService = new SparkServiceImpl(sparkRepository, deletionRepository, sparkScoreService,
+                List.of(titleFuzzyIndex, unconfirmedFilter, forestIndex), titleFuzzyIndex, unconfirmedFilter, forestIndex,
+                new SparkClonePolicy("%s (copy)", "%s (copy %d)", 2, 100), new SparkTreeFanOut(1),
+                new SimpleMeterRegistry());
+
+        when(sparkRepository.existsByTitle("Brand new title")).thenReturn(true);
+
+        assertThatThrownBy(() -> sparkService.createSpark("Brand new title", "Description"))
+                .isInstanceOf(SparkAlreadyExistsException.class);
+
+        verify(sparkRepository).existsByTitle("Brand new title");
+    }
+
+    @Test
+    void createSpark_checksDatabase_whenTitleFilterMightContainTitle() {
+
+        Instant now = Instant.now();
+        titleBloomFilter.put(new Spark(new ObjectId(), "Taken", null, null, List.of(), now, now));
+        titleBloomFilter.markReady();
+
+        when(sparkRepository.existsByTitle("Taken")).thenReturn(true);
+
+        assertThatThrownBy(() -> sparkService.createSpark("Taken", "Description"))
+                .isInstanceOf(SparkAlreadyExistsException.class);
+
+        verify(sparkRepository).existsByTitle("Taken");
+        verify(sparkRepository, never()).save(any(Spark.class));
+    }
+
+    @Test
+    void createSpark_throwsSparkAlreadyExists_whenUniqueIndexRejectsTitle() {
+
+        titleBloomFilter.markReady();
+
+        when(sparkRepository.save(any(Spark.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        assertThatThrownBy(() -> sparkService.createSpark("Raced title", "Description"))
+                .isInstanceOf(SparkAlreadyExistsException.class)
+                .hasMessageContaining("Raced title");
     }
 }
@@ -0,0 +1,90 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import dev.ignitr.ignitrbackend.spark.model.Spark;
+import dev.ignitr.ignitrbackend.spark.repository.SparkDeletionRepository;
+import dev.ignitr.ignitrbackend.spark.repository.SparkRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SparkTombstoneCompactorTest {
+
+    @Mock
+    private SparkRepository sparkRepository;
+
+    @Mock
+    private SparkDeletionRepository deletionRepository;
+
+    private static Spark idOnly(ObjectId id) {
+        Spark spark = new Spark();
+        spark.setId(id);
+        return spark;
+    }
+
+    @Test
+    void compact_deletesTombstonesInBatchesUntilNoneLeft() {
+
+        SparkTombstoneCompactor compactor =
+                new SparkTombstoneCompactor(sparkRepository, deletionRepository, 2, 1_000_000, Duration.ofMinutes(1));
+        Instant cutoff = Instant.now();
+        ObjectId a = new ObjectId();
+        ObjectId b = new ObjectId();
+        ObjectId c = new ObjectId();
+
+        when(sparkRepository.findTombstoneIds(cutoff, PageRequest.of(0, 2)))
+                .thenReturn(List.of(idOnly(a), idOnly(b)))
+                .thenReturn(List.of(idOnly(c)))
+                .thenReturn(List.of());
+
+        long removed = compactor.compact(cutoff);
+
+        assertThat(removed).isEqualTo(3);
+        verify(sparkRepository).deleteAllById(List.of(a, b));
+        verify(sparkRepository).deleteAllById(List.of(c));
+        verify(deletionRepository).recordAll(eq(List.of(a, b)), any(Instant.class));
+        verify(deletionRepository).recordAll(eq(List.of(c)), any(Instant.class));
+    }
+
+    @Test
+    void compact_stopsAtRunDeadline() {
+
+        SparkTombstoneCompactor compactor =
+                new SparkTombstoneCompactor(sparkRepository, deletionRepository, 2, 1_000_000, Duration.ZERO);
+
+        long removed = compactor.compact(Instant.now());
+
+        assertThat(removed).isZero();
+        verifyNoInteractions(sparkRepository);
+    }
+
+    @Test
+    void compact_throttlesToConfiguredDeleteRate() {
+
+        SparkTombstoneCompactor compactor =
+                new SparkTombstoneCompactor(sparkRepository, deletionRepository, 10, 100, Duration.ofMinutes(1));
+        Instant cutoff = Instant.now();
+
+        when(sparkRepository.findTombstoneIds(cutoff, PageRequest.of(0, 10)))
+                .thenReturn(List.of(idOnly(new ObjectId())))
+                .thenReturn(List.of(idOnly(new ObjectId())))
+                .thenReturn(List.of());
+
+        long start = System.nanoTime();
+        compactor.compact(cutoff);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Two batches of up to 10 deletes at 100/s take at least 200 ms.
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(200);
+    }
+}
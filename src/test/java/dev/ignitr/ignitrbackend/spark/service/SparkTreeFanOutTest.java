@@ -0,0 +1,59 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SparkTreeFanOutTest {
+
+    @Test
+    void map_keepsInputOrder_andNeverExceedsConcurrencyLimit() {
+
+        SparkTreeFanOut fanOut = new SparkTreeFanOut(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+
+        List<Integer> results = fanOut.map(items, item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(Duration.ofMillis(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return item * 2;
+        });
+
+        assertThat(results).containsExactlyElementsOf(items.stream().map(item -> item * 2).toList());
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void map_runsOnCallingThread_whenLimitIsOne() {
+
+        SparkTreeFanOut fanOut = new SparkTreeFanOut(1);
+        Thread caller = Thread.currentThread();
+
+        assertThat(fanOut.map(List.of(1, 2), item -> Thread.currentThread() == caller)).containsOnly(true);
+    }
+
+    @Test
+    void map_rethrowsTaskFailure() {
+
+        SparkTreeFanOut fanOut = new SparkTreeFanOut(4);
+
+        assertThatThrownBy(() -> fanOut.map(List.of(1, 2, 3), item -> {
+            if (item == 2) {
+                throw new IllegalStateException("query failed");
+            }
+            return item;
+        })).isInstanceOf(IllegalStateException.class).hasMessage("query failed");
+    }
+}
@@ -0,0 +1,127 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waves of concurrent tree requests against a simulated database with a fixed latency per query,
+ * served either by a Tomcat-sized pool of 200 platform threads or by one virtual thread per
+ * request, with sibling queries run one by one or fanned out through {@link SparkTreeFanOut}.
+ * <p>
+ * The score is the time for a whole wave, so throughput is {@code concurrentRequests / score}.
+ * Per-request p50/p99 latencies of each trial are printed at its end, giving the latency curve
+ * across {@code concurrentRequests}.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=dev.ignitr.ignitrbackend.spark.service.SparkTreeLoadBenchmark}
+ * or from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SparkTreeLoadBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int BRANCHING = 4;
+    private static final int DEPTH = 3;
+    private static final Duration QUERY_LATENCY = Duration.ofMillis(2);
+
+    @Param({"platform", "virtual"})
+    private String requestThreads;
+
+    @Param({"1", "8"})
+    private int loadConcurrency;
+
+    @Param({"100", "1000"})
+    private int concurrentRequests;
+
+    private ExecutorService requestExecutor;
+    private SparkTreeFanOut fanOut;
+    private List<Long> latencies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestExecutor = "virtual".equals(requestThreads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        fanOut = new SparkTreeFanOut(loadConcurrency);
+        latencies = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length > 0) {
+            System.out.printf("%n%s threads, fan-out %d, %d concurrent: p50 %.1f ms, p99 %.1f ms%n",
+                    requestThreads, loadConcurrency, concurrentRequests,
+                    sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6);
+        }
+    }
+
+    private static List<Integer> query(int depth) {
+        try {
+            Thread.sleep(QUERY_LATENCY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (depth >= DEPTH) {
+            return List.of();
+        }
+        Integer[] children = new Integer[BRANCHING];
+        Arrays.fill(children, depth + 1);
+        return List.of(children);
+    }
+
+    // Same shape as the level-by-level fallback in SparkServiceImpl: one query per node per level.
+    private int loadTree() {
+        int loaded = 0;
+        List<Integer> level = List.of(0);
+        while (!level.isEmpty()) {
+            loaded += level.size();
+            List<Integer> nextLevel = new ArrayList<>();
+            for (List<Integer> children : fanOut.map(level, SparkTreeLoadBenchmark::query)) {
+                nextLevel.addAll(children);
+            }
+            level = nextLevel;
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public void treeRequestWave(Blackhole blackhole) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            long submitted = System.nanoTime();
+            requestExecutor.execute(() -> {
+                blackhole.consume(loadTree());
+                latencies.add(System.nanoTime() - submitted);
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SparkTreeLoadBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
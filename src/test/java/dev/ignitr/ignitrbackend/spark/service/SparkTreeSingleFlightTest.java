@@ -0,0 +1,102 @@
+package dev.ignitr.ignitrbackend.spark.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SparkTreeSingleFlightTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SparkTreeSingleFlight<String> singleFlight = new SparkTreeSingleFlight<>("getSparkTree", meterRegistry);
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+
+    @Test
+    void execute_sharesOneLoad_betweenConcurrentCallersForSameTree() throws Exception {
+
+        ObjectId rootId = new ObjectId();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<Thread> followerThread = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                    singleFlight.execute(rootId, SparkTreeLimits.unlimited(), () -> {
+                        loads.incrementAndGet();
+                        loading.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return "tree";
+                    }), executor);
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> {
+                followerThread.set(Thread.currentThread());
+                return singleFlight.execute(rootId, SparkTreeLimits.unlimited(), () -> {
+                    loads.incrementAndGet();
+                    return "own tree";
+                });
+            }, executor);
+            while (followerThread.get() == null) {
+                Thread.sleep(1);
+            }
+            awaitWaiting(followerThread.get());
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("tree");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("tree");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("ignitr.spark.tree.single-flight.waiters").summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get("ignitr.spark.tree.single-flight.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void execute_loadsAgain_afterPreviousLoadCompleted() {
+
+        ObjectId rootId = new ObjectId();
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute(rootId, SparkTreeLimits.unlimited(), () -> "first " + loads.incrementAndGet());
+        String second = singleFlight.execute(rootId, SparkTreeLimits.unlimited(), () -> "second " + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("second 2");
+    }
+
+    @Test
+    void execute_keepsTreesWithDifferentLimitsApart_andRethrowsLoaderFailure() {
+
+        ObjectId rootId = new ObjectId();
+
+        assertThatThrownBy(() -> singleFlight.execute(rootId, SparkTreeLimits.of(1, null), () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        assertThat(singleFlight.execute(rootId, SparkTreeLimits.of(2, null), () -> "ok")).isEqualTo("ok");
+    }
+}